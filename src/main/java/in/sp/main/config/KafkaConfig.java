@@ -0,0 +1,124 @@
+package in.sp.main.config;
+
+import in.sp.main.event.DomainEvent;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Domain event topics, producer and consumers. Only active with {@code events.kafka.enabled=true};
+ * otherwise events are delivered in-process.
+ */
+@Configuration
+@ConditionalOnProperty(name = "events.kafka.enabled", havingValue = "true")
+public class KafkaConfig {
+    
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+    
+    @Value("${events.kafka.partitions:12}")
+    private int partitions;
+    
+    @Value("${events.kafka.replicas:1}")
+    private int replicas;
+    
+    @Value("${events.kafka.batch-size:65536}")
+    private int batchSize;
+    
+    @Value("${events.kafka.linger:PT0.02S}")
+    private Duration linger;
+    
+    @Value("${events.kafka.compression:lz4}")
+    private String compression;
+    
+    /**
+     * Batches up to {@code batchSize} bytes per partition for up to {@code linger}, compressed as a whole,
+     * and waits for all in-sync replicas; idempotence keeps retries from duplicating or reordering events.
+     */
+    public static Map<String, Object> producerProperties(String bootstrapServers, int batchSize, Duration linger, String compression) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        properties.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, (int) linger.toMillis());
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        // An unreachable broker fails the send quickly instead of stalling the publisher thread for a minute
+        properties.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5_000);
+        return properties;
+    }
+    
+    /**
+     * Events arrive in batches of up to 500; one that cannot be read is handed over as null rather than
+     * blocking its partition.
+     */
+    public static Map<String, Object> consumerProperties(String bootstrapServers) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        properties.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        properties.put(JsonDeserializer.VALUE_DEFAULT_TYPE, DomainEvent.class.getName());
+        properties.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        properties.put(JsonDeserializer.TRUSTED_PACKAGES, DomainEvent.class.getPackageName());
+        properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        return properties;
+    }
+    
+    @Bean
+    public KafkaAdmin.NewTopics domainEventTopics() {
+        return new KafkaAdmin.NewTopics(Arrays.stream(DomainEvent.Aggregate.values())
+                .map(aggregate -> TopicBuilder.name(aggregate.getTopic()).partitions(partitions).replicas(replicas).build())
+                .toArray(NewTopic[]::new));
+    }
+    
+    @Bean
+    public ProducerFactory<String, DomainEvent> domainEventProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerProperties(bootstrapServers, batchSize, linger, compression));
+    }
+    
+    @Bean
+    public KafkaTemplate<String, DomainEvent> domainEventKafkaTemplate(ProducerFactory<String, DomainEvent> domainEventProducerFactory) {
+        return new KafkaTemplate<>(domainEventProducerFactory);
+    }
+    
+    @Bean
+    public ConsumerFactory<String, DomainEvent> domainEventConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(consumerProperties(bootstrapServers));
+    }
+    
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, DomainEvent> domainEventListenerContainerFactory(
+            ConsumerFactory<String, DomainEvent> domainEventConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, DomainEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(domainEventConsumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+}
@@ -2,10 +2,14 @@ package in.sp.main.controller;
 
 import in.sp.main.entity.User;
 import in.sp.main.entity.Restaurant;
+import in.sp.main.event.DomainEvent;
 import in.sp.main.service.UserService;
 import in.sp.main.service.RestaurantService;
 import in.sp.main.service.HotelService;
 import in.sp.main.service.CloudKitchenService;
+import in.sp.main.service.ListingCacheService;
+import in.sp.main.service.ActivityStatsService;
+import in.sp.main.util.CityListingCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,9 +19,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequiredArgsConstructor
@@ -27,6 +33,8 @@ public class AdminController {
     private final RestaurantService restaurantService;
     private final HotelService hotelService;
     private final CloudKitchenService cloudKitchenService;
+    private final ListingCacheService listingCacheService;
+    private final ActivityStatsService activityStatsService;
 
     /**
      * Displays the admin dashboard page.
@@ -56,6 +64,26 @@ public class AdminController {
         return "redirect:/login";
     }
 
+    /**
+     * Returns the city listing cache counters as JSON.
+     * Access is limited to admins by the /admin/** rule in SecurityConfig.
+     */
+    @GetMapping("/cache-stats")
+    @ResponseBody
+    public Map<String, CityListingCache.Stats> cacheStats() {
+        return listingCacheService.getStats();
+    }
+
+    /**
+     * Returns order, booking and subscription event counts by status as JSON.
+     * Access is limited to admins by the /admin/** rule in SecurityConfig.
+     */
+    @GetMapping("/activity-stats")
+    @ResponseBody
+    public Map<DomainEvent.Aggregate, Map<String, Long>> activityStats() {
+        return activityStatsService.getStatusCounts();
+    }
+
     /**
      * Displays the admin control panel page.
      * Loads admin user info for the control panel view.
@@ -0,0 +1,43 @@
+package in.sp.main.controller;
+
+import in.sp.main.service.AutocompleteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/autocomplete")
+@RequiredArgsConstructor
+public class AutocompleteController {
+    
+    private final AutocompleteService autocompleteService;
+    
+    /**
+     * Returns suggestions for the typed prefix as a JSON array of strings, most popular first.
+     * Supported lists are cities, cuisines, hotel-cities, kitchen-cities and dishes.
+     */
+    @GetMapping("/{list}")
+    public ResponseEntity<List<String>> suggest(@PathVariable String list,
+                                                @RequestParam(name = "q", defaultValue = "") String prefix,
+                                                @RequestParam(defaultValue = "8") int limit) {
+        AutocompleteService.Field field = switch (list) {
+            case "cities" -> AutocompleteService.Field.RESTAURANT_CITY;
+            case "cuisines" -> AutocompleteService.Field.CUISINE;
+            case "hotel-cities" -> AutocompleteService.Field.HOTEL_CITY;
+            case "kitchen-cities" -> AutocompleteService.Field.KITCHEN_CITY;
+            case "dishes" -> AutocompleteService.Field.DISH;
+            default -> null;
+        };
+        if (field == null) {
+            return ResponseEntity.notFound().build();
+        }
+        int clamped = Math.max(1, Math.min(limit, AutocompleteService.MAX_SUGGESTIONS));
+        return ResponseEntity.ok(autocompleteService.suggest(field, prefix, clamped));
+    }
+}
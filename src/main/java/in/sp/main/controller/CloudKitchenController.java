@@ -4,10 +4,14 @@ import in.sp.main.entity.CloudKitchen;
 import in.sp.main.entity.MealPlan;
 import in.sp.main.entity.CloudKitchenSubscription;
 import in.sp.main.entity.User;
+import in.sp.main.repository.KitchenCard;
 import in.sp.main.service.CloudKitchenService;
 import in.sp.main.service.MealPlanService;
 import in.sp.main.service.CloudKitchenSubscriptionService;
+import in.sp.main.service.IdempotencyService;
 import in.sp.main.service.UserService;
+import in.sp.main.util.ConditionalGet;
+import in.sp.main.util.GeoGridIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,9 +20,13 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import in.sp.main.service.CloudinaryService;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @Controller
@@ -30,6 +38,7 @@ public class CloudKitchenController {
     private final MealPlanService mealPlanService;
     private final CloudKitchenSubscriptionService subscriptionService;
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
     private final CloudinaryService cloudinaryService;
     
     /**
@@ -125,14 +134,13 @@ public class CloudKitchenController {
      */
     @GetMapping("/list")
     public String cloudKitchenList(@RequestParam(required = false) String city, Model model) {
-        List<CloudKitchen> kitchens;
+        List<KitchenCard> kitchens;
         try {
             if (city != null && !city.trim().isEmpty()) {
                 kitchens = cloudKitchenService.findActiveVerifiedByCity(city);
             } else {
-                kitchens = cloudKitchenService.findByIsVerifiedTrue();
+                kitchens = cloudKitchenService.findActiveVerifiedCards();
             }
-            kitchens = kitchens.stream().filter(CloudKitchen::isActive).toList();
         } catch (Exception e) {
             kitchens = new ArrayList<>();
             model.addAttribute("error", "Error loading cloud kitchens: " + e.getMessage());
@@ -147,7 +155,7 @@ public class CloudKitchenController {
      * Adds the kitchen to the model or redirects if not found.
      */
     @GetMapping("/details")
-    public String cloudKitchenDetails(@RequestParam(required = false) Long kitchenId, Model model) {
+    public String cloudKitchenDetails(@RequestParam(required = false) Long kitchenId, WebRequest request, Model model) {
         if (kitchenId == null) {
             return "redirect:/cloud-kitchen/list";
         }
@@ -155,6 +163,9 @@ public class CloudKitchenController {
         Optional<CloudKitchen> kitchenOpt = cloudKitchenService.findById(kitchenId);
         if (kitchenOpt.isPresent()) {
             CloudKitchen kitchen = kitchenOpt.get();
+            if (ConditionalGet.isNotModified(request, "cloud-kitchen-details", kitchenId, kitchen.getUpdatedAt())) {
+                return null;
+            }
             model.addAttribute("kitchen", kitchen);
             return "cloud-kitchen/details";
         } else {
@@ -169,8 +180,7 @@ public class CloudKitchenController {
     @GetMapping("/cloud-kitchen")
     public String cloudKitchenPage(Model model) {
         try {
-            List<CloudKitchen> cloudKitchens = cloudKitchenService.findByIsVerifiedTrue();
-            cloudKitchens = cloudKitchens.stream().filter(CloudKitchen::isActive).toList();
+            List<KitchenCard> cloudKitchens = cloudKitchenService.findActiveVerifiedCards();
             model.addAttribute("cloudKitchens", cloudKitchens);
         } catch (Exception e) {
             model.addAttribute("cloudKitchens", new ArrayList<>());
@@ -191,8 +201,7 @@ public class CloudKitchenController {
     @GetMapping("/cloud-kitchens")
     public String cloudKitchensPage(Model model) {
         try {
-            List<CloudKitchen> cloudKitchens = cloudKitchenService.findByIsVerifiedTrue();
-            cloudKitchens = cloudKitchens.stream().filter(CloudKitchen::isActive).toList();
+            List<KitchenCard> cloudKitchens = cloudKitchenService.findActiveVerifiedCards();
             model.addAttribute("cloudKitchens", cloudKitchens);
         } catch (Exception e) {
             model.addAttribute("cloudKitchens", new ArrayList<>());
@@ -205,7 +214,7 @@ public class CloudKitchenController {
      * Displays the details of a specific cloud kitchen by path variable ID, including its meal plans.
      */
     @GetMapping("/cloud-kitchen-details/{id}")
-    public String cloudKitchenDetailsById(@PathVariable Long id, Model model) {
+    public String cloudKitchenDetailsById(@PathVariable Long id, WebRequest request, Model model) {
         if (id == null) {
             return "redirect:/cloud-kitchens";
         }
@@ -213,6 +222,10 @@ public class CloudKitchenController {
         Optional<CloudKitchen> cloudKitchenOpt = cloudKitchenService.findById(id);
         if (cloudKitchenOpt.isPresent()) {
             CloudKitchen cloudKitchen = cloudKitchenOpt.get();
+            if (ConditionalGet.isNotModified(request, "cloud-kitchen-meal-plans", id, cloudKitchen.getUpdatedAt(),
+                    mealPlanService.getMealPlansVersion(id))) {
+                return null;
+            }
             try {
                 List<MealPlan> mealPlans = mealPlanService.findByCloudKitchenId(id);
                 model.addAttribute("cloudKitchen", cloudKitchen);
@@ -259,6 +272,7 @@ public class CloudKitchenController {
             MealPlan mealPlan = mealPlanOpt.get();
             model.addAttribute("mealPlan", mealPlan);
             model.addAttribute("subscription", new CloudKitchenSubscription());
+            model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
             return "cloud-kitchen/subscribe";
         }
         return "redirect:/cloud-kitchens";
@@ -277,6 +291,7 @@ public class CloudKitchenController {
             @RequestParam String deliveryAddress,
             @RequestParam String deliveryTimeSlots,
             @RequestParam(required = false) String dietaryPreferences,
+            @RequestParam(required = false) String idempotencyKey,
             Model model) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
@@ -301,11 +316,16 @@ public class CloudKitchenController {
                 subscription.setDeliveryTimeSlots(deliveryTimeSlots);
                 subscription.setDietaryPreferences(dietaryPreferences);
                 try {
-                    CloudKitchenSubscription savedSubscription = subscriptionService.createSubscription(subscription);
+                    CloudKitchenSubscription savedSubscription = idempotencyService.execute("cloud-kitchen/subscription/create:" + user.getId(), idempotencyKey,
+                            () -> subscriptionService.createSubscription(subscription),
+                            saved -> String.valueOf(saved.getId()),
+                            id -> subscriptionService.findById(Long.valueOf(id)).orElseThrow());
                     model.addAttribute("subscription", savedSubscription);
                     return "cloud-kitchen/subscription-confirmation";
                 } catch (Exception e) {
                     model.addAttribute("error", "Error creating subscription: " + e.getMessage());
+                    // The failed attempt released its key, so the corrected form may reuse it
+                    model.addAttribute("idempotencyKey", idempotencyKey);
                     model.addAttribute("mealPlan", mealPlanOpt.get());
                     return "cloud-kitchen/subscribe";
                 }
@@ -350,10 +370,33 @@ public class CloudKitchenController {
         return "redirect:/cloud-kitchen/subscriptions";
     }
     
+    /**
+     * Lists cloud kitchens that deliver to the given coordinates, nearest first.
+     */
+    @GetMapping("/nearby")
+    public String nearbyCloudKitchens(@RequestParam double lat,
+                                      @RequestParam double lng,
+                                      @RequestParam(required = false) Double maxDistance,
+                                      Model model) {
+        try {
+            List<KitchenCard> cloudKitchens = cloudKitchenService.findDeliveringTo(lat, lng, maxDistance);
+            Map<Long, Double> distances = new HashMap<>();
+            for (KitchenCard kitchen : cloudKitchens) {
+                distances.put(kitchen.getId(), GeoGridIndex.distanceKm(lat, lng, kitchen.getLatitude(), kitchen.getLongitude()));
+            }
+            model.addAttribute("cloudKitchens", cloudKitchens);
+            model.addAttribute("distances", distances);
+        } catch (Exception e) {
+            model.addAttribute("cloudKitchens", new ArrayList<>());
+            model.addAttribute("error", "Error loading nearby cloud kitchens: " + e.getMessage());
+        }
+        return "cloud-kitchen/cloud-kitchens";
+    }
+    
     @GetMapping("/search-cloud-kitchens")
     public String searchCloudKitchens(@RequestParam String city, Model model) {
         try {
-            List<CloudKitchen> cloudKitchens = cloudKitchenService.findByCity(city);
+            List<KitchenCard> cloudKitchens = cloudKitchenService.findCardsByCity(city);
             model.addAttribute("cloudKitchens", cloudKitchens);
         } catch (Exception e) {
             model.addAttribute("cloudKitchens", new ArrayList<>());
@@ -405,6 +448,50 @@ public class CloudKitchenController {
         return "redirect:/login";
     }
 
+    /**
+     * Updates the kitchen's address and delivery area from the settings form.
+     * Only the owning CLOUD_KITCHEN_OWNER may change them.
+     */
+    @PostMapping("/settings")
+    public String updateCloudKitchenSettings(@ModelAttribute CloudKitchen cloudKitchen, Model model) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getName())) {
+            Optional<User> userOpt = userService.findByEmail(auth.getName());
+            if (userOpt.isPresent()) {
+                User user = userOpt.get();
+                if (user.getRole() == User.UserRole.CLOUD_KITCHEN_OWNER) {
+                    Optional<CloudKitchen> kitchenOpt = cloudKitchenService.findById(cloudKitchen.getId());
+                    if (kitchenOpt.isPresent() && kitchenOpt.get().getOwner() != null
+                            && kitchenOpt.get().getOwner().getId().equals(user.getId())) {
+                        CloudKitchen dbKitchen = kitchenOpt.get();
+                        // Update allowed fields
+                        dbKitchen.setAddress(cloudKitchen.getAddress());
+                        dbKitchen.setCity(cloudKitchen.getCity());
+                        dbKitchen.setState(cloudKitchen.getState());
+                        dbKitchen.setZipCode(cloudKitchen.getZipCode());
+                        dbKitchen.setNearbyLandmark(cloudKitchen.getNearbyLandmark());
+                        dbKitchen.setLatitude(cloudKitchen.getLatitude());
+                        dbKitchen.setLongitude(cloudKitchen.getLongitude());
+                        dbKitchen.setDeliveryRadius(cloudKitchen.getDeliveryRadius());
+                        try {
+                            model.addAttribute("cloudKitchen", cloudKitchenService.save(dbKitchen));
+                            model.addAttribute("success", "Settings updated successfully!");
+                        } catch (Exception e) {
+                            model.addAttribute("cloudKitchen", dbKitchen);
+                            model.addAttribute("error", "Error updating settings: " + e.getMessage());
+                        }
+                        return "cloud-kitchen/settings";
+                    }
+                    model.addAttribute("error", "Cloud kitchen not found.");
+                    return "cloud-kitchen/settings";
+                } else {
+                    return "redirect:/access-denied";
+                }
+            }
+        }
+        return "redirect:/login";
+    }
+    
     @GetMapping("/schedule")
     public String cloudKitchenSchedule(@RequestParam("kitchenId") Long kitchenId, Model model) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -4,20 +4,47 @@ import in.sp.main.entity.FoodOrder;
 import in.sp.main.entity.MenuItem;
 import in.sp.main.entity.Restaurant;
 import in.sp.main.entity.User;
+import in.sp.main.repository.FoodOrderState;
+import in.sp.main.repository.RestaurantCard;
+import in.sp.main.service.CartPricingService;
+import in.sp.main.service.CartService;
 import in.sp.main.service.FoodOrderService;
-import in.sp.main.service.MenuItemService;
+import in.sp.main.service.IdempotencyService;
+import in.sp.main.service.MenuSnapshotService;
+import in.sp.main.service.OpenNowService;
+import in.sp.main.service.OrderPlacementService;
+import in.sp.main.service.OrderTrackingService;
+import in.sp.main.service.RestaurantSearchService;
 import in.sp.main.service.RestaurantService;
 import in.sp.main.service.UserService;
+import in.sp.main.util.CartKey;
+import in.sp.main.util.ConditionalGet;
+import in.sp.main.util.GeoGridIndex;
+import in.sp.main.util.KeysetPage;
+import in.sp.main.util.MenuSnapshot;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import jakarta.servlet.http.HttpSession;
 
 @Controller
@@ -25,8 +52,15 @@ import jakarta.servlet.http.HttpSession;
 public class FoodDeliveryController {
     
     private final RestaurantService restaurantService;
-    private final MenuItemService menuItemService;
+    private final RestaurantSearchService restaurantSearchService;
+    private final OpenNowService openNowService;
+    private final MenuSnapshotService menuSnapshotService;
+    private final CartPricingService cartPricingService;
+    private final CartService cartService;
     private final FoodOrderService foodOrderService;
+    private final OrderPlacementService orderPlacementService;
+    private final OrderTrackingService orderTrackingService;
+    private final IdempotencyService idempotencyService;
     private final UserService userService;
     
     /**
@@ -34,10 +68,14 @@ public class FoodDeliveryController {
      * Handles errors in loading restaurants gracefully.
      */
     @GetMapping("/food-delivery")
-    public String foodDeliveryPage(Model model) {
+    public String foodDeliveryPage(@RequestParam(required = false) String cursor,
+                                   @RequestParam(required = false) Integer size,
+                                   Model model) {
         try {
-            List<Restaurant> restaurants = restaurantService.findAll();
-            model.addAttribute("restaurants", restaurants);
+            KeysetPage<RestaurantCard> restaurants = restaurantService.findPage(cursor, size);
+            model.addAttribute("restaurants", restaurants.content());
+            model.addAttribute("nextCursor", restaurants.nextCursor());
+            model.addAttribute("cursor", cursor);
         } catch (Exception e) {
             model.addAttribute("restaurants", new ArrayList<>());
             model.addAttribute("error", "Error loading restaurants: " + e.getMessage());
@@ -53,51 +91,16 @@ public class FoodDeliveryController {
     public String restaurantsPage(@RequestParam(required = false) String city,
                                 @RequestParam(required = false) String cuisine,
                                 @RequestParam(required = false) String rating,
+                                @RequestParam(defaultValue = "0") int page,
                                 Model model) {
         try {
-            List<Restaurant> restaurants;
-            
-            // Handle different search combinations
-            if (city != null && !city.trim().isEmpty() && cuisine != null && !cuisine.trim().isEmpty() && rating != null && !rating.trim().isEmpty()) {
-                // All three parameters
-                Double minRating = Double.parseDouble(rating);
-                restaurants = restaurantService.findByCityAndCuisineAndRatingGreaterThanEqual(city.trim(), cuisine.trim(), minRating);
-            } else if (city != null && !city.trim().isEmpty() && cuisine != null && !cuisine.trim().isEmpty()) {
-                // City and cuisine
-                restaurants = restaurantService.findByCityAndCuisine(city.trim(), cuisine.trim());
-            } else if (city != null && !city.trim().isEmpty() && rating != null && !rating.trim().isEmpty()) {
-                // City and rating
-                Double minRating = Double.parseDouble(rating);
-                restaurants = restaurantService.findByCityAndRatingGreaterThanEqual(city.trim(), minRating);
-            } else if (cuisine != null && !cuisine.trim().isEmpty() && rating != null && !rating.trim().isEmpty()) {
-                // Cuisine and rating
-                Double minRating = Double.parseDouble(rating);
-                List<Restaurant> cuisineRestaurants = restaurantService.findByCuisine(cuisine.trim());
-                restaurants = cuisineRestaurants.stream()
-                    .filter(r -> r.getRating() >= minRating)
-                    .toList();
-            } else if (city != null && !city.trim().isEmpty()) {
-                // Only city
-                restaurants = restaurantService.findByCity(city.trim());
-            } else if (cuisine != null && !cuisine.trim().isEmpty()) {
-                // Only cuisine
-                restaurants = restaurantService.findByCuisine(cuisine.trim());
-            } else if (rating != null && !rating.trim().isEmpty()) {
-                // Only rating
-                Double minRating = Double.parseDouble(rating);
-                restaurants = restaurantService.findByRatingGreaterThanEqual(minRating);
-            } else {
-                // No filters - get all verified restaurants
-                restaurants = restaurantService.findByIsVerifiedTrue();
-            }
+            Double minRating = (rating != null && !rating.trim().isEmpty()) ? Double.parseDouble(rating) : null;
+            Slice<RestaurantCard> restaurants = restaurantSearchService.search(city, cuisine, minRating, page, RestaurantSearchService.DEFAULT_PAGE_SIZE);
             
-            // Filter to only show active and verified restaurants
-            restaurants = restaurants.stream()
-                .filter(Restaurant::isActive)
-                .filter(Restaurant::isVerified)
-                .toList();
-            
-            model.addAttribute("restaurants", restaurants);
+            model.addAttribute("restaurants", restaurants.getContent());
+            model.addAttribute("page", restaurants.getNumber());
+            model.addAttribute("hasPrevious", restaurants.hasPrevious());
+            model.addAttribute("hasNext", restaurants.hasNext());
             model.addAttribute("city", city != null ? city : "");
             model.addAttribute("cuisine", cuisine != null ? cuisine : "");
             model.addAttribute("rating", rating != null ? rating : "");
@@ -112,12 +115,38 @@ public class FoodDeliveryController {
         return "food-delivery/restaurants";
     }
     
+    /**
+     * Lists restaurants that deliver to the given coordinates, nearest first.
+     */
+    @GetMapping("/restaurants/nearby")
+    public String nearbyRestaurants(@RequestParam double lat,
+                                    @RequestParam double lng,
+                                    @RequestParam(required = false) Double maxDistance,
+                                    Model model) {
+        try {
+            List<RestaurantCard> restaurants = restaurantService.findDeliveringTo(lat, lng, maxDistance);
+            Map<Long, Double> distances = new HashMap<>();
+            for (RestaurantCard restaurant : restaurants) {
+                distances.put(restaurant.getId(), GeoGridIndex.distanceKm(lat, lng, restaurant.getLatitude(), restaurant.getLongitude()));
+            }
+            model.addAttribute("restaurants", restaurants);
+            model.addAttribute("distances", distances);
+        } catch (Exception e) {
+            model.addAttribute("restaurants", new ArrayList<>());
+            model.addAttribute("error", "Error loading nearby restaurants: " + e.getMessage());
+        }
+        model.addAttribute("city", "");
+        model.addAttribute("cuisine", "");
+        model.addAttribute("rating", "");
+        return "food-delivery/restaurants";
+    }
+    
     /**
      * Displays the details of a specific restaurant, including its menu items.
      * Handles errors in loading menu items gracefully.
      */
     @GetMapping("/restaurant-details/{id}")
-    public String restaurantDetails(@PathVariable Long id, Model model) {
+    public String restaurantDetails(@PathVariable Long id, WebRequest request, Model model) {
         if (id == null) {
             return "redirect:/restaurants";
         }
@@ -125,15 +154,22 @@ public class FoodDeliveryController {
         Optional<Restaurant> restaurantOpt = restaurantService.findById(id);
         if (restaurantOpt.isPresent()) {
             Restaurant restaurant = restaurantOpt.get();
+            MenuSnapshot menu = null;
             try {
-                List<MenuItem> menuItems = menuItemService.findByRestaurantId(id);
-                model.addAttribute("restaurant", restaurant);
-                model.addAttribute("menuItems", menuItems);
+                menu = menuSnapshotService.getMenu(id);
             } catch (Exception e) {
-                model.addAttribute("restaurant", restaurant);
-                model.addAttribute("menuItems", new ArrayList<>());
                 model.addAttribute("error", "Error loading menu items: " + e.getMessage());
             }
+            // The header shows the cart's size, so it is part of the page version
+            int cartCount = cartService.count(CartKey.of(request.getSessionId()));
+            if (menu != null && ConditionalGet.isNotModified(request, "restaurant-details", id, restaurant.getUpdatedAt(),
+                    menu.getVersion(), cartCount)) {
+                return null;
+            }
+            model.addAttribute("cartCount", cartCount);
+            model.addAttribute("restaurant", restaurant);
+            model.addAttribute("menuItems", menu != null ? menu.getItems() : new ArrayList<>());
+            model.addAttribute("menuCategories", menu != null ? menu.getByCategory() : Map.of());
             return "food-delivery/restaurant-details";
         }
         return "redirect:/restaurants";
@@ -144,24 +180,27 @@ public class FoodDeliveryController {
      * Handles errors in loading menu items gracefully.
      */
     @GetMapping("/restaurant/{restaurantId}/menu")
-    public String restaurantMenu(@PathVariable Long restaurantId, Model model) {
+    public String restaurantMenu(@PathVariable Long restaurantId, WebRequest request, Model model) {
         if (restaurantId == null) {
             return "redirect:/restaurants";
         }
         
         Optional<Restaurant> restaurantOpt = restaurantService.findById(restaurantId);
-        List<MenuItem> menuItems = new ArrayList<>();
-        
-        try {
-            menuItems = menuItemService.findByRestaurantId(restaurantId);
-        } catch (Exception e) {
-            model.addAttribute("error", "Error loading menu items: " + e.getMessage());
-        }
-        
         if (restaurantOpt.isPresent()) {
             Restaurant restaurant = restaurantOpt.get();
+            MenuSnapshot menu = null;
+            try {
+                menu = menuSnapshotService.getMenu(restaurantId);
+            } catch (Exception e) {
+                model.addAttribute("error", "Error loading menu items: " + e.getMessage());
+            }
+            if (menu != null && ConditionalGet.isNotModified(request, "menu", restaurantId,
+                    restaurant.getUpdatedAt(), menu.getVersion())) {
+                return null;
+            }
             model.addAttribute("restaurant", restaurant);
-            model.addAttribute("menuItems", menuItems);
+            model.addAttribute("menuItems", menu != null ? menu.getItems() : new ArrayList<>());
+            model.addAttribute("menuCategories", menu != null ? menu.getByCategory() : Map.of());
             return "food-delivery/menu";
         }
         return "redirect:/restaurants";
@@ -173,7 +212,7 @@ public class FoodDeliveryController {
      * Displays order confirmation or error messages as appropriate.
      */
     @PostMapping("/order/create")
-    public String createOrder(@ModelAttribute FoodOrder order, Model model) {
+    public String createOrder(@ModelAttribute FoodOrder order, @RequestParam(required = false) String idempotencyKey, Model model) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
             String email = authentication.getName();
@@ -182,17 +221,21 @@ public class FoodDeliveryController {
                 User user = userOpt.get();
                 order.setUser(user);
                 // Block order if restaurant is closed
-                if (order.getRestaurant() != null && (order.getRestaurant().getIsOpen() == null || !order.getRestaurant().getIsOpen())) {
+                if (order.getRestaurant() != null && !openNowService.isOpen(order.getRestaurant().getId())) {
                     model.addAttribute("error", "This restaurant is currently closed and cannot accept orders.");
                     model.addAttribute("restaurant", order.getRestaurant());
                     return "food-delivery/menu";
                 }
                 try {
-                    FoodOrder savedOrder = foodOrderService.createOrder(order);
+                    FoodOrder savedOrder = idempotencyService.execute("order/create:" + user.getId(), idempotencyKey,
+                            () -> foodOrderService.createOrder(order),
+                            saved -> String.valueOf(saved.getId()),
+                            id -> foodOrderService.findById(Long.valueOf(id)).orElseThrow());
                     model.addAttribute("order", savedOrder);
                     return "food-delivery/order-confirmation";
                 } catch (Exception e) {
                     model.addAttribute("error", "Error creating order: " + e.getMessage());
+                    model.addAttribute("idempotencyKey", idempotencyKey);
                     return "food-delivery/menu";
                 }
             }
@@ -244,6 +287,32 @@ public class FoodDeliveryController {
         return "redirect:/orders";
     }
     
+    /**
+     * Cancels one of the user's orders, as long as the restaurant has not started preparing it.
+     */
+    @PostMapping("/order-details/{id}/cancel")
+    public String cancelOrder(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            Optional<User> userOpt = userService.findByEmail(authentication.getName());
+            if (userOpt.isPresent()) {
+                Optional<FoodOrder> orderOpt = foodOrderService.findById(id);
+                if (orderOpt.isEmpty() || !orderOpt.get().getUser().getId().equals(userOpt.get().getId())) {
+                    return "redirect:/orders";
+                }
+                try {
+                    foodOrderService.transitionStatus(id, EnumSet.of(FoodOrder.OrderStatus.PENDING, FoodOrder.OrderStatus.CONFIRMED),
+                            FoodOrder.OrderStatus.CANCELLED);
+                    redirectAttributes.addFlashAttribute("success", "Your order has been cancelled.");
+                } catch (IllegalStateException e) {
+                    redirectAttributes.addFlashAttribute("error", "This order can no longer be cancelled.");
+                }
+                return "redirect:/order-details/" + id;
+            }
+        }
+        return "redirect:/login";
+    }
+    
     /**
      * Displays the order tracking page (form for entering order ID).
      */
@@ -271,29 +340,60 @@ public class FoodDeliveryController {
         return "redirect:/track-order";
     }
 
+    /**
+     * Streams status and ETA changes for one of the user's orders as server-sent events.
+     */
+    @GetMapping(value = "/track-order/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> trackOrderEvents(@PathVariable Long orderId) {
+        Optional<FoodOrderState> state = foodOrderService.findState(orderId);
+        if (state.isEmpty() || !isCurrentUser(state.get().getUserId())) {
+            return ResponseEntity.notFound().build();
+        }
+        // Tells nginx-style proxies not to buffer the stream
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(orderTrackingService.subscribe(orderId));
+    }
+    
+    /**
+     * Polling fallback for the tracking page when it cannot hold a stream open.
+     * Answers 304 until the order's status or ETA changes.
+     */
+    @GetMapping("/track-order/{orderId}/status")
+    public ResponseEntity<OrderTrackingService.TrackingUpdate> trackOrderStatus(@PathVariable Long orderId, WebRequest request) {
+        Optional<FoodOrderState> state = foodOrderService.findState(orderId);
+        if (state.isEmpty() || !isCurrentUser(state.get().getUserId())) {
+            return ResponseEntity.notFound().build();
+        }
+        // The ETA goes in as text: as a timestamp it would become a Last-Modified in the future
+        if (ConditionalGet.isNotModified(request, "order-status", orderId, state.get().getVersion(),
+                String.valueOf(state.get().getEstimatedDeliveryTime()))) {
+            return null;
+        }
+        return ResponseEntity.ok(OrderTrackingService.TrackingUpdate.of(state.get()));
+    }
+    
+    private boolean isCurrentUser(Long userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() && userId != null
+                && userService.findByEmail(authentication.getName()).map(user -> userId.equals(user.getId())).orElse(false);
+    }
+    
     /**
      * Handles adding a menu item to the user's cart (session-based).
      */
     @PostMapping("/food-delivery/cart/add")
-    public String addToCart(@RequestParam Long menuItemId, @RequestParam(defaultValue = "1") Integer quantity, HttpSession session, @RequestHeader(value = "referer", required = false) String referer) {
-        // Retrieve or create cart from session
-        List<CartItem> cart = (List<CartItem>) session.getAttribute("cart");
-        if (cart == null) {
-            cart = new ArrayList<>();
+    public String addToCart(@RequestParam Long menuItemId, @RequestParam(defaultValue = "1") Integer quantity, HttpSession session, @RequestHeader(value = "referer", required = false) String referer, RedirectAttributes redirectAttributes) {
+        // Checked against the in-memory menu, which bulk sold-out updates replace before returning
+        Optional<MenuSnapshot.Item> menuItem = menuSnapshotService.findItem(menuItemId);
+        if (menuItem.isEmpty() || !menuItem.get().available()) {
+            redirectAttributes.addFlashAttribute("error", menuItem.map(item -> item.dishName() + " is sold out right now.")
+                    .orElse("That dish is no longer on the menu."));
+            return referer != null ? "redirect:" + referer : "redirect:/food-delivery";
         }
-        // Check if item already in cart
-        boolean found = false;
-        for (CartItem item : cart) {
-            if (item.getMenuItemId().equals(menuItemId)) {
-                item.setQuantity(item.getQuantity() + quantity);
-                found = true;
-                break;
-            }
-        }
-        if (!found) {
-            cart.add(new CartItem(menuItemId, quantity));
+        try {
+            cartService.add(CartKey.of(session.getId()), menuItemId, quantity);
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
         }
-        session.setAttribute("cart", cart);
         // Redirect back to previous page or restaurant details
         if (referer != null) {
             return "redirect:" + referer;
@@ -306,11 +406,7 @@ public class FoodDeliveryController {
      */
     @PostMapping("/food-delivery/cart/remove")
     public String removeFromCart(@RequestParam Long menuItemId, HttpSession session) {
-        List<CartItem> cart = (List<CartItem>) session.getAttribute("cart");
-        if (cart != null) {
-            cart.removeIf(item -> item.getMenuItemId().equals(menuItemId));
-            session.setAttribute("cart", cart);
-        }
+        cartService.remove(CartKey.of(session.getId()), menuItemId);
         return "redirect:/food-delivery/cart";
     }
 
@@ -318,16 +414,11 @@ public class FoodDeliveryController {
      * Update the quantity of an item in the cart.
      */
     @PostMapping("/food-delivery/cart/update")
-    public String updateCartItem(@RequestParam Long menuItemId, @RequestParam Integer quantity, HttpSession session) {
-        List<CartItem> cart = (List<CartItem>) session.getAttribute("cart");
-        if (cart != null) {
-            for (CartItem item : cart) {
-                if (item.getMenuItemId().equals(menuItemId)) {
-                    item.setQuantity(quantity);
-                    break;
-                }
-            }
-            session.setAttribute("cart", cart);
+    public String updateCartItem(@RequestParam Long menuItemId, @RequestParam Integer quantity, HttpSession session, RedirectAttributes redirectAttributes) {
+        try {
+            cartService.setQuantity(CartKey.of(session.getId()), menuItemId, quantity);
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
         }
         return "redirect:/food-delivery/cart";
     }
@@ -345,18 +436,13 @@ public class FoodDeliveryController {
             user = userService.findByEmail(email).orElse(null);
         }
         // Get payment methods from the first restaurant in the cart
-        List<CartItem> cart = (List<CartItem>) session.getAttribute("cart");
-        String paymentMethods = null;
-        if (cart != null && !cart.isEmpty()) {
-            MenuItem menuItem = menuItemService.findById(cart.get(0).getMenuItemId()).orElse(null);
-            if (menuItem != null && menuItem.getRestaurant() != null) {
-                paymentMethods = menuItem.getRestaurant().getAcceptedPaymentMethods();
-            }
-        }
+        CartPricingService.PricedCart pricedCart = cartPricingService.price(cartQuantities(session));
+        String paymentMethods = pricedCart.restaurant() != null ? pricedCart.restaurant().getAcceptedPaymentMethods() : null;
         // Do NOT clear the cart here
         model.addAttribute("message", "Order placed successfully! Thank you for your purchase.");
         model.addAttribute("user", user);
         model.addAttribute("paymentMethods", paymentMethods);
+        model.addAttribute("total", pricedCart.total());
         return "food-delivery/checkout-confirmation";
     }
 
@@ -379,18 +465,15 @@ public class FoodDeliveryController {
         String accountNumber = null;
         String ifscCode = null;
         String upiId = null;
-        List<CartItem> cart = (List<CartItem>) session.getAttribute("cart");
-        if (cart != null && !cart.isEmpty()) {
-            MenuItem menuItem = menuItemService.findById(cart.get(0).getMenuItemId()).orElse(null);
-            if (menuItem != null && menuItem.getRestaurant() != null) {
-                Restaurant restaurant = menuItem.getRestaurant();
-                paymentMethods = restaurant.getAcceptedPaymentMethods();
-                bankAccountHolder = restaurant.getBankAccountHolder();
-                bankName = restaurant.getBankName();
-                accountNumber = restaurant.getAccountNumber();
-                ifscCode = restaurant.getIfscCode();
-                upiId = restaurant.getUpiId();
-            }
+        CartPricingService.PricedCart pricedCart = cartPricingService.price(cartQuantities(session));
+        if (pricedCart.restaurant() != null) {
+            Restaurant restaurant = pricedCart.restaurant();
+            paymentMethods = restaurant.getAcceptedPaymentMethods();
+            bankAccountHolder = restaurant.getBankAccountHolder();
+            bankName = restaurant.getBankName();
+            accountNumber = restaurant.getAccountNumber();
+            ifscCode = restaurant.getIfscCode();
+            upiId = restaurant.getUpiId();
         }
         model.addAttribute("user", user);
         model.addAttribute("paymentMethods", paymentMethods);
@@ -407,19 +490,13 @@ public class FoodDeliveryController {
 
     @GetMapping("/food-delivery/cart")
     public String viewCart(HttpSession session, Model model) {
-        List<CartItem> cart = (List<CartItem>) session.getAttribute("cart");
-        if (cart == null) cart = new ArrayList<>();
-        List<CartItemWithMenuItem> cartItems = new ArrayList<>();
-        double total = 0;
-        for (CartItem item : cart) {
-            MenuItem menuItem = menuItemService.findById(item.getMenuItemId()).orElse(null);
-            if (menuItem != null) {
-                cartItems.add(new CartItemWithMenuItem(menuItem, item.getQuantity()));
-                total += menuItem.getPrice() * item.getQuantity();
-            }
-        }
-        model.addAttribute("cartItems", cartItems);
-        model.addAttribute("total", total);
+        CartPricingService.PricedCart pricedCart = cartPricingService.price(cartQuantities(session));
+        model.addAttribute("cartItems", pricedCart.lines());
+        model.addAttribute("cartCount", pricedCart.lines().size() + pricedCart.soldOut().size());
+        model.addAttribute("soldOutItems", pricedCart.soldOut());
+        model.addAttribute("subtotal", pricedCart.subtotal());
+        model.addAttribute("packagingCharges", pricedCart.packagingCharges());
+        model.addAttribute("total", pricedCart.total());
         return "food-delivery/cart";
     }
 
@@ -433,30 +510,26 @@ public class FoodDeliveryController {
             user = userService.findByEmail(email).orElse(null);
         }
         // Get total and owner payment details from cart
-        List<CartItem> cartRaw = (List<CartItem>) session.getAttribute("cart");
-        double total = 0;
+        CartPricingService.PricedCart pricedCart = cartPricingService.price(cartQuantities(session));
         String upiId = null, bankAccountHolder = null, bankName = null, accountNumber = null, ifscCode = null;
-        List<CartItemWithMenuItem> cart = new ArrayList<>();
-        if (cartRaw != null && !cartRaw.isEmpty()) {
-            for (CartItem item : cartRaw) {
-                MenuItem menuItem = menuItemService.findById(item.getMenuItemId()).orElse(null);
-                if (menuItem != null) {
-                    total += menuItem.getPrice() * item.getQuantity();
-                    cart.add(new CartItemWithMenuItem(menuItem, item.getQuantity()));
-                    if (upiId == null && menuItem.getRestaurant() != null) {
-                        Restaurant r = menuItem.getRestaurant();
-                        upiId = r.getUpiId();
-                        bankAccountHolder = r.getBankAccountHolder();
-                        bankName = r.getBankName();
-                        accountNumber = r.getAccountNumber();
-                        ifscCode = r.getIfscCode();
-                    }
-                }
-            }
+        if (pricedCart.restaurant() != null) {
+            Restaurant r = pricedCart.restaurant();
+            upiId = r.getUpiId();
+            bankAccountHolder = r.getBankAccountHolder();
+            bankName = r.getBankName();
+            accountNumber = r.getAccountNumber();
+            ifscCode = r.getIfscCode();
         }
+        // Every restaurant in the cart becomes its own order, each with the delivery fee
+        long restaurants = pricedCart.lines().stream().map(line -> line.menuItem().getRestaurant().getId()).distinct().count();
+        double deliveryCharges = restaurants * orderPlacementService.getDeliveryFee();
         model.addAttribute("user", user);
-        model.addAttribute("total", total);
-        model.addAttribute("cart", cart);
+        model.addAttribute("total", pricedCart.total() + deliveryCharges);
+        model.addAttribute("subtotal", pricedCart.subtotal());
+        model.addAttribute("packagingCharges", pricedCart.packagingCharges());
+        model.addAttribute("deliveryCharges", deliveryCharges);
+        model.addAttribute("cart", pricedCart.lines());
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
         model.addAttribute("upiId", upiId);
         model.addAttribute("bankAccountHolder", bankAccountHolder);
         model.addAttribute("bankName", bankName);
@@ -465,38 +538,46 @@ public class FoodDeliveryController {
         return "food-delivery/payment";
     }
 
+    /**
+     * Places the cart as orders once payment is confirmed; the cart is cleared only if that succeeds.
+     */
     @PostMapping("/food-delivery/payment")
-    public String confirmPayment(@RequestParam String paymentMethod, @RequestParam(required = false) String payerUpiId, Model model, HttpSession session) {
-        // Clear the cart only after payment is confirmed
-        session.removeAttribute("cart");
+    public String confirmPayment(@RequestParam String paymentMethod, @RequestParam(required = false) String payerUpiId,
+                                 @RequestParam(required = false) String deliveryAddress,
+                                 @RequestParam(required = false) String idempotencyKey,
+                                 Model model, HttpSession session, RedirectAttributes redirectAttributes) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication != null ? authentication.getName() : null;
+        User user = email != null && !"anonymousUser".equals(email) ? userService.findByEmail(email).orElse(null) : null;
+        if (user == null) {
+            return "redirect:/login";
+        }
+        String address = deliveryAddress != null && !deliveryAddress.isBlank() ? deliveryAddress : user.getAddress();
+        try {
+            String cartKey = CartKey.of(session.getId());
+            // A retried submit shows the orders the first one placed instead of placing them again
+            List<FoodOrder> orders = idempotencyService.execute("food-delivery/payment:" + user.getId(), idempotencyKey,
+                    () -> orderPlacementService.placeOrder(cartKey, user, address, paymentMethod),
+                    placed -> placed.stream().map(order -> String.valueOf(order.getId())).collect(Collectors.joining(",")),
+                    ids -> Arrays.stream(ids.split(",")).map(id -> foodOrderService.findById(Long.valueOf(id)).orElseThrow()).toList());
+            model.addAttribute("orders", orders);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/food-delivery/cart";
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error placing order: " + e.getMessage());
+            return "redirect:/food-delivery/cart";
+        }
         model.addAttribute("selectedPaymentMethod", paymentMethod);
         model.addAttribute("payerUpiId", payerUpiId);
-        model.addAttribute("message", "Payment successful! Thank you for your order.");
+        model.addAttribute("message", "Your order has been placed. Payment is pending until the restaurant confirms it.");
         return "food-delivery/payment-confirmation";
     }
 
-    // Helper class for cart items
-    public static class CartItem {
-        private Long menuItemId;
-        private Integer quantity;
-        public CartItem(Long menuItemId, Integer quantity) {
-            this.menuItemId = menuItemId;
-            this.quantity = quantity;
-        }
-        public Long getMenuItemId() { return menuItemId; }
-        public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
-        public Integer getQuantity() { return quantity; }
-        public void setQuantity(Integer quantity) { this.quantity = quantity; }
-    }
-
-    public static class CartItemWithMenuItem {
-        private MenuItem menuItem;
-        private int quantity;
-        public CartItemWithMenuItem(MenuItem menuItem, int quantity) {
-            this.menuItem = menuItem;
-            this.quantity = quantity;
-        }
-        public MenuItem getMenuItem() { return menuItem; }
-        public int getQuantity() { return quantity; }
+    /**
+     * The current cart as menu item id to quantity, in the order items were added.
+     */
+    private Map<Long, Integer> cartQuantities(HttpSession session) {
+        return cartService.getItems(CartKey.of(session.getId()));
     }
 } 
\ No newline at end of file
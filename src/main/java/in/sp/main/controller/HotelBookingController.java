@@ -4,11 +4,14 @@ import in.sp.main.entity.Hotel;
 import in.sp.main.entity.Room;
 import in.sp.main.entity.RoomBooking;
 import in.sp.main.entity.User;
+import in.sp.main.repository.HotelCard;
 import in.sp.main.service.HotelService;
+import in.sp.main.service.IdempotencyService;
 import in.sp.main.service.RoomBookingService;
 import in.sp.main.service.RoomService;
 import in.sp.main.service.UserService;
 import in.sp.main.service.CloudinaryService;
+import in.sp.main.util.ConditionalGet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,6 +23,8 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
@@ -32,6 +37,7 @@ public class HotelBookingController {
     private final RoomService roomService;
     private final RoomBookingService roomBookingService;
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
     private final CloudinaryService cloudinaryService;
     
     /**
@@ -41,7 +47,7 @@ public class HotelBookingController {
     @GetMapping("/booking")
     public String hotelBookingPage(Model model) {
         try {
-            List<Hotel> hotels = hotelService.findAll();
+            List<HotelCard> hotels = hotelService.findAllCards();
             model.addAttribute("hotels", hotels);
         } catch (Exception e) {
             model.addAttribute("hotels", new ArrayList<>());
@@ -57,8 +63,7 @@ public class HotelBookingController {
     @GetMapping("/hotels")
     public String hotelsPage(Model model) {
         try {
-            List<Hotel> hotels = hotelService.findByIsVerifiedTrue();
-            hotels = hotels.stream().filter(Hotel::isActive).toList();
+            List<HotelCard> hotels = hotelService.findActiveVerifiedCards();
             model.addAttribute("hotels", hotels);
         } catch (Exception e) {
             model.addAttribute("hotels", new ArrayList<>());
@@ -72,7 +77,7 @@ public class HotelBookingController {
      * Handles errors in loading rooms gracefully.
      */
     @GetMapping("/hotel-details/{id}")
-    public String hotelDetails(@PathVariable Long id, Model model) {
+    public String hotelDetails(@PathVariable Long id, WebRequest request, Model model) {
         if (id == null) {
             return "redirect:/hotel/hotels";
         }
@@ -80,6 +85,10 @@ public class HotelBookingController {
         Optional<Hotel> hotelOpt = hotelService.findById(id);
         if (hotelOpt.isPresent()) {
             Hotel hotel = hotelOpt.get();
+            if (ConditionalGet.isNotModified(request, "hotel-details", id, hotel.getUpdatedAt(),
+                    roomService.getRoomsVersion(id))) {
+                return null;
+            }
             try {
                 List<Room> rooms = roomService.findByHotelId(id);
                 model.addAttribute("hotel", hotel);
@@ -137,6 +146,7 @@ public class HotelBookingController {
             Room room = roomOpt.get();
             model.addAttribute("room", room);
             model.addAttribute("booking", new RoomBooking());
+            model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
             return "hotel-booking/book-room";
         }
         return "redirect:/hotel/hotels";
@@ -147,7 +157,7 @@ public class HotelBookingController {
      * Associates the booking with the authenticated user and saves it.
      */
     @PostMapping("/booking/create")
-    public String createBooking(@ModelAttribute RoomBooking booking, Model model) {
+    public String createBooking(@ModelAttribute RoomBooking booking, @RequestParam(required = false) String idempotencyKey, Model model) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
             String email = authentication.getName();
@@ -156,11 +166,16 @@ public class HotelBookingController {
                 User user = userOpt.get();
                 booking.setUser(user);
                 try {
-                    RoomBooking savedBooking = roomBookingService.createBooking(booking);
+                    RoomBooking savedBooking = idempotencyService.execute("hotel/booking/create:" + user.getId(), idempotencyKey,
+                            () -> roomBookingService.createBooking(booking),
+                            saved -> String.valueOf(saved.getId()),
+                            id -> roomBookingService.findById(Long.valueOf(id)).orElseThrow());
                     model.addAttribute("booking", savedBooking);
                     return "hotel-booking/booking-confirmation";
                 } catch (Exception e) {
                     model.addAttribute("error", "Error creating booking: " + e.getMessage());
+                    // The failed attempt released its key, so the corrected form may reuse it
+                    model.addAttribute("idempotencyKey", idempotencyKey);
                     return "hotel-booking/book-room";
                 }
             }
@@ -222,7 +237,7 @@ public class HotelBookingController {
                               @RequestParam(required = false) LocalDate checkOut, 
                               Model model) {
         try {
-            List<Hotel> hotels = hotelService.findByCity(city);
+            List<HotelCard> hotels = hotelService.findCardsByCity(city);
             model.addAttribute("hotels", hotels);
         } catch (Exception e) {
             model.addAttribute("hotels", new ArrayList<>());
@@ -331,14 +346,13 @@ public class HotelBookingController {
     
     @GetMapping("/list")
     public String hotelList(@RequestParam(required = false) String city, Model model) {
-        List<Hotel> hotels;
+        List<HotelCard> hotels;
         try {
             if (city != null && !city.trim().isEmpty()) {
                 hotels = hotelService.findActiveVerifiedByCity(city);
             } else {
-                hotels = hotelService.findByIsVerifiedTrue();
+                hotels = hotelService.findActiveVerifiedCards();
             }
-            hotels = hotels.stream().filter(Hotel::isActive).toList();
         } catch (Exception e) {
             hotels = new ArrayList<>();
             model.addAttribute("error", "Error loading hotels: " + e.getMessage());
@@ -441,6 +455,8 @@ public class HotelBookingController {
                         dbHotel.setGstin(hotel.getGstin());
                         dbHotel.setGstCertificateUrl(hotel.getGstCertificateUrl());
                         dbHotel.setGoogleMapsLink(hotel.getGoogleMapsLink());
+                        dbHotel.setLatitude(hotel.getLatitude());
+                        dbHotel.setLongitude(hotel.getLongitude());
                         dbHotel.setCheckInTime(hotel.getCheckInTime());
                         dbHotel.setCheckOutTime(hotel.getCheckOutTime());
                         dbHotel.setDescription(hotel.getDescription());
@@ -3,21 +3,32 @@ package in.sp.main.controller;
 import in.sp.main.entity.MenuItem;
 import in.sp.main.entity.Restaurant;
 import in.sp.main.entity.User;
+import in.sp.main.service.MenuCategoryService;
+import in.sp.main.service.MenuFilterService;
+import in.sp.main.service.MenuImportService;
 import in.sp.main.service.MenuItemService;
 import in.sp.main.service.RestaurantService;
 import in.sp.main.service.UserService;
+import in.sp.main.util.KeysetPage;
+import in.sp.main.util.MenuSnapshot;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Controller
@@ -28,6 +39,9 @@ public class MenuItemController {
     private final MenuItemService menuItemService;
     private final RestaurantService restaurantService;
     private final UserService userService;
+    private final MenuImportService menuImportService;
+    private final MenuCategoryService menuCategoryService;
+    private final MenuFilterService menuFilterService;
     
     /**
      * Displays the list of menu items, optionally filtered by restaurant.
@@ -35,18 +49,19 @@ public class MenuItemController {
      */
     @GetMapping("/list")
     public String listMenuItems(@RequestParam(required = false) Long restaurantId,
+                                @RequestParam(required = false) String cursor,
+                                @RequestParam(required = false) Integer size,
                                 Model model) {
-        List<MenuItem> menuItems;
+        KeysetPage<MenuItem> menuItems = menuItemService.findPage(restaurantId, cursor, size);
         if (restaurantId != null) {
-            menuItems = menuItemService.findByRestaurantId(restaurantId);
             Optional<Restaurant> restaurantOpt = restaurantService.findById(restaurantId);
             if (restaurantOpt.isPresent()) {
                 model.addAttribute("restaurant", restaurantOpt.get());
             }
-        } else {
-            menuItems = menuItemService.findAll();
         }
-        model.addAttribute("menuItems", menuItems);
+        model.addAttribute("menuItems", menuItems.content());
+        model.addAttribute("nextCursor", menuItems.nextCursor());
+        model.addAttribute("cursor", cursor);
         return "menu-item/list";
     }
     
@@ -131,6 +146,76 @@ public class MenuItemController {
         return "redirect:/menu-item/add";
     }
     
+    /**
+     * Imports a restaurant's menu from an uploaded CSV or JSON file.
+     * Checks ownership and returns a report of imported rows and per-row errors.
+     */
+    @PostMapping("/import")
+    @ResponseBody
+    public ResponseEntity<MenuImportService.ImportReport> importMenu(@RequestParam Long restaurantId,
+                                                                     @RequestParam("file") MultipartFile file) {
+        if (!isOwnerOf(restaurantId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        MenuImportService.Format format = MenuImportService.Format.detect(file.getOriginalFilename(), file.getContentType());
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(menuImportService.importMenu(restaurantId, input, format));
+        } catch (IllegalArgumentException | IOException e) {
+            // The file as a whole could not be read, e.g. a missing header or malformed JSON
+            return ResponseEntity.badRequest().body(new MenuImportService.ImportReport(0, 0,
+                    List.of(new MenuImportService.RowError(0, "Error reading menu file: " + e.getMessage()))));
+        }
+    }
+    
+    /**
+     * Saves the display order of a restaurant's menu categories.
+     * Checks ownership and applies the order in which the category IDs are given.
+     */
+    @PostMapping("/categories/order")
+    public String reorderCategories(@RequestParam Long restaurantId,
+                                    @RequestParam List<Long> categoryIds,
+                                    RedirectAttributes redirectAttributes) {
+        try {
+            if (isOwnerOf(restaurantId)) {
+                menuCategoryService.reorder(restaurantId, categoryIds);
+                redirectAttributes.addFlashAttribute("success", "Category order saved!");
+                return "redirect:/restaurant/menu?restaurantId=" + restaurantId;
+            }
+            redirectAttributes.addFlashAttribute("error", "You don't have permission to reorder this menu!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error saving category order: " + e.getMessage());
+        }
+        return "redirect:/restaurant/menu?restaurantId=" + restaurantId;
+    }
+    
+    /**
+     * Marks many of a restaurant's menu items available or sold out at once.
+     * Items are chosen by IDs, by category, or by tag; returns how many items changed.
+     */
+    @PostMapping("/availability")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> updateAvailability(@RequestParam Long restaurantId,
+                                                                  @RequestParam boolean available,
+                                                                  @RequestParam(required = false) List<Long> ids,
+                                                                  @RequestParam(required = false) String category,
+                                                                  @RequestParam(required = false) String tag) {
+        if (!isOwnerOf(restaurantId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        int updated;
+        if (ids != null && !ids.isEmpty()) {
+            updated = menuItemService.updateAvailability(restaurantId, ids, available);
+        } else if (category != null && !category.isBlank()) {
+            updated = menuItemService.updateAvailabilityByCategory(restaurantId, category, available);
+        } else if (tag != null && !tag.isBlank()) {
+            updated = menuItemService.updateAvailabilityByTag(restaurantId, tag, available);
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("error", "Give ids, category or tag"));
+        }
+        return ResponseEntity.ok(Map.of("updated", updated, "available", available));
+    }
+    
     /**
      * Displays the form to edit an existing menu item by its ID.
      * Checks ownership and loads the menu item and owned restaurants for editing.
@@ -247,6 +332,35 @@ public class MenuItemController {
         return "menu-item/category";
     }
     
+    /**
+     * Filters dishes of one restaurant, or of every restaurant in a city, by tags and food type.
+     * Tags must all match unless {@code match=any}; sold-out dishes are left out unless asked for.
+     */
+    @GetMapping("/filter")
+    @ResponseBody
+    public ResponseEntity<List<MenuSnapshot.Item>> filterMenuItems(@RequestParam(required = false) Long restaurantId,
+                                                                   @RequestParam(required = false) String city,
+                                                                   @RequestParam(required = false) List<String> tags,
+                                                                   @RequestParam(defaultValue = "all") String match,
+                                                                   @RequestParam(required = false) List<MenuItem.FoodType> foodType,
+                                                                   @RequestParam(defaultValue = "false") boolean includeSoldOut,
+                                                                   @RequestParam(required = false) Integer limit) {
+        if (restaurantId == null && (city == null || city.isBlank())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(menuFilterService.filter(restaurantId, city, tags, !"any".equalsIgnoreCase(match),
+                foodType, !includeSoldOut, limit));
+    }
+    
+    /**
+     * Lists every known menu tag, normalized, for building filter options.
+     */
+    @GetMapping("/tags")
+    @ResponseBody
+    public ResponseEntity<List<String>> menuTags() {
+        return ResponseEntity.ok(menuFilterService.getTags().stream().sorted().toList());
+    }
+    
     /**
      * Displays menu items for a specific restaurant and category.
      * Adds the restaurant, category, and menu items to the model.
@@ -264,4 +378,19 @@ public class MenuItemController {
         model.addAttribute("category", category);
         return "menu-item/restaurant-category";
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Whether the signed-in user is a restaurant owner who owns the given restaurant.
+     */
+    private boolean isOwnerOf(Long restaurantId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            return false;
+        }
+        Optional<Restaurant> restaurantOpt = restaurantService.findById(restaurantId);
+        Optional<User> userOpt = userService.findByEmail(auth.getName());
+        return restaurantOpt.isPresent() && userOpt.isPresent()
+                && userOpt.get().getRole() == User.UserRole.RESTAURANT_OWNER
+                && restaurantOpt.get().getOwner().getId().equals(userOpt.get().getId());
+    }
+}
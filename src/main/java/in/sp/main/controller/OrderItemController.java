@@ -4,6 +4,7 @@ import in.sp.main.entity.OrderItem;
 import in.sp.main.entity.FoodOrder;
 import in.sp.main.service.OrderItemService;
 import in.sp.main.service.FoodOrderService;
+import in.sp.main.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -28,21 +29,23 @@ public class OrderItemController {
     public String listOrderItems(@RequestParam(required = false) Long orderId,
                                  @RequestParam(required = false) Long restaurantId,
                                  @RequestParam(required = false) Long userId,
+                                 @RequestParam(required = false) String cursor,
+                                 @RequestParam(required = false) Integer size,
                                  Model model) {
         List<OrderItem> orderItems;
         
         if (orderId != null) {
+            // A single order's items are naturally bounded, so they are not paginated
             orderItems = orderItemService.findByFoodOrderId(orderId);
             Optional<FoodOrder> orderOpt = foodOrderService.findById(orderId);
             if (orderOpt.isPresent()) {
                 model.addAttribute("order", orderOpt.get());
             }
-        } else if (restaurantId != null) {
-            orderItems = orderItemService.findByRestaurantId(restaurantId);
-        } else if (userId != null) {
-            orderItems = orderItemService.findByUserId(userId);
         } else {
-            orderItems = orderItemService.findAll();
+            KeysetPage<OrderItem> page = orderItemService.findPage(restaurantId, userId, cursor, size);
+            orderItems = page.content();
+            model.addAttribute("nextCursor", page.nextCursor());
+            model.addAttribute("cursor", cursor);
         }
         
         model.addAttribute("orderItems", orderItems);
@@ -5,13 +5,21 @@ import in.sp.main.entity.User;
 import in.sp.main.entity.FoodOrder;
 import in.sp.main.entity.MenuItem;
 import in.sp.main.entity.OrderItem;
+import in.sp.main.repository.RestaurantCard;
 import in.sp.main.service.RestaurantService;
 import in.sp.main.service.UserService;
 import in.sp.main.service.FoodOrderService;
 import in.sp.main.service.MenuItemService;
+import in.sp.main.service.MenuCategoryService;
 import in.sp.main.service.CloudinaryService;
 import in.sp.main.service.OrderItemService;
+import in.sp.main.service.OrderQueueService;
+import in.sp.main.util.ConditionalGet;
+import in.sp.main.util.KeysetPage;
+import in.sp.main.util.OrderQueueBoard;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
@@ -19,9 +27,11 @@ import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
@@ -29,7 +39,9 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -44,6 +56,8 @@ public class RestaurantController {
     private final MenuItemService menuItemService;
     private final CloudinaryService cloudinaryService;
     private final OrderItemService orderItemService;
+    private final MenuCategoryService menuCategoryService;
+    private final OrderQueueService orderQueueService;
     
     /**
      * Displays the restaurant dashboard for the authenticated owner.
@@ -119,12 +133,12 @@ public class RestaurantController {
      */
     @GetMapping("/list")
     public String restaurantList(@RequestParam(required = false) String city, Model model) {
-        List<Restaurant> restaurants;
+        List<RestaurantCard> restaurants;
         try {
             if (city != null && !city.trim().isEmpty()) {
                 restaurants = restaurantService.findActiveVerifiedByCity(city);
             } else {
-                restaurants = restaurantService.findByIsVerifiedTrue();
+                restaurants = restaurantService.findVerifiedCards();
             }
         } catch (Exception e) {
             restaurants = new ArrayList<>();
@@ -155,6 +169,7 @@ public class RestaurantController {
             try {
                 List<MenuItem> menuItems = menuItemService.findByRestaurantId(restaurantId);
                 model.addAttribute("menuItems", menuItems);
+                model.addAttribute("categories", menuCategoryService.findByRestaurantId(restaurantId));
             } catch (Exception e) {
                 model.addAttribute("menuItems", new ArrayList<>());
                 model.addAttribute("error", "Error loading menu items: " + e.getMessage());
@@ -171,10 +186,13 @@ public class RestaurantController {
     
     /**
      * Displays the list of orders for the authenticated restaurant owner.
-     * Loads all orders for the owner's restaurant.
+     * Active statuses come from the in-memory order board; delivered and cancelled orders are paged.
      */
     @GetMapping("/orders")
-    public String restaurantOrders(@RequestParam(value = "status", required = false) String status, Model model) {
+    public String restaurantOrders(@RequestParam(value = "status", required = false) String status,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(required = false) Integer size,
+                                   Model model) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getName())) {
             Optional<User> userOpt = userService.findByEmail(auth.getName());
@@ -185,16 +203,18 @@ public class RestaurantController {
                         List<Restaurant> restaurants = restaurantService.findByOwnerId(user.getId());
                         if (!restaurants.isEmpty()) {
                             Restaurant restaurant = restaurants.get(0); // Get the first restaurant
-                            List<FoodOrder> orders = foodOrderService.findByRestaurantId(restaurant.getId());
-                            List<FoodOrder> filteredOrders = orders;
-                            if (status != null && !status.isEmpty() && !status.equalsIgnoreCase("ALL")) {
-                                filteredOrders = orders.stream()
-                                    .filter(o -> o.getStatus().name().equalsIgnoreCase(status))
-                                    .toList();
+                            FoodOrder.OrderStatus selected = parseStatus(status);
+                            if (selected != null && selected.isTerminal()) {
+                                KeysetPage<FoodOrder> page = foodOrderService.findHistoryPage(restaurant.getId(), EnumSet.of(selected), cursor, size);
+                                model.addAttribute("orders", page.content());
+                                model.addAttribute("nextCursor", page.nextCursor());
+                                model.addAttribute("cursor", cursor);
+                            } else {
+                                model.addAttribute("orders", foodOrderService.findAllWithItems(
+                                        orderQueueService.getActiveOrderIds(restaurant.getId(), selected)));
                             }
-                            model.addAttribute("orders", filteredOrders);
                             model.addAttribute("restaurant", restaurant);
-                            model.addAttribute("selectedStatus", status != null ? status.toUpperCase() : "ALL");
+                            model.addAttribute("selectedStatus", selected != null ? selected.name() : "ALL");
                         } else {
                             model.addAttribute("orders", new ArrayList<>());
                             model.addAttribute("restaurant", null);
@@ -214,6 +234,76 @@ public class RestaurantController {
         return "redirect:/login";
     }
     
+    /**
+     * Kitchen display feed: the owner's active orders by status as JSON, oldest ticket first.
+     * Answers 304 while nothing has changed, so a display can poll it every few seconds.
+     */
+    @GetMapping("/kitchen/orders")
+    public ResponseEntity<Map<FoodOrder.OrderStatus, List<OrderQueueBoard.Entry>>> kitchenOrders(
+            @RequestParam(required = false) Long restaurantId, WebRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Optional<User> userOpt = auth != null ? userService.findByEmail(auth.getName()) : Optional.empty();
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Optional<Restaurant> restaurant = restaurantService.findByOwnerId(userOpt.get().getId()).stream()
+                .filter(r -> restaurantId == null || r.getId().equals(restaurantId))
+                .findFirst();
+        if (restaurant.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Long id = restaurant.get().getId();
+        if (ConditionalGet.isNotModified(request, "kitchen-orders", id, orderQueueService.getRevision(id))) {
+            return null;
+        }
+        return ResponseEntity.ok(orderQueueService.getActiveOrders(id));
+    }
+    
+    private static FoodOrder.OrderStatus parseStatus(String status) {
+        if (status == null || status.isBlank() || status.equalsIgnoreCase("ALL")) {
+            return null;
+        }
+        try {
+            return FoodOrder.OrderStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Moves one of the owner's orders to the next status chosen on the orders page.
+     * Rejected if the order has since moved on or the status does not follow its current one.
+     */
+    @PostMapping("/orders/{orderId}/status")
+    public String updateOrderStatus(@PathVariable Long orderId, @RequestParam FoodOrder.OrderStatus status,
+                                    RedirectAttributes redirectAttributes) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getName())) {
+            Optional<User> userOpt = userService.findByEmail(auth.getName());
+            if (userOpt.isPresent()) {
+                User user = userOpt.get();
+                if (user.getRole() == User.UserRole.RESTAURANT_OWNER) {
+                    try {
+                        Optional<FoodOrder> orderOpt = foodOrderService.findById(orderId);
+                        boolean owned = orderOpt.isPresent() && restaurantService.findByOwnerId(user.getId()).stream()
+                                .anyMatch(r -> r.getId().equals(orderOpt.get().getRestaurant().getId()));
+                        if (!owned) {
+                            redirectAttributes.addFlashAttribute("error", "Order not found");
+                        } else if (foodOrderService.transitionStatus(orderId, status)) {
+                            redirectAttributes.addFlashAttribute("success", "Order " + orderOpt.get().getOrderNumber() + " is now " + status);
+                        }
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        redirectAttributes.addFlashAttribute("error", e.getMessage());
+                    }
+                    return "redirect:/restaurant/orders";
+                } else {
+                    return "redirect:/access-denied";
+                }
+            }
+        }
+        return "redirect:/login";
+    }
+    
     /**
      * Displays the analytics page for the authenticated restaurant owner.
      * Loads order statistics and analytics data for the owner's restaurant.
@@ -678,6 +768,8 @@ public class RestaurantController {
                                           @RequestParam(required = false) String state,
                                           @RequestParam(required = false) String zipCode,
                                           @RequestParam(required = false) String nearbyLandmark,
+                                          @RequestParam(required = false) Double latitude,
+                                          @RequestParam(required = false) Double longitude,
                                           @RequestParam(required = false) String businessRegistrationNumber,
                                           @RequestParam(required = false) String fssaiLicenseNumber,
                                           @RequestParam(required = false) String gstin,
@@ -714,6 +806,8 @@ public class RestaurantController {
                             if (state != null) existingRestaurant.setState(state);
                             if (zipCode != null) existingRestaurant.setZipCode(zipCode);
                             if (nearbyLandmark != null) existingRestaurant.setNearbyLandmark(nearbyLandmark);
+                            if (latitude != null) existingRestaurant.setLatitude(latitude);
+                            if (longitude != null) existingRestaurant.setLongitude(longitude);
                             if (businessRegistrationNumber != null) existingRestaurant.setBusinessRegistrationNumber(businessRegistrationNumber);
                             if (fssaiLicenseNumber != null) existingRestaurant.setFssaiLicenseNumber(fssaiLicenseNumber);
                             if (gstin != null) existingRestaurant.setGstin(gstin);
@@ -827,6 +921,8 @@ public class RestaurantController {
                             dbRestaurant.setState(restaurant.getState());
                             dbRestaurant.setZipCode(restaurant.getZipCode());
                             dbRestaurant.setNearbyLandmark(restaurant.getNearbyLandmark());
+                            dbRestaurant.setLatitude(restaurant.getLatitude());
+                            dbRestaurant.setLongitude(restaurant.getLongitude());
                             dbRestaurant.setFssaiLicenseNumber(restaurant.getFssaiLicenseNumber());
                             dbRestaurant.setGstin(restaurant.getGstin());
                             dbRestaurant.setDescription(restaurant.getDescription());
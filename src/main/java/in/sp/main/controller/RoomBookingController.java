@@ -8,6 +8,7 @@ import in.sp.main.service.RoomBookingService;
 import in.sp.main.service.RoomService;
 import in.sp.main.service.HotelService;
 import in.sp.main.service.UserService;
+import in.sp.main.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -40,20 +41,14 @@ public class RoomBookingController {
     public String listBookings(@RequestParam(required = false) Long userId,
                                 @RequestParam(required = false) Long roomId,
                                 @RequestParam(required = false) Long hotelId,
+                                @RequestParam(required = false) String cursor,
+                                @RequestParam(required = false) Integer size,
                                 Model model) {
-        List<RoomBooking> bookings;
+        KeysetPage<RoomBooking> bookings = roomBookingService.findPage(userId, roomId, hotelId, cursor, size);
         
-        if (userId != null) {
-            bookings = roomBookingService.findByUserId(userId);
-        } else if (roomId != null) {
-            bookings = roomBookingService.findByRoomId(roomId);
-        } else if (hotelId != null) {
-            bookings = roomBookingService.findByHotelId(hotelId);
-        } else {
-            bookings = roomBookingService.findAll();
-        }
-        
-        model.addAttribute("bookings", bookings);
+        model.addAttribute("bookings", bookings.content());
+        model.addAttribute("nextCursor", bookings.nextCursor());
+        model.addAttribute("cursor", cursor);
         return "room-booking/list";
     }
     
@@ -3,10 +3,13 @@ package in.sp.main.controller;
 import in.sp.main.entity.Restaurant;
 import in.sp.main.entity.TableBooking;
 import in.sp.main.entity.User;
+import in.sp.main.repository.RestaurantCard;
 import in.sp.main.service.CloudinaryService;
+import in.sp.main.service.IdempotencyService;
 import in.sp.main.service.RestaurantService;
 import in.sp.main.service.TableBookingService;
 import in.sp.main.service.UserService;
+import in.sp.main.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,11 +18,14 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Controller
 @RequestMapping("/table-booking")
@@ -30,16 +36,21 @@ public class TableBookingController {
     private final TableBookingService tableBookingService;
     private final UserService userService;
     private final CloudinaryService cloudinaryService;
+    private final IdempotencyService idempotencyService;
     
     /**
      * Displays the main table booking page with a list of all restaurants.
      * Handles errors in loading restaurants gracefully.
      */
     @GetMapping("")
-    public String tableBookingHome(Model model) {
+    public String tableBookingHome(@RequestParam(required = false) String cursor,
+                                   @RequestParam(required = false) Integer size,
+                                   Model model) {
         try {
-            List<Restaurant> restaurants = restaurantService.findAll();
-            model.addAttribute("restaurants", restaurants);
+            KeysetPage<RestaurantCard> restaurants = restaurantService.findPage(cursor, size);
+            model.addAttribute("restaurants", restaurants.content());
+            model.addAttribute("nextCursor", restaurants.nextCursor());
+            model.addAttribute("cursor", cursor);
         } catch (Exception e) {
             model.addAttribute("restaurants", new ArrayList<>());
             model.addAttribute("error", "Error loading restaurants: " + e.getMessage());
@@ -52,10 +63,14 @@ public class TableBookingController {
      * Handles errors in loading restaurants gracefully.
      */
     @GetMapping("/restaurants/table-booking")
-    public String restaurantsForTableBooking(Model model) {
+    public String restaurantsForTableBooking(@RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size,
+                                             Model model) {
         try {
-            List<Restaurant> restaurants = restaurantService.findAll();
-            model.addAttribute("restaurants", restaurants);
+            KeysetPage<RestaurantCard> restaurants = restaurantService.findPage(cursor, size);
+            model.addAttribute("restaurants", restaurants.content());
+            model.addAttribute("nextCursor", restaurants.nextCursor());
+            model.addAttribute("cursor", cursor);
         } catch (Exception e) {
             model.addAttribute("restaurants", new ArrayList<>());
             model.addAttribute("error", "Error loading restaurants: " + e.getMessage());
@@ -78,6 +93,7 @@ public class TableBookingController {
             Restaurant restaurant = restaurantOpt.get();
             model.addAttribute("restaurant", restaurant);
             model.addAttribute("booking", new TableBooking());
+            model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
             return "table-booking/book-table";
         }
         return "redirect:/restaurants/table-booking";
@@ -88,7 +104,7 @@ public class TableBookingController {
      * Associates the booking with the authenticated user and saves it.
      */
     @PostMapping("/create")
-    public String createTableBooking(@ModelAttribute TableBooking booking, Model model) {
+    public String createTableBooking(@ModelAttribute TableBooking booking, @RequestParam(required = false) String idempotencyKey, Model model) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
             String email = authentication.getName();
@@ -97,11 +113,16 @@ public class TableBookingController {
                 User user = userOpt.get();
                 booking.setUser(user);
                 try {
-                    TableBooking savedBooking = tableBookingService.createBooking(booking);
+                    TableBooking savedBooking = idempotencyService.execute("table-booking/create:" + user.getId(), idempotencyKey,
+                            () -> tableBookingService.createBooking(booking),
+                            saved -> String.valueOf(saved.getId()),
+                            id -> tableBookingService.findById(Long.valueOf(id)).orElseThrow());
                     model.addAttribute("booking", savedBooking);
                     return "table-booking/booking-confirmation";
                 } catch (Exception e) {
                     model.addAttribute("error", "Error creating booking: " + e.getMessage());
+                    // The failed attempt released its key, so the corrected form may reuse it
+                    model.addAttribute("idempotencyKey", idempotencyKey);
                     return "table-booking/book-table";
                 }
             }
@@ -116,14 +137,25 @@ public class TableBookingController {
     @PostMapping("/register")
     public String registerTableBooking(@ModelAttribute TableBooking tableBooking,
                                        @RequestParam("imageFile") MultipartFile imageFile,
+                                       @RequestParam(required = false) String idempotencyKey,
                                        Model model) {
         try {
-            String imageUrl = cloudinaryService.uploadFile(imageFile, "tablebooking");
-            tableBooking.setImageUrl(imageUrl);
-            tableBookingService.createBooking(tableBooking);
+            // The upload is part of the action, so a replayed submit does not upload the image again
+            idempotencyService.execute("table-booking/register", idempotencyKey,
+                    () -> {
+                        try {
+                            tableBooking.setImageUrl(cloudinaryService.uploadFile(imageFile, "tablebooking"));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return tableBookingService.createBooking(tableBooking);
+                    },
+                    saved -> String.valueOf(saved.getId()),
+                    id -> tableBookingService.findById(Long.valueOf(id)).orElseThrow());
             model.addAttribute("success", "Table Booking registered successfully!");
         } catch (Exception e) {
             model.addAttribute("error", "Error registering Table Booking: " + e.getMessage());
+            model.addAttribute("idempotencyKey", idempotencyKey);
         }
         return "table-booking/book-table";
     }
@@ -220,7 +252,7 @@ public class TableBookingController {
                                                  @RequestParam(required = false) Integer guests,
                                                  Model model) {
         try {
-            List<Restaurant> restaurants = restaurantService.findByCity(city);
+            List<RestaurantCard> restaurants = restaurantService.findCardsByCity(city);
             model.addAttribute("restaurants", restaurants);
         } catch (Exception e) {
             model.addAttribute("restaurants", new ArrayList<>());
@@ -1,7 +1,13 @@
 package in.sp.main.controller;
 
 import in.sp.main.entity.*;
+import in.sp.main.repository.HotelCard;
+import in.sp.main.repository.RestaurantCard;
 import in.sp.main.service.*;
+import in.sp.main.util.CartKey;
+import in.sp.main.util.ConditionalGet;
+import in.sp.main.util.KeysetPage;
+import in.sp.main.util.MenuSnapshot;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -10,6 +16,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -23,7 +30,8 @@ public class TemplateController {
     private final HotelService hotelService;
     private final FoodOrderService foodOrderService;
     private final RoomBookingService roomBookingService;
-    private final MenuItemService menuItemService;
+    private final MenuSnapshotService menuSnapshotService;
+    private final CartService cartService;
     
     /**
      * Displays the access denied page.
@@ -92,7 +100,7 @@ public class TemplateController {
     @GetMapping("/food-delivery/restaurants")
     public String foodDeliveryRestaurants(Model model) {
         try {
-            List<Restaurant> restaurants = restaurantService.findByIsVerifiedTrue();
+            List<RestaurantCard> restaurants = restaurantService.findVerifiedCards();
             model.addAttribute("restaurants", restaurants);
         } catch (Exception e) {
             model.addAttribute("error", "Error loading restaurants: " + e.getMessage());
@@ -106,16 +114,21 @@ public class TemplateController {
      * Loads restaurant details and menu items for the food delivery interface.
      */
     @GetMapping("/food-delivery/restaurant-details/{id}")
-    public String foodDeliveryRestaurantDetails(@PathVariable Long id, Model model) {
+    public String foodDeliveryRestaurantDetails(@PathVariable Long id, WebRequest request, Model model) {
         try {
             var restaurantOpt = restaurantService.findById(id);
             if (restaurantOpt.isPresent()) {
                 Restaurant restaurant = restaurantOpt.get();
+                MenuSnapshot menu = menuSnapshotService.getMenu(id);
+                int cartCount = cartService.count(CartKey.of(request.getSessionId()));
+                if (ConditionalGet.isNotModified(request, "restaurant-details", id, restaurant.getUpdatedAt(),
+                        menu.getVersion(), cartCount)) {
+                    return null;
+                }
+                model.addAttribute("cartCount", cartCount);
                 model.addAttribute("restaurant", restaurant);
-                
-                // Get menu items
-                List<MenuItem> menuItems = menuItemService.findByRestaurantId(id);
-                model.addAttribute("menuItems", menuItems);
+                model.addAttribute("menuItems", menu.getItems());
+                model.addAttribute("menuCategories", menu.getByCategory());
             } else {
                 model.addAttribute("error", "Restaurant not found");
             }
@@ -130,14 +143,19 @@ public class TemplateController {
      * Loads menu items and restaurant information for the food delivery interface.
      */
     @GetMapping("/food-delivery/menu")
-    public String foodDeliveryMenu(@RequestParam(required = false) Long restaurantId, Model model) {
+    public String foodDeliveryMenu(@RequestParam(required = false) Long restaurantId, WebRequest request, Model model) {
         try {
             if (restaurantId != null) {
                 var restaurantOpt = restaurantService.findById(restaurantId);
                 if (restaurantOpt.isPresent()) {
+                    MenuSnapshot menu = menuSnapshotService.getMenu(restaurantId);
+                    if (ConditionalGet.isNotModified(request, "menu", restaurantId,
+                            restaurantOpt.get().getUpdatedAt(), menu.getVersion())) {
+                        return null;
+                    }
                     model.addAttribute("restaurant", restaurantOpt.get());
-                    List<MenuItem> menuItems = menuItemService.findByRestaurantId(restaurantId);
-                    model.addAttribute("menuItems", menuItems);
+                    model.addAttribute("menuItems", menu.getItems());
+                    model.addAttribute("menuCategories", menu.getByCategory());
                 }
             }
         } catch (Exception e) {
@@ -244,10 +262,14 @@ public class TemplateController {
      * Loads all hotels and adds them to the model.
      */
     @GetMapping("/hotel-booking/hotels")
-    public String hotelBookingHotels(Model model) {
+    public String hotelBookingHotels(@RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer size,
+                                     Model model) {
         try {
-            List<Hotel> hotels = hotelService.findAll();
-            model.addAttribute("hotels", hotels);
+            KeysetPage<HotelCard> hotels = hotelService.findPage(cursor, size);
+            model.addAttribute("hotels", hotels.content());
+            model.addAttribute("nextCursor", hotels.nextCursor());
+            model.addAttribute("cursor", cursor);
         } catch (Exception e) {
             model.addAttribute("error", "Error loading hotels: " + e.getMessage());
             model.addAttribute("hotels", new ArrayList<>());
@@ -260,11 +282,14 @@ public class TemplateController {
      * Loads hotel details and room information for the hotel booking interface.
      */
     @GetMapping("/hotel-booking/hotel-details/{id}")
-    public String hotelBookingHotelDetails(@PathVariable Long id, Model model) {
+    public String hotelBookingHotelDetails(@PathVariable Long id, WebRequest request, Model model) {
         try {
             var hotelOpt = hotelService.findById(id);
             if (hotelOpt.isPresent()) {
                 Hotel hotel = hotelOpt.get();
+                if (ConditionalGet.isNotModified(request, "hotel-details", id, hotel.getUpdatedAt())) {
+                    return null;
+                }
                 model.addAttribute("hotel", hotel);
                 
                 // Note: Room functionality would need to be implemented in HotelService
@@ -360,7 +385,7 @@ public class TemplateController {
     @GetMapping("/table-booking/restaurants")
     public String tableBookingRestaurants(Model model) {
         try {
-            List<Restaurant> restaurants = restaurantService.findByIsVerifiedTrue();
+            List<RestaurantCard> restaurants = restaurantService.findVerifiedCards();
             model.addAttribute("restaurants", restaurants);
         } catch (Exception e) {
             model.addAttribute("error", "Error loading restaurants: " + e.getMessage());
@@ -403,7 +428,7 @@ public class TemplateController {
     public String tableBookingSearchResults(@RequestParam(required = false) String query, Model model) {
         if (query != null && !query.trim().isEmpty()) {
             try {
-                List<Restaurant> restaurants = restaurantService.findByIsVerifiedTrue().stream()
+                List<RestaurantCard> restaurants = restaurantService.findVerifiedCards().stream()
                     .filter(r -> r.getRestaurantName().toLowerCase().contains(query.toLowerCase()) ||
                                 r.getCity().toLowerCase().contains(query.toLowerCase()))
                     .collect(Collectors.toList());
@@ -68,6 +68,12 @@ public class CloudKitchen {
     @Column(name = "google_maps_link")
     private String googleMapsLink;
     
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @Column(name = "kitchen_logo_url")
     private String kitchenLogoUrl;
     
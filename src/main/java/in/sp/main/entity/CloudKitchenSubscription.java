@@ -20,6 +20,9 @@ public class CloudKitchenSubscription {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @Column(name = "subscription_reference", unique = true, length = 20)
+    private String subscriptionReference;
+    
     @NotNull(message = "Start date is required")
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
@@ -7,7 +7,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Entity
 @Table(name = "food_orders")
@@ -78,6 +83,13 @@ public class FoodOrder {
     @OneToMany(mappedBy = "foodOrder", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> orderItems;
     
+    /**
+     * Bumped on every save and status transition, so a stale copy can no longer overwrite a newer one.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -96,6 +108,33 @@ public class FoodOrder {
     }
     
     public enum OrderStatus {
-        PENDING, CONFIRMED, PREPARING, READY_FOR_PICKUP, ON_THE_WAY, DELIVERED, CANCELLED
+        PENDING, CONFIRMED, PREPARING, READY_FOR_PICKUP, ON_THE_WAY, DELIVERED, CANCELLED;
+        
+        private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+        
+        static {
+            TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+            TRANSITIONS.put(CONFIRMED, EnumSet.of(PREPARING, CANCELLED));
+            TRANSITIONS.put(PREPARING, EnumSet.of(READY_FOR_PICKUP, CANCELLED));
+            TRANSITIONS.put(READY_FOR_PICKUP, EnumSet.of(ON_THE_WAY, DELIVERED, CANCELLED));
+            TRANSITIONS.put(ON_THE_WAY, EnumSet.of(DELIVERED, CANCELLED));
+            TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+            TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        }
+        
+        /**
+         * Statuses an order may move to from this one; empty once delivered or cancelled.
+         */
+        public Set<OrderStatus> nextStatuses() {
+            return Collections.unmodifiableSet(TRANSITIONS.get(this));
+        }
+        
+        public boolean canTransitionTo(OrderStatus next) {
+            return TRANSITIONS.get(this).contains(next);
+        }
+        
+        public boolean isTerminal() {
+            return TRANSITIONS.get(this).isEmpty();
+        }
     }
 } 
\ No newline at end of file
@@ -68,6 +68,12 @@ public class Hotel {
     @Column(name = "google_maps_link")
     private String googleMapsLink;
     
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @Column(name = "check_in_time")
     private String checkInTime;
     
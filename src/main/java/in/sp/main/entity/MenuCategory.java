@@ -0,0 +1,57 @@
+package in.sp.main.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "menu_categories",
+        uniqueConstraints = @UniqueConstraint(name = "uk_menu_category_restaurant_name", columnNames = {"restaurant_id", "name"}),
+        indexes = {
+                @Index(name = "idx_menu_category_restaurant_order", columnList = "restaurant_id, sort_order"),
+                @Index(name = "idx_menu_category_name", columnList = "name")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuCategory {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank(message = "Category name is required")
+    @Column(name = "name", nullable = false)
+    private String name;
+    
+    @Column(name = "sort_order", nullable = false)
+    private int sortOrder;
+    
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_id", nullable = false)
+    private Restaurant restaurant;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -11,7 +11,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "menu_items")
+@Table(name = "menu_items", indexes = @Index(name = "idx_menu_item_category", columnList = "category_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,6 +36,11 @@ public class MenuItem {
     @Column(name = "category")
     private String category;
     
+    // Normalized form of category, kept in step by the service layer on every write
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private MenuCategory menuCategory;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "food_type")
     private FoodType foodType = FoodType.VEG;
@@ -0,0 +1,34 @@
+package in.sp.main.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "menu_tags")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuTag {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Stored normalized: trimmed, lower-case, single spaces
+    @NotBlank(message = "Tag name is required")
+    @Column(name = "name", nullable = false, unique = true, length = 100)
+    private String name;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
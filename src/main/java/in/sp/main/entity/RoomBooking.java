@@ -21,6 +21,9 @@ public class RoomBooking {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @Column(name = "booking_reference", unique = true, length = 20)
+    private String bookingReference;
+    
     @NotNull(message = "Check-in date is required")
     @Column(name = "check_in_date", nullable = false)
     private LocalDate checkInDate;
@@ -22,6 +22,9 @@ public class TableBooking {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @Column(name = "booking_reference", unique = true, length = 20)
+    private String bookingReference;
+    
     @NotNull(message = "Booking date is required")
     @Column(name = "booking_date", nullable = false)
     private LocalDate bookingDate;
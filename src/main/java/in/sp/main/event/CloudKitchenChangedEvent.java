@@ -0,0 +1,31 @@
+package in.sp.main.event;
+
+import in.sp.main.entity.CloudKitchen;
+
+/**
+ * A cloud kitchen was saved, verified or deleted. Published inside the writing transaction and picked up
+ * by the search, autocomplete, geo and listing indexes after commit, like {@link RestaurantChangedEvent}.
+ *
+ * @param cloudKitchen the saved kitchen, or null when it was deleted
+ */
+public record CloudKitchenChangedEvent(Long cloudKitchenId, CloudKitchen cloudKitchen) {
+    
+    public static CloudKitchenChangedEvent saved(CloudKitchen cloudKitchen) {
+        return new CloudKitchenChangedEvent(cloudKitchen.getId(), cloudKitchen);
+    }
+    
+    public static CloudKitchenChangedEvent removed(Long cloudKitchenId) {
+        return new CloudKitchenChangedEvent(cloudKitchenId, null);
+    }
+    
+    public boolean isRemoved() {
+        return cloudKitchen == null;
+    }
+    
+    /**
+     * The saved city, or null after a delete; the listing cache remembers where the kitchen was listed.
+     */
+    public String city() {
+        return cloudKitchen != null ? cloudKitchen.getCity() : null;
+    }
+}
@@ -0,0 +1,103 @@
+package in.sp.main.event;
+
+import in.sp.main.entity.CloudKitchenSubscription;
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.entity.RoomBooking;
+import in.sp.main.entity.TableBooking;
+import in.sp.main.repository.FoodOrderState;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A food order, booking or subscription was created or changed status. Events go to one topic per
+ * aggregate, keyed by the owning restaurant, hotel or kitchen, so every event for one owner lands on
+ * the same partition and is consumed in the order it was published.
+ *
+ * @param reference      the order number or booking/subscription reference
+ * @param ownerId        restaurant id for orders and table bookings, hotel id for room bookings,
+ *                       cloud kitchen id for subscriptions
+ * @param previousStatus null for {@link Type#CREATED}
+ * @param version        the food order's version after the change, so consumers can skip an event that is
+ *                       replayed or overtaken by a newer one; null for other aggregates
+ */
+public record DomainEvent(String id, Aggregate aggregate, Type type, Long aggregateId, String reference,
+                          Long ownerId, Long userId, String status, String previousStatus, Instant occurredAt,
+                          Long version) {
+    
+    public static final String FOOD_ORDER_TOPIC = "spincery.food-orders";
+    public static final String ROOM_BOOKING_TOPIC = "spincery.room-bookings";
+    public static final String TABLE_BOOKING_TOPIC = "spincery.table-bookings";
+    public static final String SUBSCRIPTION_TOPIC = "spincery.subscriptions";
+    
+    public enum Aggregate {
+        FOOD_ORDER(FOOD_ORDER_TOPIC),
+        ROOM_BOOKING(ROOM_BOOKING_TOPIC),
+        TABLE_BOOKING(TABLE_BOOKING_TOPIC),
+        SUBSCRIPTION(SUBSCRIPTION_TOPIC);
+        
+        private final String topic;
+        
+        Aggregate(String topic) {
+            this.topic = topic;
+        }
+        
+        public String getTopic() {
+            return topic;
+        }
+    }
+    
+    public enum Type {
+        CREATED, STATUS_CHANGED
+    }
+    
+    /**
+     * Partition key: the owner id, so one owner's events stay in order.
+     */
+    public String key() {
+        return ownerId != null ? ownerId.toString() : null;
+    }
+    
+    /**
+     * @param previous the status before the change, or null for a new order
+     */
+    public static DomainEvent of(FoodOrder order, FoodOrder.OrderStatus previous) {
+        return create(Aggregate.FOOD_ORDER, order.getId(), order.getOrderNumber(),
+                order.getRestaurant() != null ? order.getRestaurant().getId() : null,
+                order.getUser() != null ? order.getUser().getId() : null, order.getStatus(), previous, order.getVersion());
+    }
+    
+    /**
+     * A food order that moved from the projected status to {@code next}.
+     */
+    public static DomainEvent of(FoodOrderState state, FoodOrder.OrderStatus next) {
+        // The conditional update bumps the version by one
+        return create(Aggregate.FOOD_ORDER, state.getId(), state.getOrderNumber(), state.getRestaurantId(),
+                state.getUserId(), next, state.getStatus(), state.getVersion() + 1);
+    }
+    
+    public static DomainEvent of(RoomBooking booking, RoomBooking.BookingStatus previous) {
+        return create(Aggregate.ROOM_BOOKING, booking.getId(), booking.getBookingReference(),
+                booking.getHotel() != null ? booking.getHotel().getId() : null,
+                booking.getUser() != null ? booking.getUser().getId() : null, booking.getStatus(), previous, null);
+    }
+    
+    public static DomainEvent of(TableBooking booking, TableBooking.BookingStatus previous) {
+        return create(Aggregate.TABLE_BOOKING, booking.getId(), booking.getBookingReference(),
+                booking.getRestaurant() != null ? booking.getRestaurant().getId() : null,
+                booking.getUser() != null ? booking.getUser().getId() : null, booking.getStatus(), previous, null);
+    }
+    
+    public static DomainEvent of(CloudKitchenSubscription subscription, CloudKitchenSubscription.SubscriptionStatus previous) {
+        return create(Aggregate.SUBSCRIPTION, subscription.getId(), subscription.getSubscriptionReference(),
+                subscription.getCloudKitchen() != null ? subscription.getCloudKitchen().getId() : null,
+                subscription.getUser() != null ? subscription.getUser().getId() : null, subscription.getStatus(), previous, null);
+    }
+    
+    private static DomainEvent create(Aggregate aggregate, Long aggregateId, String reference, Long ownerId,
+                                      Long userId, Enum<?> status, Enum<?> previous, Long version) {
+        return new DomainEvent(UUID.randomUUID().toString(), aggregate, previous == null ? Type.CREATED : Type.STATUS_CHANGED,
+                aggregateId, reference, ownerId, userId, status != null ? status.name() : null,
+                previous != null ? previous.name() : null, Instant.now(), version);
+    }
+}
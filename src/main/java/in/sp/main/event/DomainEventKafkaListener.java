@@ -0,0 +1,42 @@
+package in.sp.main.event;
+
+import in.sp.main.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Consumes domain events in batches. Caches and dashboards live in each node's memory, so every node
+ * reads every event under a group of its own and replays it to its in-process listeners; notifications
+ * share one group so each goes out once. The node group is named after {@code events.kafka.node-id},
+ * which must stay the same across restarts so a node resumes from its committed offsets instead of
+ * leaving a new group behind on every start.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "events.kafka.enabled", havingValue = "true")
+public class DomainEventKafkaListener {
+    
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final NotificationService notificationService;
+    
+    @KafkaListener(topics = {DomainEvent.FOOD_ORDER_TOPIC, DomainEvent.ROOM_BOOKING_TOPIC, DomainEvent.TABLE_BOOKING_TOPIC, DomainEvent.SUBSCRIPTION_TOPIC},
+            groupId = "${events.kafka.group-id:spincery}-node-${events.kafka.node-id}",
+            containerFactory = "domainEventListenerContainerFactory")
+    public void onNodeEvents(List<DomainEvent> events) {
+        // Unreadable records arrive as null
+        events.stream().filter(Objects::nonNull).forEach(applicationEventPublisher::publishEvent);
+    }
+    
+    @KafkaListener(topics = {DomainEvent.FOOD_ORDER_TOPIC, DomainEvent.ROOM_BOOKING_TOPIC, DomainEvent.TABLE_BOOKING_TOPIC, DomainEvent.SUBSCRIPTION_TOPIC},
+            groupId = "${events.kafka.group-id:spincery}-notifications",
+            containerFactory = "domainEventListenerContainerFactory")
+    public void onNotificationEvents(List<DomainEvent> events) {
+        events.stream().filter(Objects::nonNull).forEach(notificationService::notify);
+    }
+}
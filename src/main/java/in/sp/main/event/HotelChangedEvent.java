@@ -0,0 +1,31 @@
+package in.sp.main.event;
+
+import in.sp.main.entity.Hotel;
+
+/**
+ * A hotel was saved, verified or deleted. Published inside the writing transaction and picked up by the
+ * search, autocomplete and listing indexes after commit, like {@link RestaurantChangedEvent}.
+ *
+ * @param hotel the saved hotel, or null when it was deleted
+ */
+public record HotelChangedEvent(Long hotelId, Hotel hotel) {
+    
+    public static HotelChangedEvent saved(Hotel hotel) {
+        return new HotelChangedEvent(hotel.getId(), hotel);
+    }
+    
+    public static HotelChangedEvent removed(Long hotelId) {
+        return new HotelChangedEvent(hotelId, null);
+    }
+    
+    public boolean isRemoved() {
+        return hotel == null;
+    }
+    
+    /**
+     * The saved city, or null after a delete; the listing cache remembers where the hotel was listed.
+     */
+    public String city() {
+        return hotel != null ? hotel.getCity() : null;
+    }
+}
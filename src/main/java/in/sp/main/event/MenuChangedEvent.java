@@ -0,0 +1,38 @@
+package in.sp.main.event;
+
+import in.sp.main.entity.MenuItem;
+
+import java.util.List;
+
+/**
+ * Dishes of one restaurant were saved, deleted or updated in bulk. Published inside the writing
+ * transaction and picked up by the menu indexes after commit, like {@link RestaurantChangedEvent}.
+ *
+ * @param saved   items written one by one, for the indexes kept per item
+ * @param removed ids of deleted items
+ */
+public record MenuChangedEvent(Long restaurantId, List<MenuItem> saved, List<Long> removed) {
+    
+    public static MenuChangedEvent saved(MenuItem item) {
+        return new MenuChangedEvent(item.getRestaurant() != null ? item.getRestaurant().getId() : null,
+                List.of(item), List.of());
+    }
+    
+    public static MenuChangedEvent removed(Long restaurantId, Long menuItemId) {
+        return new MenuChangedEvent(restaurantId, List.of(), List.of(menuItemId));
+    }
+    
+    /**
+     * Many rows changed at once, e.g. an import or an availability update; {@code saved} may be empty.
+     */
+    public static MenuChangedEvent bulk(Long restaurantId, List<MenuItem> saved) {
+        return new MenuChangedEvent(restaurantId, saved, List.of());
+    }
+    
+    /**
+     * True unless exactly one item changed, i.e. per-restaurant indexes should reload the whole menu.
+     */
+    public boolean isBulk() {
+        return saved.size() + removed.size() != 1;
+    }
+}
@@ -0,0 +1,31 @@
+package in.sp.main.event;
+
+import in.sp.main.entity.Restaurant;
+
+/**
+ * A restaurant was saved or deleted. Published inside the writing transaction; each in-memory index
+ * listens for it after commit, so one index failing does not keep the others stale.
+ *
+ * @param restaurant the saved restaurant, or null when it was deleted
+ */
+public record RestaurantChangedEvent(Long restaurantId, Restaurant restaurant) {
+    
+    public static RestaurantChangedEvent saved(Restaurant restaurant) {
+        return new RestaurantChangedEvent(restaurant.getId(), restaurant);
+    }
+    
+    public static RestaurantChangedEvent removed(Long restaurantId) {
+        return new RestaurantChangedEvent(restaurantId, null);
+    }
+    
+    public boolean isRemoved() {
+        return restaurant == null;
+    }
+    
+    /**
+     * The saved city, or null after a delete when it is no longer known.
+     */
+    public String city() {
+        return restaurant != null ? restaurant.getCity() : null;
+    }
+}
@@ -6,11 +6,30 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CloudKitchenRepository extends JpaRepository<CloudKitchen, Long> {
     
+    String CARD = "SELECT ck.id AS id, ck.kitchenName AS kitchenName, ck.address AS address, ck.city AS city, " +
+            "ck.state AS state, ck.description AS description, ck.kitchenLogoUrl AS kitchenLogoUrl, " +
+            "ck.coverPhotoUrl AS coverPhotoUrl, ck.avgPreparationTime AS avgPreparationTime, " +
+            "ck.packagingCharges AS packagingCharges, ck.rating AS rating, ck.totalReviews AS totalReviews, " +
+            "ck.latitude AS latitude, ck.longitude AS longitude, ck.isVerified AS isVerified ";
+    
+    @Query(CARD + "FROM CloudKitchen ck WHERE ck.id IN :ids AND ck.isActive = true")
+    List<KitchenCard> findActiveCardsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(CARD + "FROM CloudKitchen ck WHERE ck.city = :city")
+    List<KitchenCard> findCardsByCity(@Param("city") String city);
+    
+    @Query(CARD + "FROM CloudKitchen ck WHERE ck.isVerified = true AND ck.isActive = true")
+    List<KitchenCard> findActiveVerifiedCards();
+    
+    @Query(CARD + "FROM CloudKitchen ck WHERE ck.city = :city AND ck.isActive = true AND ck.isVerified = true")
+    List<KitchenCard> findActiveVerifiedCardsByCity(@Param("city") String city);
+    
     List<CloudKitchen> findByCity(String city);
     
     List<CloudKitchen> findByCityAndIsActiveTrue(String city);
@@ -26,7 +45,4 @@ public interface CloudKitchenRepository extends JpaRepository<CloudKitchen, Long
     
     @Query("SELECT ck FROM CloudKitchen ck WHERE ck.owner.id = :ownerId")
     List<CloudKitchen> findByOwnerId(@Param("ownerId") Long ownerId);
-    
-    @Query("SELECT ck FROM CloudKitchen ck WHERE ck.kitchenName LIKE %:name% AND ck.isActive = true")
-    List<CloudKitchen> findByKitchenNameContaining(@Param("name") String name);
 } 
\ No newline at end of file
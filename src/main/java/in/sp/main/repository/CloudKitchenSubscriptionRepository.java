@@ -7,10 +7,16 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CloudKitchenSubscriptionRepository extends JpaRepository<CloudKitchenSubscription, Long> {
     
+    Optional<CloudKitchenSubscription> findBySubscriptionReference(String subscriptionReference);
+    
+    @Query("SELECT s.status FROM CloudKitchenSubscription s WHERE s.id = :id")
+    Optional<CloudKitchenSubscription.SubscriptionStatus> findStatusById(@Param("id") Long id);
+    
     List<CloudKitchenSubscription> findByUserId(Long userId);
     
     @Query("SELECT cs FROM CloudKitchenSubscription cs WHERE cs.mealPlan.cloudKitchen.id = :cloudKitchenId")
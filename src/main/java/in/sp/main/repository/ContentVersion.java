@@ -0,0 +1,14 @@
+package in.sp.main.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and latest {@code updatedAt} of a set of child rows, such as a restaurant's menu.
+ * Together they change whenever a row is added, edited or removed, so they serve as a cheap version stamp.
+ */
+public interface ContentVersion {
+    
+    long getCount();
+    
+    LocalDateTime getLastModified();
+}
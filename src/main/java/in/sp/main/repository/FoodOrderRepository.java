@@ -2,19 +2,62 @@ package in.sp.main.repository;
 
 import in.sp.main.entity.FoodOrder;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FoodOrderRepository extends JpaRepository<FoodOrder, Long> {
+public interface FoodOrderRepository extends JpaRepository<FoodOrder, Long>, JpaSpecificationExecutor<FoodOrder> {
     
     Optional<FoodOrder> findByOrderNumber(String orderNumber);
     
+    @Query("SELECT o.status FROM FoodOrder o WHERE o.id = :id")
+    Optional<FoodOrder.OrderStatus> findStatusById(@Param("id") Long id);
+    
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, o.version AS version, " +
+           "o.restaurant.id AS restaurantId, o.user.id AS userId, o.estimatedDeliveryTime AS estimatedDeliveryTime, " +
+           "o.createdAt AS createdAt, o.updatedAt AS updatedAt FROM FoodOrder o WHERE o.id = :id")
+    Optional<FoodOrderState> findStateById(@Param("id") Long id);
+    
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, o.version AS version, " +
+           "o.restaurant.id AS restaurantId, o.user.id AS userId, o.estimatedDeliveryTime AS estimatedDeliveryTime, " +
+           "o.createdAt AS createdAt, o.updatedAt AS updatedAt FROM FoodOrder o " +
+           "WHERE o.restaurant.id = :restaurantId AND o.status IN :statuses ORDER BY o.updatedAt, o.id")
+    List<FoodOrderState> findStatesByRestaurantIdAndStatusIn(@Param("restaurantId") Long restaurantId,
+                                                            @Param("statuses") Collection<FoodOrder.OrderStatus> statuses);
+    
+    /**
+     * Orders with their customer and items (and each item's dish) in one query, for pages that list them.
+     */
+    @Query("SELECT DISTINCT o FROM FoodOrder o LEFT JOIN FETCH o.user LEFT JOIN FETCH o.orderItems i " +
+           "LEFT JOIN FETCH i.menuItem WHERE o.id IN :ids")
+    List<FoodOrder> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Moves an order from {@code current} to {@code next} only if neither its status nor its version
+     * changed since they were read. Returns 0 when another writer got there first.
+     * {@code deliveredAt} is set only for deliveries and {@code eta} only when it was revised; null leaves
+     * the stored value alone.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE FoodOrder o SET o.status = :next, o.version = o.version + 1, o.updatedAt = :now, " +
+           "o.actualDeliveryTime = COALESCE(:deliveredAt, o.actualDeliveryTime), " +
+           "o.estimatedDeliveryTime = COALESCE(:eta, o.estimatedDeliveryTime) " +
+           "WHERE o.id = :id AND o.status = :current AND o.version = :version")
+    int transitionStatus(@Param("id") Long id, @Param("current") FoodOrder.OrderStatus current,
+                         @Param("version") long version, @Param("next") FoodOrder.OrderStatus next,
+                         @Param("now") LocalDateTime now, @Param("deliveredAt") LocalDateTime deliveredAt,
+                         @Param("eta") LocalDateTime eta);
+    
     List<FoodOrder> findByUserId(Long userId);
     
     List<FoodOrder> findByRestaurantId(Long restaurantId);
@@ -39,4 +82,14 @@ public interface FoodOrderRepository extends JpaRepository<FoodOrder, Long> {
     
     @Query("SELECT fo FROM FoodOrder fo WHERE fo.restaurant.id = :restaurantId AND fo.createdAt BETWEEN :startDate AND :endDate")
     List<FoodOrder> findByRestaurantIdAndCreatedAtBetween(@Param("restaurantId") Long restaurantId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-} 
\ No newline at end of file
+
+    /**
+     * Rows of (restaurant id, order date, order count) for orders placed since the given time,
+     * leaving out orders now in the excluded status.
+     */
+    @Query("SELECT fo.restaurant.id, cast(fo.createdAt as LocalDate), count(fo) FROM FoodOrder fo " +
+           "WHERE fo.createdAt >= :since AND fo.status <> :excluded " +
+           "GROUP BY fo.restaurant.id, cast(fo.createdAt as LocalDate)")
+    List<Object[]> countDailyOrdersByRestaurantSince(@Param("since") LocalDateTime since,
+                                                     @Param("excluded") FoodOrder.OrderStatus excluded);
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package in.sp.main.repository;
+
+import in.sp.main.entity.FoodOrder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed projection of {@code FoodOrder} with what a status transition needs: the status and version
+ * it is conditioned on, and the ids its event is keyed by. Tracking pages render it without loading
+ * the order's restaurant, user or items.
+ */
+public interface FoodOrderState {
+    
+    Long getId();
+    
+    String getOrderNumber();
+    
+    FoodOrder.OrderStatus getStatus();
+    
+    long getVersion();
+    
+    Long getRestaurantId();
+    
+    Long getUserId();
+    
+    LocalDateTime getEstimatedDeliveryTime();
+    
+    LocalDateTime getCreatedAt();
+    
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,29 @@
+package in.sp.main.repository;
+
+/**
+ * Closed projection of {@code Hotel} holding only what the browse and search pages render.
+ */
+public interface HotelCard {
+    
+    Long getId();
+    
+    String getHotelName();
+    
+    String getAddress();
+    
+    String getCity();
+    
+    String getState();
+    
+    String getDescription();
+    
+    String getHotelLogoUrl();
+    
+    String getCoverPhotoUrl();
+    
+    Double getRating();
+    
+    Integer getTotalReviews();
+    
+    boolean getIsVerified();
+}
@@ -1,7 +1,9 @@
 package in.sp.main.repository;
 
 import in.sp.main.entity.Hotel;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,7 +12,31 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface HotelRepository extends JpaRepository<Hotel, Long> {
+public interface HotelRepository extends JpaRepository<Hotel, Long>, JpaSpecificationExecutor<Hotel> {
+    
+    String CARD = "SELECT h.id AS id, h.hotelName AS hotelName, h.address AS address, h.city AS city, " +
+            "h.state AS state, h.description AS description, h.hotelLogoUrl AS hotelLogoUrl, " +
+            "h.coverPhotoUrl AS coverPhotoUrl, h.rating AS rating, h.totalReviews AS totalReviews, " +
+            "h.isVerified AS isVerified ";
+    
+    @Query(CARD + "FROM Hotel h ORDER BY h.hotelName, h.id")
+    List<HotelCard> findCardsOrderByName(Limit limit);
+    
+    @Query(CARD + "FROM Hotel h WHERE h.hotelName > :name OR (h.hotelName = :name AND h.id > :id) " +
+           "ORDER BY h.hotelName, h.id")
+    List<HotelCard> findCardsAfterName(@Param("name") String name, @Param("id") Long id, Limit limit);
+    
+    @Query(CARD + "FROM Hotel h")
+    List<HotelCard> findAllCards();
+    
+    @Query(CARD + "FROM Hotel h WHERE h.city = :city")
+    List<HotelCard> findCardsByCity(@Param("city") String city);
+    
+    @Query(CARD + "FROM Hotel h WHERE h.isVerified = true AND h.isActive = true")
+    List<HotelCard> findActiveVerifiedCards();
+    
+    @Query(CARD + "FROM Hotel h WHERE h.city = :city AND h.isActive = true AND h.isVerified = true")
+    List<HotelCard> findActiveVerifiedCardsByCity(@Param("city") String city);
     
     List<Hotel> findByCity(String city);
     
@@ -28,9 +54,6 @@ public interface HotelRepository extends JpaRepository<Hotel, Long> {
     @Query("SELECT h FROM Hotel h WHERE h.owner.id = :ownerId")
     List<Hotel> findByOwnerId(@Param("ownerId") Long ownerId);
     
-    @Query("SELECT h FROM Hotel h WHERE h.hotelName LIKE %:name% AND h.isActive = true")
-    List<Hotel> findByHotelNameContaining(@Param("name") String name);
-    
     @Query("SELECT h FROM Hotel h WHERE h.rating >= :rating AND h.isActive = true")
     List<Hotel> findByRatingGreaterThan(@Param("rating") Double rating);
     
@@ -0,0 +1,148 @@
+package in.sp.main.repository;
+
+import in.sp.main.util.KeysetPage;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Seek pagination over a {@code (sortKey, id)} pair.
+ * Each page continues strictly after the last row of the previous one, so the database walks
+ * the index from the cursor instead of counting and skipping an offset, and latency stays
+ * flat however deep the reader pages. The sort attribute must be non-null.
+ */
+public final class Keyset<T, K extends Comparable<? super K>> {
+    
+    private static final String ID = "id";
+    
+    private final String attribute;
+    private final Function<T, K> keyOf;
+    private final Function<String, K> parseKey;
+    private final Function<T, Long> idOf;
+    private final boolean descending;
+    
+    private Keyset(String attribute, Function<T, K> keyOf, Function<String, K> parseKey,
+                   Function<T, Long> idOf, boolean descending) {
+        this.attribute = attribute;
+        this.keyOf = keyOf;
+        this.parseKey = parseKey;
+        this.idOf = idOf;
+        this.descending = descending;
+    }
+    
+    public static <T, K extends Comparable<? super K>> Keyset<T, K> ascending(
+            String attribute, Function<T, K> keyOf, Function<String, K> parseKey, Function<T, Long> idOf) {
+        return new Keyset<>(attribute, keyOf, parseKey, idOf, false);
+    }
+    
+    public static <T, K extends Comparable<? super K>> Keyset<T, K> descending(
+            String attribute, Function<T, K> keyOf, Function<String, K> parseKey, Function<T, Long> idOf) {
+        return new Keyset<>(attribute, keyOf, parseKey, idOf, true);
+    }
+    
+    /**
+     * Newest-first (or oldest-first) pagination on the id alone.
+     */
+    public static <T> Keyset<T, Long> byId(Function<T, Long> idOf, boolean descending) {
+        return new Keyset<>(ID, idOf, Long::valueOf, idOf, descending);
+    }
+    
+    /**
+     * Loads the page after {@code cursor} ({@code null} or unreadable means the first page).
+     * Fetches one extra row to learn whether a next page exists without a count query.
+     */
+    public KeysetPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> filter, String cursor, Integer size) {
+        int limit = KeysetPage.clampSize(size);
+        Specification<T> spec = Specification.where(filter).and(after(cursor));
+        List<T> rows = repository.findBy(spec, q -> q.sortBy(sort()).limit(limit + 1).all());
+        return page(rows, limit);
+    }
+    
+    /**
+     * Same as {@link #fetch(JpaSpecificationExecutor, Specification, String, Integer)} but for rows that
+     * come from a hand-written query, typically a projection. The loader must apply the
+     * {@code (key, id) > (afterKey, afterId)} condition in this keyset's direction when
+     * {@code afterId} is non-null, order by key then id, and honour the limit.
+     */
+    public KeysetPage<T> fetch(Loader<T, K> loader, String cursor, Integer size) {
+        int limit = KeysetPage.clampSize(size);
+        Position<K> position = decode(cursor);
+        List<T> rows = position == null
+                ? loader.load(null, null, Limit.of(limit + 1))
+                : loader.load(position.key(), position.id(), Limit.of(limit + 1));
+        return page(rows, limit);
+    }
+    
+    private KeysetPage<T> page(List<T> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, limit);
+        T last = content.get(limit - 1);
+        return new KeysetPage<>(List.copyOf(content), encode(keyOf.apply(last), idOf.apply(last)));
+    }
+    
+    private Sort sort() {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return ID.equals(attribute) ? Sort.by(direction, ID) : Sort.by(direction, attribute).and(Sort.by(direction, ID));
+    }
+    
+    private Specification<T> after(String cursor) {
+        Position<K> position = decode(cursor);
+        if (position == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Long> id = root.get(ID);
+            if (ID.equals(attribute)) {
+                return descending ? cb.lessThan(id, position.id()) : cb.greaterThan(id, position.id());
+            }
+            Path<K> key = root.get(attribute);
+            if (descending) {
+                return cb.or(cb.lessThan(key, position.key()),
+                        cb.and(cb.equal(key, position.key()), cb.lessThan(id, position.id())));
+            }
+            return cb.or(cb.greaterThan(key, position.key()),
+                    cb.and(cb.equal(key, position.key()), cb.greaterThan(id, position.id())));
+        };
+    }
+    
+    private String encode(K key, Long id) {
+        String raw = id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private Position<K> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            Long id = Long.valueOf(raw.substring(0, separator));
+            return new Position<>(parseKey.apply(raw.substring(separator + 1)), id);
+        } catch (RuntimeException e) {
+            // A tampered or stale cursor just restarts the listing
+            return null;
+        }
+    }
+    
+    @FunctionalInterface
+    public interface Loader<T, K> {
+        
+        /**
+         * Loads up to {@code limit} rows after the given position; both are null for the first page.
+         */
+        List<T> load(K afterKey, Long afterId, Limit limit);
+    }
+    
+    private record Position<K>(K key, Long id) {
+    }
+}
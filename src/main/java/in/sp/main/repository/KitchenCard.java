@@ -0,0 +1,37 @@
+package in.sp.main.repository;
+
+/**
+ * Closed projection of {@code CloudKitchen} holding only what the browse and search pages render.
+ */
+public interface KitchenCard {
+    
+    Long getId();
+    
+    String getKitchenName();
+    
+    String getAddress();
+    
+    String getCity();
+    
+    String getState();
+    
+    String getDescription();
+    
+    String getKitchenLogoUrl();
+    
+    String getCoverPhotoUrl();
+    
+    Integer getAvgPreparationTime();
+    
+    Double getPackagingCharges();
+    
+    Double getRating();
+    
+    Integer getTotalReviews();
+    
+    Double getLatitude();
+    
+    Double getLongitude();
+    
+    boolean getIsVerified();
+}
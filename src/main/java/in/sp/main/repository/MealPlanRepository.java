@@ -13,6 +13,9 @@ public interface MealPlanRepository extends JpaRepository<MealPlan, Long> {
     
     List<MealPlan> findByCloudKitchenId(Long cloudKitchenId);
     
+    @Query("SELECT count(mp) AS count, max(mp.updatedAt) AS lastModified FROM MealPlan mp WHERE mp.cloudKitchen.id = :cloudKitchenId")
+    ContentVersion findMealPlansVersion(@Param("cloudKitchenId") Long cloudKitchenId);
+    
     @Query("SELECT mp FROM MealPlan mp WHERE mp.cloudKitchen.id = :cloudKitchenId AND mp.isAvailable = true")
     List<MealPlan> findByCloudKitchenIdAndIsAvailableTrue(@Param("cloudKitchenId") Long cloudKitchenId);
     
@@ -0,0 +1,53 @@
+package in.sp.main.repository;
+
+import in.sp.main.entity.MenuCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MenuCategoryRepository extends JpaRepository<MenuCategory, Long> {
+    
+    @Query("SELECT c FROM MenuCategory c WHERE c.restaurant.id = :restaurantId ORDER BY c.sortOrder, c.name")
+    List<MenuCategory> findByRestaurantIdOrdered(@Param("restaurantId") Long restaurantId);
+    
+    @Query("SELECT c FROM MenuCategory c WHERE c.restaurant.id = :restaurantId AND c.name = :name")
+    Optional<MenuCategory> findByRestaurantIdAndName(@Param("restaurantId") Long restaurantId, @Param("name") String name);
+    
+    @Query("SELECT c.id FROM MenuCategory c WHERE c.name = :name")
+    List<Long> findIdsByName(@Param("name") String name);
+    
+    @Query("SELECT coalesce(max(c.sortOrder), -1) FROM MenuCategory c WHERE c.restaurant.id = :restaurantId")
+    int findMaxSortOrder(@Param("restaurantId") Long restaurantId);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE MenuCategory c SET c.itemCount = c.itemCount + :delta, c.updatedAt = :now WHERE c.id = :id")
+    int adjustItemCount(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE MenuCategory c SET c.sortOrder = :sortOrder, c.updatedAt = :now WHERE c.id = :id AND c.restaurant.id = :restaurantId")
+    int updateSortOrder(@Param("restaurantId") Long restaurantId, @Param("id") Long id, @Param("sortOrder") int sortOrder, @Param("now") LocalDateTime now);
+    
+    /**
+     * Sets every category's item count for the restaurant from the items that reference it.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE MenuCategory c SET c.itemCount = (SELECT count(m) FROM MenuItem m WHERE m.menuCategory = c), c.updatedAt = :now " +
+           "WHERE c.restaurant.id = :restaurantId")
+    int recountByRestaurantId(@Param("restaurantId") Long restaurantId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MenuCategory c WHERE c.restaurant.id = :restaurantId")
+    int deleteByRestaurantId(@Param("restaurantId") Long restaurantId);
+}
@@ -0,0 +1,21 @@
+package in.sp.main.repository;
+
+import in.sp.main.entity.MenuItem;
+
+/**
+ * Projection of {@code MenuItem} with the fields the menu filter index encodes.
+ */
+public interface MenuFilterRow {
+    
+    Long getId();
+    
+    Long getRestaurantId();
+    
+    String getCity();
+    
+    MenuItem.FoodType getFoodType();
+    
+    String getTags();
+    
+    boolean getAvailable();
+}
@@ -1,31 +1,97 @@
 package in.sp.main.repository;
 
+import in.sp.main.entity.MenuCategory;
 import in.sp.main.entity.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+public interface MenuItemRepository extends JpaRepository<MenuItem, Long>, JpaSpecificationExecutor<MenuItem> {
+    
+    String FILTER_ROW = "SELECT m.id AS id, r.id AS restaurantId, r.city AS city, m.foodType AS foodType, " +
+            "m.tags AS tags, m.available AS available FROM MenuItem m JOIN m.restaurant r ";
     
     List<MenuItem> findByRestaurantId(Long restaurantId);
     
+    @Query("SELECT m.restaurant.id FROM MenuItem m WHERE m.id = :id")
+    Optional<Long> findRestaurantIdById(@Param("id") Long id);
+    
     List<MenuItem> findByRestaurantIdAndAvailableTrue(Long restaurantId);
     
-    @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.category = :category")
-    List<MenuItem> findByRestaurantIdAndCategory(@Param("restaurantId") Long restaurantId, @Param("category") String category);
+    /**
+     * Loads the items together with their restaurants in a single query.
+     */
+    @Query("SELECT m FROM MenuItem m JOIN FETCH m.restaurant WHERE m.id IN :ids")
+    List<MenuItem> findAllWithRestaurantByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT m.menuCategory.id FROM MenuItem m WHERE m.id = :id")
+    Optional<Long> findMenuCategoryIdById(@Param("id") Long id);
+    
+    @Query("SELECT m FROM MenuItem m WHERE m.menuCategory.id = :menuCategoryId")
+    List<MenuItem> findByMenuCategoryId(@Param("menuCategoryId") Long menuCategoryId);
     
     @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.foodType = :foodType")
     List<MenuItem> findByRestaurantIdAndFoodType(@Param("restaurantId") Long restaurantId, @Param("foodType") MenuItem.FoodType foodType);
     
-    @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.dishName LIKE %:name%")
-    List<MenuItem> findByRestaurantIdAndDishNameContaining(@Param("restaurantId") Long restaurantId, @Param("name") String name);
+    @Query("SELECT m FROM MenuItem m JOIN m.menuCategory c WHERE c.name = :category")
+    List<MenuItem> findByCategory(@Param("category") String category);
+    
+    /**
+     * Rows of (restaurant id, category) for items that name a category but are not linked to its row.
+     */
+    @Query("SELECT DISTINCT m.restaurant.id, m.category FROM MenuItem m " +
+           "WHERE m.menuCategory IS NULL AND m.category IS NOT NULL AND trim(m.category) <> ''")
+    List<Object[]> findUnlinkedCategories();
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE MenuItem m SET m.menuCategory = :menuCategory " +
+           "WHERE m.restaurant.id = :restaurantId AND m.category = :category AND m.menuCategory IS NULL")
+    int linkCategory(@Param("restaurantId") Long restaurantId, @Param("category") String category,
+                     @Param("menuCategory") MenuCategory menuCategory);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE MenuItem m SET m.available = :available, m.updatedAt = :now " +
+           "WHERE m.restaurant.id = :restaurantId AND m.id IN :ids AND m.available <> :available")
+    int updateAvailabilityByIds(@Param("restaurantId") Long restaurantId, @Param("ids") Collection<Long> ids,
+                                @Param("available") boolean available, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE MenuItem m SET m.available = :available, m.updatedAt = :now " +
+           "WHERE m.restaurant.id = :restaurantId AND m.menuCategory.id = :menuCategoryId AND m.available <> :available")
+    int updateAvailabilityByMenuCategoryId(@Param("restaurantId") Long restaurantId, @Param("menuCategoryId") Long menuCategoryId,
+                                           @Param("available") boolean available, @Param("now") LocalDateTime now);
+    
+    /**
+     * Matches the comma-separated tags with spaces removed and lower-cased, so {@code pattern} is
+     * {@code %,tag,%} built from the tag normalised the same way, with {@code !} escaping LIKE wildcards.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE MenuItem m SET m.available = :available, m.updatedAt = :now " +
+           "WHERE m.restaurant.id = :restaurantId AND m.available <> :available " +
+           "AND CONCAT(',', REPLACE(LOWER(m.tags), ' ', ''), ',') LIKE :pattern ESCAPE '!'")
+    int updateAvailabilityByTagPattern(@Param("restaurantId") Long restaurantId, @Param("pattern") String pattern,
+                                       @Param("available") boolean available, @Param("now") LocalDateTime now);
+    
+    @Query(FILTER_ROW)
+    List<MenuFilterRow> findAllFilterRows();
     
-    @Query("SELECT DISTINCT m.category FROM MenuItem m WHERE m.restaurant.id = :restaurantId")
-    List<String> findCategoriesByRestaurantId(@Param("restaurantId") Long restaurantId);
+    @Query(FILTER_ROW + "WHERE r.id = :restaurantId")
+    List<MenuFilterRow> findFilterRowsByRestaurantId(@Param("restaurantId") Long restaurantId);
     
-    List<MenuItem> findByCategory(String category);
-} 
\ No newline at end of file
+    @Query(FILTER_ROW + "WHERE m.id = :id")
+    Optional<MenuFilterRow> findFilterRowById(@Param("id") Long id);
+}
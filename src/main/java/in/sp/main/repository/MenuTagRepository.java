@@ -0,0 +1,17 @@
+package in.sp.main.repository;
+
+import in.sp.main.entity.MenuTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MenuTagRepository extends JpaRepository<MenuTag, Long> {
+    
+    @Query("SELECT t.name FROM MenuTag t ORDER BY t.id")
+    List<String> findAllNames();
+    
+    boolean existsByName(String name);
+}
@@ -0,0 +1,55 @@
+package in.sp.main.repository;
+
+import java.time.LocalTime;
+
+/**
+ * Closed projection of {@code Restaurant} holding only what the browse and search pages render.
+ * Queries returning it select these columns alone, leaving out bank, tax, licence,
+ * social and photo-gallery columns.
+ */
+public interface RestaurantCard {
+    
+    Long getId();
+    
+    String getRestaurantName();
+    
+    String getPhone();
+    
+    String getAddress();
+    
+    String getCity();
+    
+    String getState();
+    
+    String getCuisine();
+    
+    String getDescription();
+    
+    String getLogoUrl();
+    
+    String getCoverPhotoUrl();
+    
+    LocalTime getOpeningTime();
+    
+    LocalTime getClosingTime();
+    
+    String getWorkingDays();
+    
+    Integer getAvgPreparationTime();
+    
+    Double getPackagingCharges();
+    
+    Double getRating();
+    
+    Integer getTotalReviews();
+    
+    Double getLatitude();
+    
+    Double getLongitude();
+    
+    boolean isDeliveryOffered();
+    
+    boolean getIsVerified();
+    
+    Boolean getIsOpen();
+}
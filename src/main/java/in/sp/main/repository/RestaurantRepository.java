@@ -1,16 +1,49 @@
 package in.sp.main.repository;
 
 import in.sp.main.entity.Restaurant;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
+public interface RestaurantRepository extends JpaRepository<Restaurant, Long>, JpaSpecificationExecutor<Restaurant> {
+    
+    String CARD = "SELECT r.id AS id, r.restaurantName AS restaurantName, r.phone AS phone, r.address AS address, " +
+            "r.city AS city, r.state AS state, r.cuisine AS cuisine, r.description AS description, " +
+            "r.logoUrl AS logoUrl, r.coverPhotoUrl AS coverPhotoUrl, r.openingTime AS openingTime, " +
+            "r.closingTime AS closingTime, r.workingDays AS workingDays, r.avgPreparationTime AS avgPreparationTime, " +
+            "r.packagingCharges AS packagingCharges, r.rating AS rating, r.totalReviews AS totalReviews, " +
+            "r.latitude AS latitude, r.longitude AS longitude, r.deliveryOffered AS deliveryOffered, " +
+            "r.isVerified AS isVerified, r.isOpen AS isOpen ";
+    
+    @Query(CARD + "FROM Restaurant r ORDER BY r.restaurantName, r.id")
+    List<RestaurantCard> findCardsOrderByName(Limit limit);
+    
+    @Query(CARD + "FROM Restaurant r WHERE r.restaurantName > :name OR (r.restaurantName = :name AND r.id > :id) " +
+           "ORDER BY r.restaurantName, r.id")
+    List<RestaurantCard> findCardsAfterName(@Param("name") String name, @Param("id") Long id, Limit limit);
+    
+    @Query(CARD + "FROM Restaurant r WHERE r.id IN :ids AND r.isActive = true")
+    List<RestaurantCard> findActiveCardsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(CARD + "FROM Restaurant r WHERE r.city = :city")
+    List<RestaurantCard> findCardsByCity(@Param("city") String city);
+    
+    @Query(CARD + "FROM Restaurant r WHERE r.isVerified = true")
+    List<RestaurantCard> findVerifiedCards();
+    
+    @Query(CARD + "FROM Restaurant r WHERE r.city = :city AND r.isActive = true AND r.isVerified = true")
+    List<RestaurantCard> findActiveVerifiedCardsByCity(@Param("city") String city);
     
     List<Restaurant> findByCity(String city);
     
@@ -26,9 +59,6 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     @Query("SELECT r FROM Restaurant r WHERE r.owner.id = :ownerId")
     List<Restaurant> findByOwnerId(@Param("ownerId") Long ownerId);
     
-    @Query("SELECT r FROM Restaurant r WHERE r.restaurantName LIKE %:name% AND r.isActive = true")
-    List<Restaurant> findByRestaurantNameContaining(@Param("name") String name);
-    
     @Query("SELECT r FROM Restaurant r WHERE r.deliveryOffered = true AND r.isActive = true")
     List<Restaurant> findDeliveryRestaurants();
     
@@ -38,20 +68,13 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     @Query("SELECT r FROM Restaurant r WHERE r.rating >= :minRating AND r.isActive = true ORDER BY r.rating DESC")
     List<Restaurant> findByRatingGreaterThanEqual(@Param("minRating") Double minRating);
     
-    // New methods for dynamic filtering
-    @Query("SELECT r FROM Restaurant r WHERE r.city = :city AND r.rating >= :minRating AND r.isActive = true ORDER BY r.rating DESC")
-    List<Restaurant> findByCityAndRatingGreaterThanEqual(@Param("city") String city, @Param("minRating") Double minRating);
-    
-    @Query("SELECT r FROM Restaurant r WHERE r.city = :city AND r.cuisine = :cuisine AND r.isActive = true")
-    List<Restaurant> findByCityAndCuisine(@Param("city") String city, @Param("cuisine") String cuisine);
-    
-    @Query("SELECT r FROM Restaurant r WHERE r.cuisine = :cuisine AND r.isActive = true")
-    List<Restaurant> findByCuisine(@Param("cuisine") String cuisine);
-    
-    @Query("SELECT r FROM Restaurant r WHERE r.city = :city AND r.cuisine = :cuisine AND r.rating >= :minRating AND r.isActive = true ORDER BY r.rating DESC")
-    List<Restaurant> findByCityAndCuisineAndRatingGreaterThanEqual(@Param("city") String city, @Param("cuisine") String cuisine, @Param("minRating") Double minRating);
-    
     Optional<Restaurant> findByEmail(String email);
     
     boolean existsByEmail(String email);
-} 
\ No newline at end of file
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Restaurant r SET r.isOpen = :open, r.updatedAt = :now "
+            + "WHERE r.id IN :ids AND (r.isOpen IS NULL OR r.isOpen <> :open)")
+    int updateOpenStatus(@Param("ids") Collection<Long> ids, @Param("open") boolean open, @Param("now") LocalDateTime now);
+}
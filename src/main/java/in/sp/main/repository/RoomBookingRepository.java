@@ -2,15 +2,22 @@ package in.sp.main.repository;
 
 import in.sp.main.entity.RoomBooking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface RoomBookingRepository extends JpaRepository<RoomBooking, Long> {
+public interface RoomBookingRepository extends JpaRepository<RoomBooking, Long>, JpaSpecificationExecutor<RoomBooking> {
+    
+    Optional<RoomBooking> findByBookingReference(String bookingReference);
+    
+    @Query("SELECT rb.status FROM RoomBooking rb WHERE rb.id = :id")
+    Optional<RoomBooking.BookingStatus> findStatusById(@Param("id") Long id);
     
     List<RoomBooking> findByUserId(Long userId);
     
@@ -13,6 +13,9 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     
     List<Room> findByHotelId(Long hotelId);
     
+    @Query("SELECT count(r) AS count, max(r.updatedAt) AS lastModified FROM Room r WHERE r.hotel.id = :hotelId")
+    ContentVersion findRoomsVersion(@Param("hotelId") Long hotelId);
+    
     List<Room> findByHotelIdAndIsAvailableTrue(Long hotelId);
     
     List<Room> findByRoomType(String roomType);
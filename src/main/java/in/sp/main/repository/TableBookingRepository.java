@@ -9,10 +9,16 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TableBookingRepository extends JpaRepository<TableBooking, Long> {
     
+    Optional<TableBooking> findByBookingReference(String bookingReference);
+    
+    @Query("SELECT tb.status FROM TableBooking tb WHERE tb.id = :id")
+    Optional<TableBooking.BookingStatus> findStatusById(@Param("id") Long id);
+    
     List<TableBooking> findByUserId(Long userId);
     
     List<TableBooking> findByRestaurantId(Long restaurantId);
@@ -0,0 +1,18 @@
+package in.sp.main.service;
+
+import in.sp.main.event.DomainEvent;
+
+import java.util.Map;
+
+/**
+ * Live counters for the admin dashboard, fed by domain events on every node.
+ */
+public interface ActivityStatsService {
+    
+    void record(DomainEvent event);
+    
+    /**
+     * Events seen since startup, by aggregate and then by new status ({@code CREATED} for new ones).
+     */
+    Map<DomainEvent.Aggregate, Map<String, Long>> getStatusCounts();
+}
@@ -0,0 +1,48 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.CloudKitchen;
+import in.sp.main.entity.Hotel;
+import in.sp.main.entity.MenuItem;
+import in.sp.main.entity.Restaurant;
+
+import java.util.List;
+
+/**
+ * Typeahead suggestions for the search boxes, served from memory.
+ * Suggestions are ranked by how many active listings use the value.
+ */
+public interface AutocompleteService {
+    
+    int MAX_SUGGESTIONS = 10;
+    
+    enum Field {
+        RESTAURANT_CITY,
+        CUISINE,
+        HOTEL_CITY,
+        KITCHEN_CITY,
+        DISH
+    }
+    
+    List<String> suggest(Field field, String prefix, int limit);
+    
+    void indexRestaurant(Restaurant restaurant);
+    
+    void removeRestaurant(Long restaurantId);
+    
+    void indexHotel(Hotel hotel);
+    
+    void removeHotel(Long hotelId);
+    
+    void indexCloudKitchen(CloudKitchen cloudKitchen);
+    
+    void removeCloudKitchen(Long cloudKitchenId);
+    
+    void indexMenuItem(MenuItem menuItem);
+    
+    void removeMenuItem(Long menuItemId);
+    
+    /**
+     * Rebuilds every suggestion list from the database.
+     */
+    void rebuild();
+}
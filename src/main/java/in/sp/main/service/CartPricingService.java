@@ -0,0 +1,44 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.MenuItem;
+import in.sp.main.entity.Restaurant;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prices a food-delivery cart in one round trip: every line's menu item and its restaurant are loaded
+ * together, then subtotal, packaging and total are computed in memory.
+ */
+public interface CartPricingService {
+    
+    /**
+     * One priced cart line; {@code lineTotal} is price times quantity.
+     */
+    record Line(MenuItem menuItem, int quantity, double lineTotal) {
+    }
+    
+    /**
+     * Immutable priced view of a cart. Sold-out dishes are listed apart and left out of every total;
+     * dishes that no longer exist are dropped. Packaging is charged once per restaurant in the cart.
+     *
+     * @param restaurant the first line's restaurant, whose payment details checkout shows; null for an empty cart
+     */
+    record PricedCart(List<Line> lines, List<MenuItem> soldOut, Restaurant restaurant,
+                      double subtotal, double packagingCharges, double total) {
+        
+        public PricedCart {
+            lines = List.copyOf(lines);
+            soldOut = List.copyOf(soldOut);
+        }
+        
+        public boolean isEmpty() {
+            return lines.isEmpty();
+        }
+    }
+    
+    /**
+     * @param quantities menu item id to quantity, in the order lines should be shown
+     */
+    PricedCart price(Map<Long, Integer> quantities);
+}
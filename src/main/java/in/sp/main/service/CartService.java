@@ -0,0 +1,36 @@
+package in.sp.main.service;
+
+import java.util.Map;
+
+/**
+ * Food-delivery carts kept in a {@link CartStore} rather than the HTTP session, with per-cart limits
+ * and an idle expiry that every change pushes back.
+ */
+public interface CartService {
+    
+    /**
+     * Menu item id to quantity, in the order dishes were first added.
+     */
+    Map<Long, Integer> getItems(String cartKey);
+    
+    /**
+     * Number of distinct dishes in the cart.
+     */
+    int count(String cartKey);
+    
+    /**
+     * @throws IllegalArgumentException if the cart would exceed its dish or quantity limit
+     */
+    void add(String cartKey, Long menuItemId, int quantity);
+    
+    /**
+     * Sets a dish's quantity; zero or less removes it.
+     *
+     * @throws IllegalArgumentException if the quantity exceeds the per-dish limit
+     */
+    void setQuantity(String cartKey, Long menuItemId, int quantity);
+    
+    void remove(String cartKey, Long menuItemId);
+    
+    void clear(String cartKey);
+}
@@ -0,0 +1,34 @@
+package in.sp.main.service;
+
+import in.sp.main.util.LongIntMap;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Storage SPI for food-delivery carts, each a map of menu item id to quantity under a cart key.
+ * {@code cart.store=memory} (the default) keeps carts on the node; {@code cart.store=jdbc} keeps them in
+ * the database so they survive restarts and are shared by every node.
+ */
+public interface CartStore {
+    
+    /**
+     * A copy of the cart; empty if there is none or it has expired.
+     */
+    LongIntMap find(String cartKey);
+    
+    /**
+     * Applies the change to the stored cart atomically and stores the result until {@code expiresAt}.
+     * A cart left empty is deleted. If the change throws, the stored cart is left as it was.
+     *
+     * @return a copy of the cart after the change
+     */
+    LongIntMap update(String cartKey, Consumer<LongIntMap> change, Instant expiresAt);
+    
+    void delete(String cartKey);
+    
+    /**
+     * @return the number of carts removed
+     */
+    int evictExpired();
+}
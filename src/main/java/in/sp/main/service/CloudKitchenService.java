@@ -1,6 +1,7 @@
 package in.sp.main.service;
 
 import in.sp.main.entity.CloudKitchen;
+import in.sp.main.repository.KitchenCard;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,14 +18,23 @@ public interface CloudKitchenService {
     
     List<CloudKitchen> findByCity(String city);
     
+    List<KitchenCard> findCardsByCity(String city);
+    
     List<CloudKitchen> findByOwnerId(Long ownerId);
     
-    List<CloudKitchen> findActiveVerifiedByCity(String city);
+    List<KitchenCard> findActiveVerifiedByCity(String city);
     
     List<CloudKitchen> findByKitchenNameContaining(String name);
     
+    /**
+     * Cloud kitchens whose delivery radius covers the given point, nearest first.
+     */
+    List<KitchenCard> findDeliveringTo(double latitude, double longitude, Double maxDistanceKm);
+    
     List<CloudKitchen> findByIsVerified(boolean isVerified);
     void verifyCloudKitchen(Long kitchenId);
     void rejectCloudKitchen(Long kitchenId);
     List<CloudKitchen> findByIsVerifiedTrue();
+    
+    List<KitchenCard> findActiveVerifiedCards();
 } 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.FoodOrder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public interface DeliveryEtaService {
+    
+    /**
+     * What the estimates for one restaurant are currently based on.
+     *
+     * @param preparing orders the kitchen is working on right now
+     */
+    record Estimates(Duration preparation, Duration delivery, int preparing, long preparationSamples, long deliverySamples) {
+    }
+    
+    /**
+     * Expected delivery time of an order at the restaurant that enters {@code status} at {@code at}, or null
+     * once the order is delivered or cancelled.
+     * Works from in-memory averages and queue depth only.
+     */
+    LocalDateTime estimate(Long restaurantId, FoodOrder.OrderStatus status, LocalDateTime at);
+    
+    /**
+     * Uses the owner's stated average preparation time for a restaurant until real orders have been timed.
+     */
+    void seedPreparationTime(Long restaurantId, Integer minutes);
+    
+    Estimates getEstimates(Long restaurantId);
+}
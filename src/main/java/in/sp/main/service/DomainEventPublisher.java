@@ -0,0 +1,16 @@
+package in.sp.main.service;
+
+import in.sp.main.event.DomainEvent;
+
+/**
+ * Publishes order, booking and subscription events to Kafka, or delivers them in-process when Kafka
+ * is disabled. Either way delivery happens off the caller's thread, after its transaction commits.
+ */
+public interface DomainEventPublisher {
+    
+    /**
+     * Sends the event once the current transaction commits (dropped if it rolls back), or straight away
+     * outside a transaction. Only blocks on the broker when the dispatch queue is full.
+     */
+    void publish(DomainEvent event);
+}
@@ -1,9 +1,12 @@
 package in.sp.main.service;
 
 import in.sp.main.entity.FoodOrder;
+import in.sp.main.repository.FoodOrderState;
+import in.sp.main.util.KeysetPage;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface FoodOrderService {
     
@@ -11,16 +14,50 @@ public interface FoodOrderService {
     
     Optional<FoodOrder> findById(Long id);
     
+    /**
+     * The order's status, version, ETA and owning ids, read without loading the order itself.
+     */
+    Optional<FoodOrderState> findState(Long id);
+    
     FoodOrder createOrder(FoodOrder order);
     
+    /**
+     * Saves a loaded order, checking its version; prefer {@link #transitionStatus} for status-only changes.
+     *
+     * @throws IllegalStateException if the status change is not allowed, or the order was changed since it was loaded
+     */
     FoodOrder updateOrder(FoodOrder order);
     
+    /**
+     * Moves an order to {@code next} if its current status allows it, with a conditional update that
+     * is retried when another writer changed the order first. Returns false if it already had that status.
+     *
+     * @throws IllegalArgumentException if there is no such order
+     * @throws IllegalStateException if the transition is not allowed, or the order kept changing underneath
+     */
+    boolean transitionStatus(Long orderId, FoodOrder.OrderStatus next);
+    
+    /**
+     * As {@link #transitionStatus(Long, FoodOrder.OrderStatus)}, but only from one of the {@code from} statuses.
+     */
+    boolean transitionStatus(Long orderId, Set<FoodOrder.OrderStatus> from, FoodOrder.OrderStatus next);
+    
     void deleteOrder(Long id);
     
     List<FoodOrder> findByUserId(Long userId);
     
     List<FoodOrder> findByRestaurantId(Long restaurantId);
     
+    /**
+     * The given orders with customer and items loaded, in the order of {@code ids}; missing ids are skipped.
+     */
+    List<FoodOrder> findAllWithItems(List<Long> ids);
+    
+    /**
+     * Newest-first page of a restaurant's orders in the given statuses, with customer and items loaded.
+     */
+    KeysetPage<FoodOrder> findHistoryPage(Long restaurantId, Set<FoodOrder.OrderStatus> statuses, String cursor, Integer size);
+    
     List<FoodOrder> findByStatus(FoodOrder.OrderStatus status);
     
     List<FoodOrder> findByUserIdAndStatus(Long userId, FoodOrder.OrderStatus status);
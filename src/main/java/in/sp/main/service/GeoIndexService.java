@@ -0,0 +1,39 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.CloudKitchen;
+import in.sp.main.entity.Restaurant;
+import in.sp.main.util.GeoGridIndex;
+
+import java.util.List;
+
+/**
+ * "Who delivers to me" lookups for restaurants and cloud kitchens.
+ * Results are ids with their distance from the customer, nearest first.
+ */
+public interface GeoIndexService {
+    
+    int MAX_RESULTS = 100;
+    
+    /** Radius used when a place delivers but has not set one. */
+    double DEFAULT_DELIVERY_RADIUS_KM = 5.0;
+    
+    /** Upper bound on any configured radius so one entry cannot cover a whole region. */
+    double MAX_DELIVERY_RADIUS_KM = 50.0;
+    
+    List<GeoGridIndex.Match> findRestaurantsDeliveringTo(double latitude, double longitude, Double maxDistanceKm);
+    
+    List<GeoGridIndex.Match> findCloudKitchensDeliveringTo(double latitude, double longitude, Double maxDistanceKm);
+    
+    void indexRestaurant(Restaurant restaurant);
+    
+    void removeRestaurant(Long restaurantId);
+    
+    void indexCloudKitchen(CloudKitchen cloudKitchen);
+    
+    void removeCloudKitchen(Long cloudKitchenId);
+    
+    /**
+     * Rebuilds both indexes from the database.
+     */
+    void rebuild();
+}
@@ -1,6 +1,8 @@
 package in.sp.main.service;
 
 import in.sp.main.entity.Hotel;
+import in.sp.main.repository.HotelCard;
+import in.sp.main.util.KeysetPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,6 +11,11 @@ public interface HotelService {
     
     List<Hotel> findAll();
     
+    /**
+     * All hotels ordered by name, one keyset page at a time.
+     */
+    KeysetPage<HotelCard> findPage(String cursor, Integer size);
+    
     Optional<Hotel> findById(Long id);
     
     Hotel save(Hotel hotel);
@@ -17,11 +24,13 @@ public interface HotelService {
     
     List<Hotel> findByCity(String city);
     
+    List<HotelCard> findCardsByCity(String city);
+    
     List<Hotel> findByOwnerId(Long ownerId);
     
     List<Hotel> findByRatingGreaterThan(Double rating);
     
-    List<Hotel> findActiveVerifiedByCity(String city);
+    List<HotelCard> findActiveVerifiedByCity(String city);
     
     List<Hotel> findByHotelNameContaining(String name);
     
@@ -29,4 +38,8 @@ public interface HotelService {
     void verifyHotel(Long hotelId);
     void rejectHotel(Long hotelId);
     List<Hotel> findByIsVerifiedTrue();
+    
+    List<HotelCard> findAllCards();
+    
+    List<HotelCard> findActiveVerifiedCards();
 } 
\ No newline at end of file
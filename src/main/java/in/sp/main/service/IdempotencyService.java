@@ -0,0 +1,27 @@
+package in.sp.main.service;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per idempotency key. A retry with the same key gets the original
+ * result instead of repeating the writes: from an in-memory window on this node, or from the
+ * idempotency key table, whose claim row commits together with the request's own writes.
+ */
+public interface IdempotencyService {
+    
+    int MAX_KEY_LENGTH = 100;
+    
+    /**
+     * Runs {@code action} unless a request with the same scope and key already ran, in which case its
+     * stored result is decoded and returned. A request that fails leaves no trace, so its retry runs
+     * afresh. Without a key the action simply runs.
+     *
+     * @param scope  who and what the key belongs to, e.g. the endpoint and user id
+     * @param encode turns the action's value into the short text stored for replays, such as its ids
+     * @param decode rebuilds a value from that text
+     * @throws IllegalArgumentException if the key is longer than {@link #MAX_KEY_LENGTH}
+     * @throws IllegalStateException if the original request is still running after the wait timeout
+     */
+    <T> T execute(String scope, String key, Supplier<T> action, Function<T, String> encode, Function<String, T> decode);
+}
@@ -0,0 +1,38 @@
+package in.sp.main.service;
+
+import in.sp.main.repository.HotelCard;
+import in.sp.main.repository.KitchenCard;
+import in.sp.main.repository.RestaurantCard;
+import in.sp.main.util.CityListingCache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-city snapshots of the active, verified listings shown on the browse pages.
+ * A snapshot is evicted whenever a listing in its city changes.
+ */
+public interface ListingCacheService {
+    
+    int MAX_CITIES = 500;
+    
+    List<RestaurantCard> getRestaurants(String city, Supplier<List<RestaurantCard>> loader);
+    
+    List<HotelCard> getHotels(String city, Supplier<List<HotelCard>> loader);
+    
+    List<KitchenCard> getCloudKitchens(String city, Supplier<List<KitchenCard>> loader);
+    
+    void evictRestaurant(Long restaurantId, String city);
+    
+    void evictHotel(Long hotelId, String city);
+    
+    void evictCloudKitchen(Long cloudKitchenId, String city);
+    
+    void evictAll();
+    
+    /**
+     * Hit, miss, eviction and invalidation counters keyed by listing type.
+     */
+    Map<String, CityListingCache.Stats> getStats();
+}
@@ -1,6 +1,7 @@
 package in.sp.main.service;
 
 import in.sp.main.entity.MealPlan;
+import in.sp.main.repository.ContentVersion;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +18,8 @@ public interface MealPlanService {
     
     List<MealPlan> findByCloudKitchenId(Long cloudKitchenId);
     
+    ContentVersion getMealPlansVersion(Long cloudKitchenId);
+    
     List<MealPlan> findByCloudKitchenIdAndIsAvailableTrue(Long cloudKitchenId);
     
     List<MealPlan> findByPriceRange(Double minPrice, Double maxPrice);
@@ -0,0 +1,45 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.MenuCategory;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Per-restaurant menu categories with their display order and item counts.
+ * Counts are adjusted as items are saved and deleted rather than counted on read; bulk writes
+ * call {@link #recount} once afterwards.
+ */
+public interface MenuCategoryService {
+    
+    /**
+     * Categories of the restaurant in display order, including ones that currently have no items.
+     */
+    List<MenuCategory> findByRestaurantId(Long restaurantId);
+    
+    Optional<MenuCategory> findByRestaurantIdAndName(Long restaurantId, String name);
+    
+    /**
+     * Finds the restaurant's category with this name, creating it at the end of the order if missing.
+     *
+     * @return null for a blank name, which leaves the item uncategorized
+     */
+    MenuCategory resolve(Long restaurantId, String name);
+    
+    /**
+     * Moves one item's count from one category to another; either side may be null.
+     */
+    void moveItem(Long fromCategoryId, Long toCategoryId);
+    
+    void recount(Long restaurantId);
+    
+    /**
+     * Gives the listed categories positions 0, 1, 2, ... in that order; ids not owned by the restaurant are ignored.
+     */
+    void reorder(Long restaurantId, List<Long> categoryIds);
+    
+    /**
+     * Links items saved before categories were normalized to their category rows.
+     */
+    void backfill();
+}
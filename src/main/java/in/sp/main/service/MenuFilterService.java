@@ -0,0 +1,46 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.MenuItem;
+import in.sp.main.util.MenuSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tag and food-type filtering of dishes within a restaurant or across a city, answered from an
+ * in-memory bitset index.
+ */
+public interface MenuFilterService {
+    
+    int DEFAULT_LIMIT = 50;
+    int MAX_LIMIT = 200;
+    
+    /**
+     * Dishes carrying all of {@code tags} (or any of them when {@code matchAll} is false) and one of
+     * {@code foodTypes} when given. Exactly one of {@code restaurantId} and {@code city} scopes the search;
+     * the restaurant wins if both are given.
+     */
+    List<MenuSnapshot.Item> filter(Long restaurantId, String city, Collection<String> tags, boolean matchAll,
+                                   Collection<MenuItem.FoodType> foodTypes, boolean availableOnly, Integer limit);
+    
+    /**
+     * Every tag in the dictionary, normalized.
+     */
+    Set<String> getTags();
+    
+    void indexMenuItem(Long menuItemId);
+    
+    void removeMenuItem(Long menuItemId);
+    
+    /**
+     * Re-reads all of the restaurant's items, e.g. after a bulk write.
+     */
+    void indexRestaurant(Long restaurantId);
+    
+    void updateRestaurantCity(Long restaurantId, String city);
+    
+    void removeRestaurant(Long restaurantId);
+    
+    void rebuild();
+}
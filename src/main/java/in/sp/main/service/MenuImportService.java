@@ -0,0 +1,49 @@
+package in.sp.main.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Bulk menu onboarding from a CSV or JSON upload.
+ * Rows are parsed and validated as they are read and written in JDBC batches, so an import of
+ * thousands of dishes costs a handful of round trips instead of one insert per dish.
+ * Invalid rows are skipped and reported; valid rows are imported regardless.
+ */
+public interface MenuImportService {
+    
+    /** Caps the per-row errors returned; the failed count still covers every bad row. */
+    int MAX_REPORTED_ERRORS = 200;
+    
+    enum Format {
+        CSV, JSON;
+        
+        /**
+         * Picks the format from the file name, falling back to the content type; CSV when neither says.
+         */
+        public static Format detect(String filename, String contentType) {
+            String name = filename != null ? filename.toLowerCase() : "";
+            String type = contentType != null ? contentType.toLowerCase() : "";
+            if (name.endsWith(".json") || (!name.endsWith(".csv") && type.contains("json"))) {
+                return JSON;
+            }
+            return CSV;
+        }
+    }
+    
+    /**
+     * @param row 1-based data row for JSON, or the line the record starts on for CSV
+     */
+    record RowError(long row, String message) {
+    }
+    
+    record ImportReport(int imported, int failed, List<RowError> errors) {
+    }
+    
+    /**
+     * Imports menu items for the restaurant. CSV input needs a header row naming the columns
+     * ({@code dishName, description, price, category, foodType, tags, available, imageUrl}, any order,
+     * case and underscores ignored); JSON input is an array of objects with the same keys.
+     */
+    ImportReport importMenu(Long restaurantId, InputStream input, Format format) throws IOException;
+}
@@ -1,7 +1,9 @@
 package in.sp.main.service;
 
 import in.sp.main.entity.MenuItem;
+import in.sp.main.util.KeysetPage;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +11,11 @@ public interface MenuItemService {
     
     List<MenuItem> findAll();
     
+    /**
+     * Menu items ordered by dish name, optionally limited to one restaurant.
+     */
+    KeysetPage<MenuItem> findPage(Long restaurantId, String cursor, Integer size);
+    
     Optional<MenuItem> findById(Long id);
     
     MenuItem save(MenuItem menuItem);
@@ -22,4 +29,21 @@ public interface MenuItemService {
     List<MenuItem> findByCategory(String category);
     
     List<MenuItem> findByRestaurantIdAndCategory(Long restaurantId, String category);
-} 
\ No newline at end of file
+    
+    List<MenuItem> findByRestaurantIdAndDishNameContaining(Long restaurantId, String dishName);
+    
+    /**
+     * Marks the restaurant's listed items available or sold out in one update; ids of other restaurants are ignored.
+     * The restaurant's menu snapshot is rebuilt before returning, so menus and carts see the change at once.
+     *
+     * @return the number of items whose availability changed
+     */
+    int updateAvailability(Long restaurantId, Collection<Long> menuItemIds, boolean available);
+    
+    int updateAvailabilityByCategory(Long restaurantId, String category, boolean available);
+    
+    /**
+     * Tags are matched case-insensitively against each item's comma-separated tags.
+     */
+    int updateAvailabilityByTag(Long restaurantId, String tag, boolean available);
+}
@@ -0,0 +1,26 @@
+package in.sp.main.service;
+
+import in.sp.main.util.MenuSnapshot;
+
+import java.util.Optional;
+
+/**
+ * In-memory menu per restaurant, served without touching the database once loaded.
+ * A snapshot is built on first read and replaced whole whenever the menu changes.
+ */
+public interface MenuSnapshotService {
+    
+    MenuSnapshot getMenu(Long restaurantId);
+    
+    /**
+     * Looks a single item up in its restaurant's snapshot, e.g. to see whether it can still be ordered.
+     */
+    Optional<MenuSnapshot.Item> findItem(Long menuItemId);
+    
+    /**
+     * Rebuilds the restaurant's snapshot from the database and swaps it in under a newer version.
+     */
+    void refresh(Long restaurantId);
+    
+    void evict(Long restaurantId);
+}
@@ -0,0 +1,11 @@
+package in.sp.main.service;
+
+import in.sp.main.event.DomainEvent;
+
+/**
+ * Tells customers about their orders, bookings and subscriptions. Called once per event across all nodes.
+ */
+public interface NotificationService {
+    
+    void notify(DomainEvent event);
+}
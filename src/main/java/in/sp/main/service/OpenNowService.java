@@ -0,0 +1,37 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.Restaurant;
+
+import java.util.Set;
+
+/**
+ * In-memory view of which restaurants are open right now.
+ * Opening hours are parsed into weekly schedules and a once-a-minute tick flips {@code isOpen}
+ * at each boundary. Owners can still open or close manually; that holds until the next boundary.
+ * Every node keeps its own view and runs its own tick, so there is no single runner to elect; the
+ * database write at a boundary only touches rows not yet flipped, so the first node to reach it does
+ * the work and the rest match nothing.
+ */
+public interface OpenNowService {
+    
+    boolean isOpen(Long restaurantId);
+    
+    /**
+     * Ids of the restaurants open now in the city (case-insensitive).
+     */
+    Set<Long> findOpenInCity(String city);
+    
+    void indexRestaurant(Restaurant restaurant);
+    
+    void removeRestaurant(Long restaurantId);
+    
+    /**
+     * Applies every open/close boundary passed since the previous tick.
+     */
+    void tick();
+    
+    /**
+     * Reloads all schedules and brings {@code isOpen} in line with them.
+     */
+    void rebuild();
+}
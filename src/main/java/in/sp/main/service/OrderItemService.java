@@ -1,6 +1,7 @@
 package in.sp.main.service;
 
 import in.sp.main.entity.OrderItem;
+import in.sp.main.util.KeysetPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,6 +10,11 @@ public interface OrderItemService {
     
     List<OrderItem> findAll();
     
+    /**
+     * Order items newest first, optionally limited to one restaurant or one customer.
+     */
+    KeysetPage<OrderItem> findPage(Long restaurantId, Long userId, String cursor, Integer size);
+    
     Optional<OrderItem> findById(Long id);
     
     OrderItem save(OrderItem orderItem);
@@ -0,0 +1,26 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.entity.User;
+
+import java.util.List;
+
+/**
+ * Turns a food-delivery cart into orders. The cart is priced, each order is written with its totals
+ * and all its items are batch-inserted in one transaction; the cart is cleared only once that commits.
+ * A cart holding dishes from several restaurants becomes one order per restaurant.
+ */
+public interface OrderPlacementService {
+    
+    /**
+     * Flat delivery charge added to every order.
+     */
+    double getDeliveryFee();
+    
+    /**
+     * @return the placed orders, in the order their restaurants first appear in the cart
+     * @throws IllegalArgumentException if no delivery address is given
+     * @throws IllegalStateException if the cart is empty, holds sold-out dishes or a restaurant is closed
+     */
+    List<FoodOrder> placeOrder(String cartKey, User user, String deliveryAddress, String paymentMethod);
+}
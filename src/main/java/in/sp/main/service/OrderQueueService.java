@@ -0,0 +1,27 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.util.OrderQueueBoard;
+
+import java.util.List;
+import java.util.Map;
+
+public interface OrderQueueService {
+    
+    /**
+     * A restaurant's orders that are neither delivered nor cancelled, by status, each list oldest first.
+     */
+    Map<FoodOrder.OrderStatus, List<OrderQueueBoard.Entry>> getActiveOrders(Long restaurantId);
+    
+    /**
+     * Ids of a restaurant's active orders in one status, or in every active status when {@code status} is null.
+     */
+    List<Long> getActiveOrderIds(Long restaurantId, FoodOrder.OrderStatus status);
+    
+    int countActive(Long restaurantId, FoodOrder.OrderStatus status);
+    
+    /**
+     * Changes whenever the restaurant's active orders do.
+     */
+    long getRevision(Long restaurantId);
+}
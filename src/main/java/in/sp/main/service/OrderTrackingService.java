@@ -0,0 +1,37 @@
+package in.sp.main.service;
+
+import in.sp.main.repository.FoodOrderState;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+
+public interface OrderTrackingService {
+    
+    /**
+     * What a tracking page shows. {@code version} only grows, so a client can drop an update older
+     * than the one it already has.
+     */
+    record TrackingUpdate(Long orderId, String orderNumber, String status, LocalDateTime estimatedDeliveryTime, long version) {
+        
+        public static TrackingUpdate of(FoodOrderState state) {
+            return new TrackingUpdate(state.getId(), state.getOrderNumber(), state.getStatus().name(),
+                    state.getEstimatedDeliveryTime(), state.getVersion());
+        }
+    }
+    
+    /**
+     * Opens a server-sent event stream for the order: its current state first, then each status or ETA
+     * change, until it is delivered or cancelled or the stream times out and the browser reconnects.
+     */
+    SseEmitter subscribe(Long orderId);
+    
+    /**
+     * Re-reads the order and sends it to everyone watching it on this node; does nothing if nobody is.
+     */
+    void push(Long orderId);
+    
+    /**
+     * Open streams on this node.
+     */
+    int getWatcherCount();
+}
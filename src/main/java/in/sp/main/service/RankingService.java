@@ -0,0 +1,54 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.Restaurant;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Relevance ranking for restaurant listings.
+ * Each restaurant carries a score blending rating, review count, preparation time, packaging charges,
+ * open status and order volume over the last {@link #RECENT_ORDER_DAYS} days, with weights taken from
+ * the {@code ranking.weight.*} properties. Scores are recomputed per restaurant when one of those inputs
+ * changes.
+ */
+public interface RankingService {
+    
+    int RECENT_ORDER_DAYS = 7;
+    
+    /**
+     * Immutable snapshot of a restaurant's filterable fields and its current score.
+     * {@code listed} is true when the restaurant is active and verified.
+     */
+    record Ranked(Long id, String city, String cuisine, double rating, boolean listed, double score) {
+    }
+    
+    /**
+     * Ids of the best {@code limit} restaurants that pass the filter, highest score first
+     * (ties broken by id).
+     */
+    List<Long> topRestaurantIds(Predicate<Ranked> filter, int limit);
+    
+    Double getScore(Long restaurantId);
+    
+    void indexRestaurant(Restaurant restaurant);
+    
+    void removeRestaurant(Long restaurantId);
+    
+    void updateOpen(Long restaurantId, boolean open);
+    
+    void recordOrder(Long restaurantId);
+    
+    /**
+     * Takes a cancelled order back out of the count for the day it was placed.
+     */
+    void removeOrder(Long restaurantId, LocalDate placedOn);
+    
+    /**
+     * Rescores every restaurant so that order counts older than the window drop out.
+     */
+    void recomputeAll();
+    
+    void rebuild();
+}
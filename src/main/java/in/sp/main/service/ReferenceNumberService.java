@@ -0,0 +1,27 @@
+package in.sp.main.service;
+
+/**
+ * Human-readable, time-ordered reference numbers for orders, bookings and subscriptions, generated in
+ * memory without a database round trip and unique across nodes with distinct node ids.
+ */
+public interface ReferenceNumberService {
+    
+    enum Kind {
+        FOOD_ORDER("FD"), ROOM_BOOKING("RB"), TABLE_BOOKING("TB"), SUBSCRIPTION("CK");
+        
+        private final String prefix;
+        
+        Kind(String prefix) {
+            this.prefix = prefix;
+        }
+        
+        public String getPrefix() {
+            return prefix;
+        }
+    }
+    
+    /**
+     * @return e.g. {@code FD-01HV3K9Q2M7XZ}
+     */
+    String next(Kind kind);
+}
@@ -0,0 +1,18 @@
+package in.sp.main.service;
+
+import in.sp.main.repository.RestaurantCard;
+import org.springframework.data.domain.Slice;
+
+public interface RestaurantSearchService {
+    
+    int DEFAULT_PAGE_SIZE = 12;
+    
+    int MAX_PAGE_SIZE = 50;
+    
+    /**
+     * Searches active, verified restaurants by any combination of city, cuisine and minimum rating.
+     * Blank filters are ignored and text filters are case-insensitive. Results are ordered by
+     * relevance score (see {@link RankingService}), highest first.
+     */
+    Slice<RestaurantCard> search(String city, String cuisine, Double minRating, int page, int size);
+}
@@ -1,6 +1,8 @@
 package in.sp.main.service;
 
 import in.sp.main.entity.Restaurant;
+import in.sp.main.repository.RestaurantCard;
+import in.sp.main.util.KeysetPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,6 +11,11 @@ public interface RestaurantService {
     
     List<Restaurant> findAll();
     
+    /**
+     * All restaurants ordered by name, one keyset page at a time.
+     */
+    KeysetPage<RestaurantCard> findPage(String cursor, Integer size);
+    
     Optional<Restaurant> findById(Long id);
     
     Restaurant save(Restaurant restaurant);
@@ -17,26 +24,26 @@ public interface RestaurantService {
     
     List<Restaurant> findByCity(String city);
     
+    List<RestaurantCard> findCardsByCity(String city);
+    
     List<Restaurant> findByOwnerId(Long ownerId);
     
-    List<Restaurant> findActiveVerifiedByCity(String city);
+    List<RestaurantCard> findActiveVerifiedByCity(String city);
     
     List<Restaurant> findByRestaurantNameContaining(String name);
     
     List<Restaurant> findDeliveryRestaurants();
     
+    /**
+     * Restaurants whose delivery radius covers the given point, nearest first.
+     */
+    List<RestaurantCard> findDeliveringTo(double latitude, double longitude, Double maxDistanceKm);
+    
     List<Restaurant> findDeliveryRestaurantsByCity(String city);
     
     List<Restaurant> findByRatingGreaterThanEqual(Double minRating);
     
     List<Restaurant> findByIsVerifiedTrue();
     
-    // New methods for dynamic filtering
-    List<Restaurant> findByCityAndRatingGreaterThanEqual(String city, Double minRating);
-    
-    List<Restaurant> findByCityAndCuisine(String city, String cuisine);
-    
-    List<Restaurant> findByCuisine(String cuisine);
-    
-    List<Restaurant> findByCityAndCuisineAndRatingGreaterThanEqual(String city, String cuisine, Double minRating);
-} 
\ No newline at end of file
+    List<RestaurantCard> findVerifiedCards();
+}
\ No newline at end of file
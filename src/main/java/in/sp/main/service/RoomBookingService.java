@@ -1,6 +1,7 @@
 package in.sp.main.service;
 
 import in.sp.main.entity.RoomBooking;
+import in.sp.main.util.KeysetPage;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -10,6 +11,11 @@ public interface RoomBookingService {
     
     List<RoomBooking> findAll();
     
+    /**
+     * Room bookings by latest check-in first, optionally limited to one guest, room or hotel.
+     */
+    KeysetPage<RoomBooking> findPage(Long userId, Long roomId, Long hotelId, String cursor, Integer size);
+    
     Optional<RoomBooking> findById(Long id);
     
     RoomBooking createBooking(RoomBooking booking);
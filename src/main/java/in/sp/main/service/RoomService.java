@@ -1,6 +1,7 @@
 package in.sp.main.service;
 
 import in.sp.main.entity.Room;
+import in.sp.main.repository.ContentVersion;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +18,8 @@ public interface RoomService {
     
     List<Room> findByHotelId(Long hotelId);
     
+    ContentVersion getRoomsVersion(Long hotelId);
+    
     List<Room> findByHotelIdAndIsAvailableTrue(Long hotelId);
     
     List<Room> findByRoomType(String roomType);
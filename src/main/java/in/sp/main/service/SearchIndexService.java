@@ -0,0 +1,46 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.CloudKitchen;
+import in.sp.main.entity.Hotel;
+import in.sp.main.entity.MenuItem;
+import in.sp.main.entity.Restaurant;
+
+import java.util.List;
+
+/**
+ * In-process name search for restaurants, hotels, cloud kitchens and dishes.
+ * Searches return ids ranked best match first; callers batch-load the entities.
+ */
+public interface SearchIndexService {
+    
+    int MAX_RESULTS = 100;
+    
+    List<Long> searchRestaurants(String name);
+    
+    List<Long> searchHotels(String name);
+    
+    List<Long> searchCloudKitchens(String name);
+    
+    List<Long> searchMenuItems(Long restaurantId, String dishName);
+    
+    void indexRestaurant(Restaurant restaurant);
+    
+    void removeRestaurant(Long restaurantId);
+    
+    void indexHotel(Hotel hotel);
+    
+    void removeHotel(Long hotelId);
+    
+    void indexCloudKitchen(CloudKitchen cloudKitchen);
+    
+    void removeCloudKitchen(Long cloudKitchenId);
+    
+    void indexMenuItem(MenuItem menuItem);
+    
+    void removeMenuItem(Long menuItemId);
+    
+    /**
+     * Rebuilds every index from the database.
+     */
+    void rebuild();
+}
@@ -0,0 +1,41 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.event.DomainEvent;
+import in.sp.main.service.ActivityStatsService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class ActivityStatsServiceImpl implements ActivityStatsService {
+    
+    private final Map<DomainEvent.Aggregate, Map<String, LongAdder>> counts = new ConcurrentHashMap<>();
+    
+    @EventListener
+    @Override
+    public void record(DomainEvent event) {
+        String status = event.type() == DomainEvent.Type.CREATED ? DomainEvent.Type.CREATED.name() : event.status();
+        if (status == null) {
+            return;
+        }
+        counts.computeIfAbsent(event.aggregate(), a -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, s -> new LongAdder())
+                .increment();
+    }
+    
+    @Override
+    public Map<DomainEvent.Aggregate, Map<String, Long>> getStatusCounts() {
+        Map<DomainEvent.Aggregate, Map<String, Long>> snapshot = new EnumMap<>(DomainEvent.Aggregate.class);
+        counts.forEach((aggregate, byStatus) -> {
+            Map<String, Long> values = new TreeMap<>();
+            byStatus.forEach((status, count) -> values.put(status, count.sum()));
+            snapshot.put(aggregate, values);
+        });
+        return snapshot;
+    }
+}
@@ -0,0 +1,222 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.CloudKitchen;
+import in.sp.main.entity.Hotel;
+import in.sp.main.entity.MenuItem;
+import in.sp.main.entity.Restaurant;
+import in.sp.main.event.CloudKitchenChangedEvent;
+import in.sp.main.event.HotelChangedEvent;
+import in.sp.main.event.MenuChangedEvent;
+import in.sp.main.event.RestaurantChangedEvent;
+import in.sp.main.repository.CloudKitchenRepository;
+import in.sp.main.repository.HotelRepository;
+import in.sp.main.repository.MenuItemRepository;
+import in.sp.main.repository.RestaurantRepository;
+import in.sp.main.service.AutocompleteService;
+import in.sp.main.util.PrefixTrie;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AutocompleteServiceImpl implements AutocompleteService {
+    
+    private final RestaurantRepository restaurantRepository;
+    private final HotelRepository hotelRepository;
+    private final CloudKitchenRepository cloudKitchenRepository;
+    private final MenuItemRepository menuItemRepository;
+    
+    private final Map<Field, PrefixTrie> tries = perField(() -> new PrefixTrie(MAX_SUGGESTIONS));
+    // Values each entity currently contributes, so a save can retract the old ones
+    private final Map<Field, Map<Long, List<String>>> contributions = perField(ConcurrentHashMap::new);
+    // Menu items are removed with their restaurant by cascade, without passing through MenuItemService
+    private final Map<Long, Long> menuItemRestaurants = new ConcurrentHashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+    
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        for (Field field : Field.values()) {
+            tries.get(field).clear();
+            contributions.get(field).clear();
+        }
+        menuItemRestaurants.clear();
+        restaurantRepository.findByIsActiveTrue().forEach(this::indexRestaurant);
+        hotelRepository.findByIsActiveTrue().forEach(this::indexHotel);
+        cloudKitchenRepository.findByIsActiveTrue().forEach(this::indexCloudKitchen);
+        menuItemRepository.findAll().forEach(this::indexMenuItem);
+        log.info("Autocomplete built in {} ms", System.currentTimeMillis() - start);
+    }
+    
+    @Override
+    public List<String> suggest(Field field, String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return tries.get(field).complete(prefix, limit);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeRestaurant(event.restaurantId());
+            } else {
+                indexRestaurant(event.restaurant());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the autocomplete index for restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        try {
+            event.saved().forEach(this::indexMenuItem);
+            event.removed().forEach(this::removeMenuItem);
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the autocomplete index for menu of restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeHotel(event.hotelId());
+            } else {
+                indexHotel(event.hotel());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the autocomplete index for hotel {}", event.hotelId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCloudKitchenChanged(CloudKitchenChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeCloudKitchen(event.cloudKitchenId());
+            } else {
+                indexCloudKitchen(event.cloudKitchen());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the autocomplete index for cloud kitchen {}", event.cloudKitchenId(), e);
+        }
+    }
+    
+    @Override
+    public void indexRestaurant(Restaurant restaurant) {
+        if (restaurant.getId() == null) {
+            return;
+        }
+        boolean active = restaurant.isActive();
+        contribute(Field.RESTAURANT_CITY, restaurant.getId(), active ? values(restaurant.getCity()) : List.of());
+        contribute(Field.CUISINE, restaurant.getId(), active ? splitCuisines(restaurant.getCuisine()) : List.of());
+    }
+    
+    @Override
+    public void removeRestaurant(Long restaurantId) {
+        contribute(Field.RESTAURANT_CITY, restaurantId, List.of());
+        contribute(Field.CUISINE, restaurantId, List.of());
+        menuItemRestaurants.entrySet().removeIf(entry -> {
+            if (entry.getValue().equals(restaurantId)) {
+                contribute(Field.DISH, entry.getKey(), List.of());
+                return true;
+            }
+            return false;
+        });
+    }
+    
+    @Override
+    public void indexHotel(Hotel hotel) {
+        if (hotel.getId() == null) {
+            return;
+        }
+        contribute(Field.HOTEL_CITY, hotel.getId(), hotel.isActive() ? values(hotel.getCity()) : List.of());
+    }
+    
+    @Override
+    public void removeHotel(Long hotelId) {
+        contribute(Field.HOTEL_CITY, hotelId, List.of());
+    }
+    
+    @Override
+    public void indexCloudKitchen(CloudKitchen cloudKitchen) {
+        if (cloudKitchen.getId() == null) {
+            return;
+        }
+        contribute(Field.KITCHEN_CITY, cloudKitchen.getId(), cloudKitchen.isActive() ? values(cloudKitchen.getCity()) : List.of());
+    }
+    
+    @Override
+    public void removeCloudKitchen(Long cloudKitchenId) {
+        contribute(Field.KITCHEN_CITY, cloudKitchenId, List.of());
+    }
+    
+    @Override
+    public void indexMenuItem(MenuItem menuItem) {
+        if (menuItem.getId() == null) {
+            return;
+        }
+        contribute(Field.DISH, menuItem.getId(), values(menuItem.getDishName()));
+        if (menuItem.getRestaurant() != null && menuItem.getRestaurant().getId() != null) {
+            menuItemRestaurants.put(menuItem.getId(), menuItem.getRestaurant().getId());
+        }
+    }
+    
+    @Override
+    public void removeMenuItem(Long menuItemId) {
+        contribute(Field.DISH, menuItemId, List.of());
+        menuItemRestaurants.remove(menuItemId);
+    }
+    
+    private synchronized void contribute(Field field, Long id, List<String> values) {
+        PrefixTrie trie = tries.get(field);
+        Map<Long, List<String>> byId = contributions.get(field);
+        List<String> previous = values.isEmpty() ? byId.remove(id) : byId.put(id, values);
+        if (previous != null) {
+            previous.forEach(trie::remove);
+        }
+        values.forEach(trie::add);
+    }
+    
+    private static <T> Map<Field, T> perField(Supplier<T> factory) {
+        Map<Field, T> map = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            map.put(field, factory.get());
+        }
+        return map;
+    }
+    
+    private static List<String> values(String value) {
+        return value == null || value.isBlank() ? List.of() : List.of(value);
+    }
+    
+    private static List<String> splitCuisines(String cuisine) {
+        if (cuisine == null || cuisine.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(cuisine.split("[,/]"))
+                .map(String::trim)
+                .filter(c -> !c.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,58 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.MenuItem;
+import in.sp.main.entity.Restaurant;
+import in.sp.main.repository.MenuItemRepository;
+import in.sp.main.service.CartPricingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CartPricingServiceImpl implements CartPricingService {
+    
+    private final MenuItemRepository menuItemRepository;
+    
+    @Override
+    public PricedCart price(Map<Long, Integer> quantities) {
+        if (quantities == null || quantities.isEmpty()) {
+            return new PricedCart(List.of(), List.of(), null, 0, 0, 0);
+        }
+        Map<Long, MenuItem> menuItems = menuItemRepository.findAllWithRestaurantByIdIn(quantities.keySet()).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        
+        List<Line> lines = new ArrayList<>();
+        List<MenuItem> soldOut = new ArrayList<>();
+        Map<Long, Restaurant> restaurants = new LinkedHashMap<>();
+        double subtotal = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            MenuItem menuItem = menuItems.get(entry.getKey());
+            int quantity = entry.getValue() != null ? entry.getValue() : 0;
+            if (menuItem == null || quantity <= 0) {
+                continue;
+            }
+            if (!menuItem.isAvailable()) {
+                soldOut.add(menuItem);
+                continue;
+            }
+            double lineTotal = menuItem.getPrice() * quantity;
+            lines.add(new Line(menuItem, quantity, lineTotal));
+            subtotal += lineTotal;
+            restaurants.putIfAbsent(menuItem.getRestaurant().getId(), menuItem.getRestaurant());
+        }
+        double packagingCharges = restaurants.values().stream()
+                .map(Restaurant::getPackagingCharges)
+                .filter(charge -> charge != null && charge > 0)
+                .mapToDouble(Double::doubleValue)
+                .sum();
+        Restaurant restaurant = restaurants.isEmpty() ? null : restaurants.values().iterator().next();
+        return new PricedCart(lines, soldOut, restaurant, subtotal, packagingCharges, subtotal + packagingCharges);
+    }
+}
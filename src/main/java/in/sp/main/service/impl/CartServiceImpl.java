@@ -0,0 +1,98 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.service.CartService;
+import in.sp.main.service.CartStore;
+import in.sp.main.util.LongIntMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CartServiceImpl implements CartService {
+    
+    private final CartStore cartStore;
+    
+    @Value("${cart.max-lines:50}")
+    private int maxLines;
+    
+    @Value("${cart.max-quantity:99}")
+    private int maxQuantity;
+    
+    @Value("${cart.ttl:PT72H}")
+    private Duration ttl;
+    
+    @Scheduled(fixedDelayString = "${cart.eviction-interval:PT10M}")
+    public void evictExpired() {
+        int evicted = cartStore.evictExpired();
+        if (evicted > 0) {
+            log.debug("Evicted {} expired carts", evicted);
+        }
+    }
+    
+    @Override
+    public Map<Long, Integer> getItems(String cartKey) {
+        LongIntMap items = cartStore.find(cartKey);
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            quantities.put(items.keyAt(i), items.valueAt(i));
+        }
+        return quantities;
+    }
+    
+    @Override
+    public int count(String cartKey) {
+        return cartStore.find(cartKey).size();
+    }
+    
+    @Override
+    public void add(String cartKey, Long menuItemId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        cartStore.update(cartKey, items -> {
+            if (!items.containsKey(menuItemId) && items.size() >= maxLines) {
+                throw new IllegalArgumentException("A cart can hold at most " + maxLines + " different dishes.");
+            }
+            if ((long) items.get(menuItemId) + quantity > maxQuantity) {
+                throw new IllegalArgumentException("You can order at most " + maxQuantity + " of one dish.");
+            }
+            items.addTo(menuItemId, quantity);
+        }, expiry());
+    }
+    
+    @Override
+    public void setQuantity(String cartKey, Long menuItemId, int quantity) {
+        if (quantity > maxQuantity) {
+            throw new IllegalArgumentException("You can order at most " + maxQuantity + " of one dish.");
+        }
+        cartStore.update(cartKey, items -> {
+            // Only dishes already in the cart can be changed, so this never adds a line
+            if (items.containsKey(menuItemId)) {
+                items.put(menuItemId, quantity);
+            }
+        }, expiry());
+    }
+    
+    @Override
+    public void remove(String cartKey, Long menuItemId) {
+        cartStore.update(cartKey, items -> items.remove(menuItemId), expiry());
+    }
+    
+    @Override
+    public void clear(String cartKey) {
+        cartStore.delete(cartKey);
+    }
+    
+    private Instant expiry() {
+        return Instant.now().plus(ttl);
+    }
+}
@@ -1,10 +1,19 @@
 package in.sp.main.service.impl;
 
 import in.sp.main.entity.CloudKitchen;
+import in.sp.main.event.CloudKitchenChangedEvent;
 import in.sp.main.repository.CloudKitchenRepository;
+import in.sp.main.repository.KitchenCard;
 import in.sp.main.service.CloudKitchenService;
+import in.sp.main.service.GeoIndexService;
+import in.sp.main.service.ListingCacheService;
+import in.sp.main.service.SearchIndexService;
+import in.sp.main.util.GeoGridIndex;
+import in.sp.main.util.IdOrdering;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +23,10 @@ import java.util.Optional;
 public class CloudKitchenServiceImpl implements CloudKitchenService {
     
     private final CloudKitchenRepository cloudKitchenRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final SearchIndexService searchIndexService;
+    private final ListingCacheService listingCacheService;
+    private final GeoIndexService geoIndexService;
     
     @Override
     public List<CloudKitchen> findAll() {
@@ -26,13 +39,18 @@ public class CloudKitchenServiceImpl implements CloudKitchenService {
     }
     
     @Override
+    @Transactional
     public CloudKitchen save(CloudKitchen cloudKitchen) {
-        return cloudKitchenRepository.save(cloudKitchen);
+        CloudKitchen saved = cloudKitchenRepository.save(cloudKitchen);
+        applicationEventPublisher.publishEvent(CloudKitchenChangedEvent.saved(saved));
+        return saved;
     }
     
     @Override
+    @Transactional
     public void deleteById(Long id) {
         cloudKitchenRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(CloudKitchenChangedEvent.removed(id));
     }
     
     @Override
@@ -40,19 +58,41 @@ public class CloudKitchenServiceImpl implements CloudKitchenService {
         return cloudKitchenRepository.findByCity(city);
     }
     
+    @Override
+    public List<KitchenCard> findCardsByCity(String city) {
+        return cloudKitchenRepository.findCardsByCity(city);
+    }
+    
     @Override
     public List<CloudKitchen> findByOwnerId(Long ownerId) {
         return cloudKitchenRepository.findByOwnerId(ownerId);
     }
     
     @Override
-    public List<CloudKitchen> findActiveVerifiedByCity(String city) {
-        return cloudKitchenRepository.findActiveVerifiedByCity(city);
+    public List<KitchenCard> findActiveVerifiedByCity(String city) {
+        return listingCacheService.getCloudKitchens(city, () -> cloudKitchenRepository.findActiveVerifiedCardsByCity(city));
     }
     
     @Override
     public List<CloudKitchen> findByKitchenNameContaining(String name) {
-        return cloudKitchenRepository.findByKitchenNameContaining(name);
+        List<Long> ids = searchIndexService.searchCloudKitchens(name);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return IdOrdering.inOrderOf(ids, cloudKitchenRepository.findAllById(ids), CloudKitchen::getId).stream()
+                .filter(CloudKitchen::isActive)
+                .toList();
+    }
+
+    @Override
+    public List<KitchenCard> findDeliveringTo(double latitude, double longitude, Double maxDistanceKm) {
+        List<Long> ids = geoIndexService.findCloudKitchensDeliveringTo(latitude, longitude, maxDistanceKm).stream()
+                .map(GeoGridIndex.Match::id)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return IdOrdering.inOrderOf(ids, cloudKitchenRepository.findActiveCardsByIdIn(ids), KitchenCard::getId);
     }
 
     @Override
@@ -64,17 +104,25 @@ public class CloudKitchenServiceImpl implements CloudKitchenService {
     public List<CloudKitchen> findByIsVerifiedTrue() {
         return cloudKitchenRepository.findByIsVerifiedTrue();
     }
+    
+    @Override
+    public List<KitchenCard> findActiveVerifiedCards() {
+        return cloudKitchenRepository.findActiveVerifiedCards();
+    }
 
     @Override
+    @Transactional
     public void verifyCloudKitchen(Long kitchenId) {
         CloudKitchen kitchen = cloudKitchenRepository.findById(kitchenId).orElseThrow(() -> new RuntimeException("Cloud Kitchen not found"));
         kitchen.setIsVerified(true);
-        cloudKitchenRepository.save(kitchen);
+        applicationEventPublisher.publishEvent(CloudKitchenChangedEvent.saved(cloudKitchenRepository.save(kitchen)));
     }
 
     @Override
+    @Transactional
     public void rejectCloudKitchen(Long kitchenId) {
         CloudKitchen kitchen = cloudKitchenRepository.findById(kitchenId).orElseThrow(() -> new RuntimeException("Cloud Kitchen not found"));
         cloudKitchenRepository.delete(kitchen);
+        applicationEventPublisher.publishEvent(CloudKitchenChangedEvent.removed(kitchenId));
     }
 } 
\ No newline at end of file
@@ -1,8 +1,11 @@
 package in.sp.main.service.impl;
 
 import in.sp.main.entity.CloudKitchenSubscription;
+import in.sp.main.event.DomainEvent;
 import in.sp.main.repository.CloudKitchenSubscriptionRepository;
 import in.sp.main.service.CloudKitchenSubscriptionService;
+import in.sp.main.service.DomainEventPublisher;
+import in.sp.main.service.ReferenceNumberService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +17,8 @@ import java.util.Optional;
 public class CloudKitchenSubscriptionServiceImpl implements CloudKitchenSubscriptionService {
     
     private final CloudKitchenSubscriptionRepository subscriptionRepository;
+    private final ReferenceNumberService referenceNumberService;
+    private final DomainEventPublisher domainEventPublisher;
     
     @Override
     public List<CloudKitchenSubscription> findAll() {
@@ -27,13 +32,23 @@ public class CloudKitchenSubscriptionServiceImpl implements CloudKitchenSubscrip
     
     @Override
     public CloudKitchenSubscription createSubscription(CloudKitchenSubscription subscription) {
+        if (subscription.getSubscriptionReference() == null) {
+            subscription.setSubscriptionReference(referenceNumberService.next(ReferenceNumberService.Kind.SUBSCRIPTION));
+        }
         subscription.setStatus(CloudKitchenSubscription.SubscriptionStatus.ACTIVE);
-        return subscriptionRepository.save(subscription);
+        CloudKitchenSubscription saved = subscriptionRepository.save(subscription);
+        domainEventPublisher.publish(DomainEvent.of(saved, null));
+        return saved;
     }
     
     @Override
     public CloudKitchenSubscription updateSubscription(CloudKitchenSubscription subscription) {
-        return subscriptionRepository.save(subscription);
+        CloudKitchenSubscription.SubscriptionStatus previous = subscription.getId() != null ? subscriptionRepository.findStatusById(subscription.getId()).orElse(null) : null;
+        CloudKitchenSubscription saved = subscriptionRepository.save(subscription);
+        if (previous != null && previous != saved.getStatus()) {
+            domainEventPublisher.publish(DomainEvent.of(saved, previous));
+        }
+        return saved;
     }
     
     @Override
@@ -0,0 +1,159 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.event.DomainEvent;
+import in.sp.main.service.DeliveryEtaService;
+import in.sp.main.service.OrderQueueService;
+import in.sp.main.util.Ewma;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Learns from food order events: the time from PREPARING to READY_FOR_PICKUP is a preparation sample,
+ * and from READY_FOR_PICKUP to DELIVERED a delivery sample, each folded into the restaurant's moving average.
+ * Every node receives every event, so the nodes converge on the same averages without sharing state.
+ * <p>
+ * An order waiting to be prepared is expected to queue behind the orders already being prepared, shared
+ * over the kitchen's parallel capacity. The depth comes from the in-memory order board.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DeliveryEtaServiceImpl implements DeliveryEtaService {
+    
+    // Longer gaps are orders left open by mistake, not real durations
+    private static final Duration MAX_SAMPLE = Duration.ofHours(4);
+    
+    private final OrderQueueService orderQueueService;
+    
+    @Value("${eta.ewma-alpha:0.2}")
+    private double alpha;
+    
+    @Value("${eta.default-preparation:PT20M}")
+    private Duration defaultPreparation;
+    
+    @Value("${eta.default-delivery:PT25M}")
+    private Duration defaultDelivery;
+    
+    @Value("${eta.kitchen-parallelism:3}")
+    private int kitchenParallelism;
+    
+    private final ConcurrentHashMap<Long, Model> models = new ConcurrentHashMap<>();
+    // When each in-flight order started preparing and became ready; a delivered or cancelled order keeps a
+    // finished marker until purged, so a replayed event cannot start its clock again
+    private final ConcurrentHashMap<Long, Timing> timings = new ConcurrentHashMap<>();
+    
+    private record Model(Ewma preparation, Ewma delivery) {
+    }
+    
+    /**
+     * @param version   the order version of the last event applied, or -1 if it had none
+     * @param updatedAt when that event happened
+     */
+    private record Timing(Long restaurantId, Instant preparingAt, Instant readyAt, long version, boolean finished, Instant updatedAt) {
+    }
+    
+    @Override
+    public LocalDateTime estimate(Long restaurantId, FoodOrder.OrderStatus status, LocalDateTime at) {
+        Model model = model(restaurantId);
+        long preparation = (long) model.preparation().get();
+        long delivery = (long) model.delivery().get();
+        long seconds = switch (status) {
+            case PENDING, CONFIRMED -> {
+                int depth = orderQueueService.countActive(restaurantId, FoodOrder.OrderStatus.PREPARING);
+                yield depth * preparation / Math.max(1, kitchenParallelism) + preparation + delivery;
+            }
+            case PREPARING -> preparation + delivery;
+            // When the rider set off is not timed separately, so the whole delivery average is what remains
+            case READY_FOR_PICKUP, ON_THE_WAY -> delivery;
+            case DELIVERED, CANCELLED -> -1;
+        };
+        return seconds < 0 ? null : at.plusSeconds(seconds);
+    }
+    
+    @Override
+    public void seedPreparationTime(Long restaurantId, Integer minutes) {
+        if (minutes != null && minutes > 0) {
+            model(restaurantId).preparation().seed(minutes * 60.0);
+        }
+    }
+    
+    @Override
+    public Estimates getEstimates(Long restaurantId) {
+        Model model = model(restaurantId);
+        return new Estimates(Duration.ofSeconds((long) model.preparation().get()), Duration.ofSeconds((long) model.delivery().get()),
+                orderQueueService.countActive(restaurantId, FoodOrder.OrderStatus.PREPARING),
+                model.preparation().getSampleCount(), model.delivery().getSampleCount());
+    }
+    
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.aggregate() != DomainEvent.Aggregate.FOOD_ORDER || event.ownerId() == null || event.status() == null) {
+            return;
+        }
+        FoodOrder.OrderStatus status = FoodOrder.OrderStatus.valueOf(event.status());
+        if (status != FoodOrder.OrderStatus.PREPARING && status != FoodOrder.OrderStatus.READY_FOR_PICKUP && !status.isTerminal()) {
+            return;
+        }
+        Long restaurantId = event.ownerId();
+        Instant at = event.occurredAt();
+        long version = event.version() != null ? event.version() : -1;
+        timings.compute(event.aggregateId(), (orderId, timing) -> {
+            if (timing != null && (timing.finished() || event.version() != null && version <= timing.version())) {
+                // Replayed or overtaken: it must neither restart the clock nor count a sample twice
+                return timing;
+            }
+            return switch (status) {
+                case PREPARING -> new Timing(restaurantId, at, null, version, false, at);
+                case READY_FOR_PICKUP -> {
+                    if (timing != null) {
+                        learn(model(restaurantId).preparation(), timing.preparingAt(), at);
+                    }
+                    yield new Timing(restaurantId, timing != null ? timing.preparingAt() : null, at, version, false, at);
+                }
+                default -> {
+                    if (status == FoodOrder.OrderStatus.DELIVERED && timing != null && timing.readyAt() != null) {
+                        learn(model(restaurantId).delivery(), timing.readyAt(), at);
+                    }
+                    yield new Timing(restaurantId, null, null, version, true, at);
+                }
+            };
+        });
+    }
+    
+    /**
+     * Forgets orders whose delivery or cancellation was never seen, such as ones from before a restart gap,
+     * and the markers of finished orders, by then long past the window in which an event is redelivered.
+     */
+    @Scheduled(fixedDelayString = "${eta.purge-interval:PT1H}")
+    public void purgeStaleTimings() {
+        Instant cutoff = Instant.now().minus(MAX_SAMPLE);
+        timings.values().removeIf(timing -> timing.updatedAt().isBefore(cutoff));
+    }
+    
+    private Model model(Long restaurantId) {
+        return models.computeIfAbsent(restaurantId, id -> new Model(
+                new Ewma(alpha, defaultPreparation.toSeconds()), new Ewma(alpha, defaultDelivery.toSeconds())));
+    }
+    
+    private void learn(Ewma average, Instant from, Instant to) {
+        if (from == null) {
+            return;
+        }
+        Duration sample = Duration.between(from, to);
+        if (sample.isNegative() || sample.compareTo(MAX_SAMPLE) > 0) {
+            log.debug("Ignoring duration sample of {}", sample);
+            return;
+        }
+        average.update(sample.toSeconds());
+    }
+}
@@ -0,0 +1,116 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.event.DomainEvent;
+import in.sp.main.service.DomainEventPublisher;
+import in.sp.main.service.NotificationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * With Kafka, every node's in-process listeners and the notifications are fed by
+ * {@link in.sp.main.event.DomainEventKafkaListener}; without it this node delivers to both directly.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DomainEventPublisherImpl implements DomainEventPublisher {
+    
+    private final ObjectProvider<KafkaTemplate<String, DomainEvent>> kafkaTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final NotificationService notificationService;
+    
+    @Value("${events.kafka.enabled:false}")
+    private boolean kafkaEnabled;
+    
+    @Value("${events.dispatch.queue-capacity:10000}")
+    private int dispatchQueueCapacity;
+    
+    @Value("${events.notifications.threads:4}")
+    private int notificationThreads;
+    
+    @Value("${events.notifications.queue-capacity:10000}")
+    private int notificationQueueCapacity;
+    
+    private ThreadPoolExecutor dispatcher;
+    private ThreadPoolExecutor notifier;
+    
+    /**
+     * One dispatcher thread keeps events in publish order and broker or listener stalls off the request
+     * thread. When its queue is full the committing thread delivers the event itself, which slows writers
+     * down instead of losing the event, at the cost of strict ordering while overloaded.
+     * Notifications run on their own pool so a slow mail server never holds up the dispatcher; when that
+     * pool is full the notification is dropped and logged.
+     */
+    @PostConstruct
+    public void init() {
+        dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(dispatchQueueCapacity),
+                daemon("domain-events"), new ThreadPoolExecutor.CallerRunsPolicy());
+        notifier = new ThreadPoolExecutor(notificationThreads, notificationThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(notificationQueueCapacity), daemon("domain-event-notifications"),
+                (task, executor) -> log.warn("Notification queue is full, dropping a notification"));
+    }
+    
+    @Override
+    public void publish(DomainEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.execute(() -> dispatch(event));
+                }
+            });
+        } else {
+            dispatcher.execute(() -> dispatch(event));
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+        notifier.shutdown();
+        notifier.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    
+    private void dispatch(DomainEvent event) {
+        try {
+            if (kafkaEnabled) {
+                kafkaTemplate.getObject().send(event.aggregate().getTopic(), event.key(), event)
+                        .whenComplete((result, failure) -> {
+                            if (failure != null) {
+                                log.warn("Failed to publish {} event for {} {}", event.type(), event.aggregate(), event.aggregateId(), failure);
+                            }
+                        });
+            } else {
+                applicationEventPublisher.publishEvent(event);
+                notifier.execute(() -> notificationService.notify(event));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to deliver {} event for {} {}", event.type(), event.aggregate(), event.aggregateId(), e);
+        }
+    }
+    
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,19 +1,46 @@
 package in.sp.main.service.impl;
 
 import in.sp.main.entity.FoodOrder;
+import in.sp.main.event.DomainEvent;
 import in.sp.main.repository.FoodOrderRepository;
+import in.sp.main.repository.Keyset;
+import in.sp.main.repository.FoodOrderState;
+import in.sp.main.service.DeliveryEtaService;
+import in.sp.main.service.DomainEventPublisher;
 import in.sp.main.service.FoodOrderService;
+import in.sp.main.service.ReferenceNumberService;
+import in.sp.main.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
 
 @Service
 @RequiredArgsConstructor
 public class FoodOrderServiceImpl implements FoodOrderService {
     
+    private static final Keyset<FoodOrder, Long> NEWEST_FIRST = Keyset.byId(FoodOrder::getId, true);
+    
     private final FoodOrderRepository foodOrderRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final ReferenceNumberService referenceNumberService;
+    private final DeliveryEtaService deliveryEtaService;
+    
+    @Value("${order.status.max-attempts:5}")
+    private int maxAttempts;
     
     @Override
     public List<FoodOrder> findAll() {
@@ -25,15 +52,77 @@ public class FoodOrderServiceImpl implements FoodOrderService {
         return foodOrderRepository.findById(id);
     }
     
+    @Override
+    public Optional<FoodOrderState> findState(Long id) {
+        return foodOrderRepository.findStateById(id);
+    }
+    
     @Override
     public FoodOrder createOrder(FoodOrder order) {
+        if (order.getOrderNumber() == null) {
+            order.setOrderNumber(referenceNumberService.next(ReferenceNumberService.Kind.FOOD_ORDER));
+        }
         order.setStatus(FoodOrder.OrderStatus.PENDING);
-        return foodOrderRepository.save(order);
+        if (order.getEstimatedDeliveryTime() == null && order.getRestaurant() != null && order.getRestaurant().getId() != null) {
+            deliveryEtaService.seedPreparationTime(order.getRestaurant().getId(), order.getRestaurant().getAvgPreparationTime());
+            order.setEstimatedDeliveryTime(deliveryEtaService.estimate(order.getRestaurant().getId(),
+                    FoodOrder.OrderStatus.PENDING, LocalDateTime.now()));
+        }
+        FoodOrder saved = foodOrderRepository.save(order);
+        domainEventPublisher.publish(DomainEvent.of(saved, null));
+        return saved;
     }
     
     @Override
     public FoodOrder updateOrder(FoodOrder order) {
-        return foodOrderRepository.save(order);
+        FoodOrder.OrderStatus previous = order.getId() != null ? foodOrderRepository.findStatusById(order.getId()).orElse(null) : null;
+        if (previous != null && previous != order.getStatus() && !previous.canTransitionTo(order.getStatus())) {
+            throw new IllegalStateException("Order cannot move from " + previous + " to " + order.getStatus());
+        }
+        FoodOrder saved;
+        try {
+            // Flushed here, so a stale copy fails the version check in this call instead of overwriting a newer status
+            saved = foodOrderRepository.saveAndFlush(order);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new IllegalStateException("Order " + order.getOrderNumber() + " was changed elsewhere, please reload and try again");
+        }
+        if (previous != null && previous != saved.getStatus()) {
+            domainEventPublisher.publish(DomainEvent.of(saved, previous));
+        }
+        return saved;
+    }
+    
+    @Override
+    public boolean transitionStatus(Long orderId, FoodOrder.OrderStatus next) {
+        return transitionStatus(orderId, EnumSet.allOf(FoodOrder.OrderStatus.class), next);
+    }
+    
+    @Override
+    public boolean transitionStatus(Long orderId, Set<FoodOrder.OrderStatus> from, FoodOrder.OrderStatus next) {
+        for (int attempt = 1; ; attempt++) {
+            FoodOrderState state = foodOrderRepository.findStateById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found"));
+            FoodOrder.OrderStatus current = state.getStatus();
+            if (current == next) {
+                return false;
+            }
+            if (!from.contains(current) || !current.canTransitionTo(next)) {
+                throw new IllegalStateException("Order " + state.getOrderNumber() + " cannot move from " + current + " to " + next);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime deliveredAt = next == FoodOrder.OrderStatus.DELIVERED ? now : null;
+            // Revised in memory and written by the same conditional update, so no extra read or write
+            LocalDateTime eta = deliveryEtaService.estimate(state.getRestaurantId(), next, now);
+            if (foodOrderRepository.transitionStatus(orderId, current, state.getVersion(), next, now, deliveredAt, eta) == 1) {
+                domainEventPublisher.publish(DomainEvent.of(state, next));
+                return true;
+            }
+            if (attempt >= maxAttempts) {
+                throw new IllegalStateException("Order " + state.getOrderNumber() + " is being updated elsewhere, please try again");
+            }
+            // Lost the race: no row lock was held, so re-read after a short jittered pause and try again
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(attempt * 1_000_000L));
+        }
     }
     
     @Override
@@ -51,6 +140,26 @@ public class FoodOrderServiceImpl implements FoodOrderService {
         return foodOrderRepository.findByRestaurantId(restaurantId);
     }
     
+    @Override
+    public List<FoodOrder> findAllWithItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, FoodOrder> byId = foodOrderRepository.findWithItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(FoodOrder::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+    
+    @Override
+    public KeysetPage<FoodOrder> findHistoryPage(Long restaurantId, Set<FoodOrder.OrderStatus> statuses, String cursor, Integer size) {
+        Specification<FoodOrder> filter = (root, query, cb) -> cb.and(
+                cb.equal(root.get("restaurant").get("id"), restaurantId),
+                root.get("status").in(statuses));
+        KeysetPage<FoodOrder> page = NEWEST_FIRST.fetch(foodOrderRepository, filter, cursor, size);
+        // Second query loads the page's items in one go instead of once per order while rendering
+        return new KeysetPage<>(findAllWithItems(page.content().stream().map(FoodOrder::getId).toList()), page.nextCursor());
+    }
+    
     @Override
     public List<FoodOrder> findByStatus(FoodOrder.OrderStatus status) {
         return foodOrderRepository.findByStatus(status);
@@ -0,0 +1,135 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.CloudKitchen;
+import in.sp.main.entity.Restaurant;
+import in.sp.main.event.CloudKitchenChangedEvent;
+import in.sp.main.event.RestaurantChangedEvent;
+import in.sp.main.repository.CloudKitchenRepository;
+import in.sp.main.repository.RestaurantRepository;
+import in.sp.main.service.GeoIndexService;
+import in.sp.main.util.GeoGridIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class GeoIndexServiceImpl implements GeoIndexService {
+    
+    // 0.1 degree cells (~11 km) keep a default 5 km disk within a handful of cells
+    private static final double CELL_DEGREES = 0.1;
+    
+    private final RestaurantRepository restaurantRepository;
+    private final CloudKitchenRepository cloudKitchenRepository;
+    
+    private final GeoGridIndex restaurantIndex = new GeoGridIndex(CELL_DEGREES);
+    private final GeoGridIndex cloudKitchenIndex = new GeoGridIndex(CELL_DEGREES);
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+    
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        restaurantIndex.clear();
+        cloudKitchenIndex.clear();
+        restaurantRepository.findDeliveryRestaurants().forEach(this::indexRestaurant);
+        cloudKitchenRepository.findByIsActiveTrue().forEach(this::indexCloudKitchen);
+        log.info("Geo index built in {} ms: {} restaurants, {} cloud kitchens",
+                System.currentTimeMillis() - start, restaurantIndex.size(), cloudKitchenIndex.size());
+    }
+    
+    @Override
+    public List<GeoGridIndex.Match> findRestaurantsDeliveringTo(double latitude, double longitude, Double maxDistanceKm) {
+        return restaurantIndex.findServing(latitude, longitude, maxDistanceKm, MAX_RESULTS);
+    }
+    
+    @Override
+    public List<GeoGridIndex.Match> findCloudKitchensDeliveringTo(double latitude, double longitude, Double maxDistanceKm) {
+        return cloudKitchenIndex.findServing(latitude, longitude, maxDistanceKm, MAX_RESULTS);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeRestaurant(event.restaurantId());
+            } else {
+                indexRestaurant(event.restaurant());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the geo index for restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCloudKitchenChanged(CloudKitchenChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeCloudKitchen(event.cloudKitchenId());
+            } else {
+                indexCloudKitchen(event.cloudKitchen());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the geo index for cloud kitchen {}", event.cloudKitchenId(), e);
+        }
+    }
+    
+    @Override
+    public void indexRestaurant(Restaurant restaurant) {
+        if (restaurant.getId() == null) {
+            return;
+        }
+        if (restaurant.isActive() && restaurant.isVerified() && restaurant.isDeliveryOffered()
+                && hasLocation(restaurant.getLatitude(), restaurant.getLongitude())) {
+            restaurantIndex.put(restaurant.getId(), restaurant.getLatitude(), restaurant.getLongitude(),
+                    radius(restaurant.getDeliveryRadius()));
+        } else {
+            restaurantIndex.remove(restaurant.getId());
+        }
+    }
+    
+    @Override
+    public void removeRestaurant(Long restaurantId) {
+        restaurantIndex.remove(restaurantId);
+    }
+    
+    @Override
+    public void indexCloudKitchen(CloudKitchen cloudKitchen) {
+        if (cloudKitchen.getId() == null) {
+            return;
+        }
+        if (cloudKitchen.isActive() && cloudKitchen.getIsVerified()
+                && hasLocation(cloudKitchen.getLatitude(), cloudKitchen.getLongitude())) {
+            cloudKitchenIndex.put(cloudKitchen.getId(), cloudKitchen.getLatitude(), cloudKitchen.getLongitude(),
+                    radius(cloudKitchen.getDeliveryRadius()));
+        } else {
+            cloudKitchenIndex.remove(cloudKitchen.getId());
+        }
+    }
+    
+    @Override
+    public void removeCloudKitchen(Long cloudKitchenId) {
+        cloudKitchenIndex.remove(cloudKitchenId);
+    }
+    
+    private static boolean hasLocation(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180;
+    }
+    
+    private static double radius(Double deliveryRadius) {
+        if (deliveryRadius == null || deliveryRadius <= 0) {
+            return DEFAULT_DELIVERY_RADIUS_KM;
+        }
+        return Math.min(deliveryRadius, MAX_DELIVERY_RADIUS_KM);
+    }
+}
@@ -1,10 +1,19 @@
 package in.sp.main.service.impl;
 
 import in.sp.main.entity.Hotel;
+import in.sp.main.event.HotelChangedEvent;
+import in.sp.main.repository.HotelCard;
+import in.sp.main.repository.Keyset;
 import in.sp.main.repository.HotelRepository;
 import in.sp.main.service.HotelService;
+import in.sp.main.service.ListingCacheService;
+import in.sp.main.service.SearchIndexService;
+import in.sp.main.util.IdOrdering;
+import in.sp.main.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,26 +22,44 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class HotelServiceImpl implements HotelService {
     
+    private static final Keyset<HotelCard, String> BY_NAME =
+            Keyset.ascending("hotelName", HotelCard::getHotelName, name -> name, HotelCard::getId);
+    
     private final HotelRepository hotelRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final SearchIndexService searchIndexService;
+    private final ListingCacheService listingCacheService;
     
     @Override
     public List<Hotel> findAll() {
         return hotelRepository.findAll();
     }
     
+    @Override
+    public KeysetPage<HotelCard> findPage(String cursor, Integer size) {
+        return BY_NAME.fetch((name, id, limit) -> id == null
+                ? hotelRepository.findCardsOrderByName(limit)
+                : hotelRepository.findCardsAfterName(name, id, limit), cursor, size);
+    }
+    
     @Override
     public Optional<Hotel> findById(Long id) {
         return hotelRepository.findById(id);
     }
     
     @Override
+    @Transactional
     public Hotel save(Hotel hotel) {
-        return hotelRepository.save(hotel);
+        Hotel saved = hotelRepository.save(hotel);
+        applicationEventPublisher.publishEvent(HotelChangedEvent.saved(saved));
+        return saved;
     }
     
     @Override
+    @Transactional
     public void deleteById(Long id) {
         hotelRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(HotelChangedEvent.removed(id));
     }
     
     @Override
@@ -40,6 +67,11 @@ public class HotelServiceImpl implements HotelService {
         return hotelRepository.findByCity(city);
     }
     
+    @Override
+    public List<HotelCard> findCardsByCity(String city) {
+        return hotelRepository.findCardsByCity(city);
+    }
+    
     @Override
     public List<Hotel> findByOwnerId(Long ownerId) {
         return hotelRepository.findByOwnerId(ownerId);
@@ -51,13 +83,19 @@ public class HotelServiceImpl implements HotelService {
     }
     
     @Override
-    public List<Hotel> findActiveVerifiedByCity(String city) {
-        return hotelRepository.findActiveVerifiedByCity(city);
+    public List<HotelCard> findActiveVerifiedByCity(String city) {
+        return listingCacheService.getHotels(city, () -> hotelRepository.findActiveVerifiedCardsByCity(city));
     }
     
     @Override
     public List<Hotel> findByHotelNameContaining(String name) {
-        return hotelRepository.findByHotelNameContaining(name);
+        List<Long> ids = searchIndexService.searchHotels(name);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return IdOrdering.inOrderOf(ids, hotelRepository.findAllById(ids), Hotel::getId).stream()
+                .filter(Hotel::isActive)
+                .toList();
     }
 
     @Override
@@ -69,17 +107,30 @@ public class HotelServiceImpl implements HotelService {
     public List<Hotel> findByIsVerifiedTrue() {
         return hotelRepository.findByIsVerifiedTrue();
     }
+    
+    @Override
+    public List<HotelCard> findAllCards() {
+        return hotelRepository.findAllCards();
+    }
+    
+    @Override
+    public List<HotelCard> findActiveVerifiedCards() {
+        return hotelRepository.findActiveVerifiedCards();
+    }
 
     @Override
+    @Transactional
     public void verifyHotel(Long hotelId) {
         Hotel hotel = hotelRepository.findById(hotelId).orElseThrow(() -> new RuntimeException("Hotel not found"));
         hotel.setIsVerified(true);
-        hotelRepository.save(hotel);
+        applicationEventPublisher.publishEvent(HotelChangedEvent.saved(hotelRepository.save(hotel)));
     }
 
     @Override
+    @Transactional
     public void rejectHotel(Long hotelId) {
         Hotel hotel = hotelRepository.findById(hotelId).orElseThrow(() -> new RuntimeException("Hotel not found"));
         hotelRepository.delete(hotel);
+        applicationEventPublisher.publishEvent(HotelChangedEvent.removed(hotelId));
     }
 } 
\ No newline at end of file
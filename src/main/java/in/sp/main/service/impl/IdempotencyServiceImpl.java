@@ -0,0 +1,156 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.service.IdempotencyService;
+import in.sp.main.util.DedupeWindow;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The table is not a JPA entity, so it is created here if missing. Its primary key is the scope and key:
+ * a duplicate on another node blocks on the first request's uncommitted claim row and, once that
+ * commits, reads the stored result; if it rolls back, the duplicate claims the key and runs.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+    
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS idempotency_keys ("
+            + "scope VARCHAR(100) NOT NULL, "
+            + "idem_key VARCHAR(100) NOT NULL, "
+            + "result VARCHAR(1000), "
+            + "created_at TIMESTAMP(3) NOT NULL, "
+            + "expires_at TIMESTAMP(3) NOT NULL, "
+            + "PRIMARY KEY (scope, idem_key), "
+            + "INDEX idx_idempotency_keys_expires_at (expires_at))";
+    
+    private static final int STRIPES = 16;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    
+    @Value("${idempotency.ttl:PT24H}")
+    private Duration ttl;
+    
+    @Value("${idempotency.window-size:10000}")
+    private int windowSize;
+    
+    @Value("${idempotency.wait-timeout:PT30S}")
+    private Duration waitTimeout;
+    
+    private DedupeWindow<String> window;
+    
+    private record Claim<T>(T value, String result, boolean replayed) {
+    }
+    
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute(CREATE_TABLE);
+        window = new DedupeWindow<>(windowSize, STRIPES, ttl);
+    }
+    
+    @Override
+    public <T> T execute(String scope, String key, Supplier<T> action, Function<T, String> encode, Function<String, T> decode) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        String trimmed = key.trim();
+        if (trimmed.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String windowKey = scope + '\n' + trimmed;
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> original = window.claim(windowKey, mine);
+        if (original != null) {
+            log.debug("Replaying {} request with key {} from memory", scope, trimmed);
+            return decode.apply(await(original));
+        }
+        try {
+            Claim<T> claim = new TransactionTemplate(transactionManager)
+                    .execute(status -> claimAndRun(scope, trimmed, action, encode));
+            mine.complete(claim.result());
+            if (claim.replayed()) {
+                log.debug("Replaying {} request with key {} from the key table", scope, trimmed);
+                return decode.apply(claim.result());
+            }
+            return claim.value();
+        } catch (RuntimeException e) {
+            window.release(windowKey, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Drops expired keys from the table; the in-memory window ages out on its own.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= ?", Timestamp.from(Instant.now()));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+    
+    /**
+     * Runs inside the request's transaction, so the claim row and the request's writes commit or roll back together.
+     */
+    private <T> Claim<T> claimAndRun(String scope, String key, Supplier<T> action, Function<T, String> encode) {
+        Instant now = Instant.now();
+        Timestamp expiresAt = Timestamp.from(now.plus(ttl));
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (scope, idem_key, created_at, expires_at) VALUES (?, ?, ?, ?)",
+                    scope, key, Timestamp.from(now), expiresAt);
+        } catch (DuplicateKeyException e) {
+            // A locking read sees the latest committed row, not this transaction's snapshot
+            List<String> results = jdbcTemplate.query(
+                    "SELECT result FROM idempotency_keys WHERE scope = ? AND idem_key = ? AND expires_at > ? FOR UPDATE",
+                    (rs, rowNum) -> rs.getString(1), scope, key, Timestamp.from(now));
+            if (!results.isEmpty()) {
+                return new Claim<>(null, results.get(0), true);
+            }
+            // Expired but not yet purged: take the key over
+            jdbcTemplate.update("UPDATE idempotency_keys SET result = NULL, created_at = ?, expires_at = ? WHERE scope = ? AND idem_key = ?",
+                    Timestamp.from(now), expiresAt, scope, key);
+        }
+        T value = action.get();
+        String result = encode.apply(value);
+        jdbcTemplate.update("UPDATE idempotency_keys SET result = ? WHERE scope = ? AND idem_key = ?", result, scope, key);
+        return new Claim<>(value, result, false);
+    }
+    
+    private String await(CompletableFuture<String> original) {
+        try {
+            return original.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("This request is still being processed, please check again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request");
+        }
+    }
+}
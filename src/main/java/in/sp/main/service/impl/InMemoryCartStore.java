@@ -0,0 +1,59 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.service.CartStore;
+import in.sp.main.util.LongIntMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Service
+@ConditionalOnProperty(name = "cart.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCartStore implements CartStore {
+    
+    private record Entry(LongIntMap items, long expiresAtMillis) {
+        
+        boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+    
+    private final Map<String, Entry> carts = new ConcurrentHashMap<>();
+    
+    @Override
+    public LongIntMap find(String cartKey) {
+        Entry entry = carts.get(cartKey);
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            return new LongIntMap();
+        }
+        // Stored maps are never mutated once published, so copying needs no lock
+        return entry.items().copy();
+    }
+    
+    @Override
+    public LongIntMap update(String cartKey, Consumer<LongIntMap> change, Instant expiresAt) {
+        long now = System.currentTimeMillis();
+        Entry updated = carts.compute(cartKey, (key, current) -> {
+            LongIntMap items = current == null || current.isExpired(now) ? new LongIntMap() : current.items().copy();
+            change.accept(items);
+            return items.isEmpty() ? null : new Entry(items, expiresAt.toEpochMilli());
+        });
+        return updated != null ? updated.items().copy() : new LongIntMap();
+    }
+    
+    @Override
+    public void delete(String cartKey) {
+        carts.remove(cartKey);
+    }
+    
+    @Override
+    public int evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = carts.size();
+        carts.values().removeIf(entry -> entry.isExpired(now));
+        return Math.max(before - carts.size(), 0);
+    }
+}
@@ -0,0 +1,80 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.service.CartStore;
+import in.sp.main.util.LongIntMap;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps each cart as one row whose items column is the {@link LongIntMap} binary form, 12 bytes per line.
+ * The table is not a JPA entity, so it is created here if missing.
+ */
+@Service
+@ConditionalOnProperty(name = "cart.store", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcCartStore implements CartStore {
+    
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS carts ("
+            + "cart_key VARCHAR(191) NOT NULL PRIMARY KEY, "
+            + "items VARBINARY(8192) NOT NULL, "
+            + "expires_at TIMESTAMP(3) NOT NULL, "
+            + "updated_at TIMESTAMP(3) NOT NULL, "
+            + "INDEX idx_carts_expires_at (expires_at))";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    
+    @PostConstruct
+    public void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+    
+    @Override
+    public LongIntMap find(String cartKey) {
+        List<byte[]> rows = jdbcTemplate.query("SELECT items FROM carts WHERE cart_key = ? AND expires_at > ?",
+                (rs, rowNum) -> rs.getBytes(1), cartKey, Timestamp.from(Instant.now()));
+        return rows.isEmpty() ? new LongIntMap() : LongIntMap.fromBytes(rows.get(0));
+    }
+    
+    @Override
+    public LongIntMap update(String cartKey, Consumer<LongIntMap> change, Instant expiresAt) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Timestamp now = Timestamp.from(Instant.now());
+            // Makes sure a row exists to lock, so two first writes to a new cart cannot both see it missing
+            jdbcTemplate.update("INSERT IGNORE INTO carts (cart_key, items, expires_at, updated_at) VALUES (?, ?, ?, ?)",
+                    cartKey, new byte[0], Timestamp.from(expiresAt), now);
+            // Locks the row so concurrent updates of one cart apply one after another; an expired cart reads as empty
+            List<LongIntMap> rows = jdbcTemplate.query("SELECT items, expires_at > ? FROM carts WHERE cart_key = ? FOR UPDATE",
+                    (rs, rowNum) -> rs.getBoolean(2) ? LongIntMap.fromBytes(rs.getBytes(1)) : new LongIntMap(), now, cartKey);
+            LongIntMap items = rows.isEmpty() ? new LongIntMap() : rows.get(0);
+            change.accept(items);
+            if (items.isEmpty()) {
+                jdbcTemplate.update("DELETE FROM carts WHERE cart_key = ?", cartKey);
+            } else {
+                jdbcTemplate.update("UPDATE carts SET items = ?, expires_at = ?, updated_at = ? WHERE cart_key = ?",
+                        items.toBytes(), Timestamp.from(expiresAt), now, cartKey);
+            }
+            return items;
+        });
+    }
+    
+    @Override
+    public void delete(String cartKey) {
+        jdbcTemplate.update("DELETE FROM carts WHERE cart_key = ?", cartKey);
+    }
+    
+    @Override
+    public int evictExpired() {
+        return jdbcTemplate.update("DELETE FROM carts WHERE expires_at <= ?", Timestamp.from(Instant.now()));
+    }
+}
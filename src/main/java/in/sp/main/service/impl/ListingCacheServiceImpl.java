@@ -0,0 +1,100 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.event.CloudKitchenChangedEvent;
+import in.sp.main.event.HotelChangedEvent;
+import in.sp.main.event.RestaurantChangedEvent;
+import in.sp.main.repository.HotelCard;
+import in.sp.main.repository.KitchenCard;
+import in.sp.main.repository.RestaurantCard;
+import in.sp.main.service.ListingCacheService;
+import in.sp.main.util.CityListingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+public class ListingCacheServiceImpl implements ListingCacheService {
+    
+    private final CityListingCache<RestaurantCard> restaurants = new CityListingCache<>(MAX_CITIES, RestaurantCard::getId);
+    private final CityListingCache<HotelCard> hotels = new CityListingCache<>(MAX_CITIES, HotelCard::getId);
+    private final CityListingCache<KitchenCard> cloudKitchens = new CityListingCache<>(MAX_CITIES, KitchenCard::getId);
+    
+    @Override
+    public List<RestaurantCard> getRestaurants(String city, Supplier<List<RestaurantCard>> loader) {
+        return restaurants.get(city, loader);
+    }
+    
+    @Override
+    public List<HotelCard> getHotels(String city, Supplier<List<HotelCard>> loader) {
+        return hotels.get(city, loader);
+    }
+    
+    @Override
+    public List<KitchenCard> getCloudKitchens(String city, Supplier<List<KitchenCard>> loader) {
+        return cloudKitchens.get(city, loader);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        try {
+            evictRestaurant(event.restaurantId(), event.city());
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the listing cache for restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        try {
+            evictHotel(event.hotelId(), event.city());
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the listing cache for hotel {}", event.hotelId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCloudKitchenChanged(CloudKitchenChangedEvent event) {
+        try {
+            evictCloudKitchen(event.cloudKitchenId(), event.city());
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the listing cache for cloud kitchen {}", event.cloudKitchenId(), e);
+        }
+    }
+    
+    @Override
+    public void evictRestaurant(Long restaurantId, String city) {
+        restaurants.invalidate(restaurantId, city);
+    }
+    
+    @Override
+    public void evictHotel(Long hotelId, String city) {
+        hotels.invalidate(hotelId, city);
+    }
+    
+    @Override
+    public void evictCloudKitchen(Long cloudKitchenId, String city) {
+        cloudKitchens.invalidate(cloudKitchenId, city);
+    }
+    
+    @Override
+    public void evictAll() {
+        restaurants.invalidateAll();
+        hotels.invalidateAll();
+        cloudKitchens.invalidateAll();
+    }
+    
+    @Override
+    public Map<String, CityListingCache.Stats> getStats() {
+        Map<String, CityListingCache.Stats> stats = new LinkedHashMap<>();
+        stats.put("restaurants", restaurants.stats());
+        stats.put("hotels", hotels.stats());
+        stats.put("cloudKitchens", cloudKitchens.stats());
+        return stats;
+    }
+}
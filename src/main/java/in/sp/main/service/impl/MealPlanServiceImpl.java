@@ -1,6 +1,7 @@
 package in.sp.main.service.impl;
 
 import in.sp.main.entity.MealPlan;
+import in.sp.main.repository.ContentVersion;
 import in.sp.main.repository.MealPlanRepository;
 import in.sp.main.service.MealPlanService;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +41,11 @@ public class MealPlanServiceImpl implements MealPlanService {
         return mealPlanRepository.findByCloudKitchenId(cloudKitchenId);
     }
     
+    @Override
+    public ContentVersion getMealPlansVersion(Long cloudKitchenId) {
+        return mealPlanRepository.findMealPlansVersion(cloudKitchenId);
+    }
+    
     @Override
     public List<MealPlan> findByCloudKitchenIdAndIsAvailableTrue(Long cloudKitchenId) {
         return mealPlanRepository.findByCloudKitchenIdAndIsAvailableTrue(cloudKitchenId);
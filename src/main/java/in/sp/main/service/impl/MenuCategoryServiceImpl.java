@@ -0,0 +1,117 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.MenuCategory;
+import in.sp.main.repository.MenuCategoryRepository;
+import in.sp.main.repository.MenuItemRepository;
+import in.sp.main.repository.RestaurantRepository;
+import in.sp.main.service.MenuCategoryService;
+import in.sp.main.service.MenuSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MenuCategoryServiceImpl implements MenuCategoryService {
+    
+    private final MenuCategoryRepository menuCategoryRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final MenuSnapshotService menuSnapshotService;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        backfill();
+    }
+    
+    @Override
+    public List<MenuCategory> findByRestaurantId(Long restaurantId) {
+        return menuCategoryRepository.findByRestaurantIdOrdered(restaurantId);
+    }
+    
+    @Override
+    public Optional<MenuCategory> findByRestaurantIdAndName(Long restaurantId, String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+        return menuCategoryRepository.findByRestaurantIdAndName(restaurantId, name.trim());
+    }
+    
+    @Override
+    public MenuCategory resolve(Long restaurantId, String name) {
+        if (restaurantId == null || name == null || name.isBlank()) {
+            return null;
+        }
+        return findByRestaurantIdAndName(restaurantId, name)
+                .orElseGet(() -> create(restaurantId, name.trim()));
+    }
+    
+    @Override
+    public void moveItem(Long fromCategoryId, Long toCategoryId) {
+        if (Objects.equals(fromCategoryId, toCategoryId)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (fromCategoryId != null) {
+            menuCategoryRepository.adjustItemCount(fromCategoryId, -1, now);
+        }
+        if (toCategoryId != null) {
+            menuCategoryRepository.adjustItemCount(toCategoryId, 1, now);
+        }
+    }
+    
+    @Override
+    public void recount(Long restaurantId) {
+        menuCategoryRepository.recountByRestaurantId(restaurantId, LocalDateTime.now());
+    }
+    
+    @Override
+    public void reorder(Long restaurantId, List<Long> categoryIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < categoryIds.size(); i++) {
+            menuCategoryRepository.updateSortOrder(restaurantId, categoryIds.get(i), i, now);
+        }
+        menuSnapshotService.refresh(restaurantId);
+    }
+    
+    @Override
+    public void backfill() {
+        List<Object[]> unlinked = menuItemRepository.findUnlinkedCategories();
+        if (unlinked.isEmpty()) {
+            return;
+        }
+        Set<Long> restaurantIds = new HashSet<>();
+        for (Object[] row : unlinked) {
+            Long restaurantId = (Long) row[0];
+            MenuCategory category = resolve(restaurantId, (String) row[1]);
+            menuItemRepository.linkCategory(restaurantId, (String) row[1], category);
+            restaurantIds.add(restaurantId);
+        }
+        restaurantIds.forEach(this::recount);
+        log.info("Linked menu items to {} categories across {} restaurants", unlinked.size(), restaurantIds.size());
+    }
+    
+    private MenuCategory create(Long restaurantId, String name) {
+        MenuCategory category = new MenuCategory();
+        category.setName(name);
+        category.setRestaurant(restaurantRepository.getReferenceById(restaurantId));
+        category.setSortOrder(menuCategoryRepository.findMaxSortOrder(restaurantId) + 1);
+        try {
+            return menuCategoryRepository.save(category);
+        } catch (DataIntegrityViolationException e) {
+            // Another request created it first
+            return menuCategoryRepository.findByRestaurantIdAndName(restaurantId, name).orElseThrow(() -> e);
+        }
+    }
+}
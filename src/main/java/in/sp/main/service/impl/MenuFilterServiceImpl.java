@@ -0,0 +1,158 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.MenuItem;
+import in.sp.main.entity.MenuTag;
+import in.sp.main.event.MenuChangedEvent;
+import in.sp.main.event.RestaurantChangedEvent;
+import in.sp.main.repository.MenuFilterRow;
+import in.sp.main.repository.MenuItemRepository;
+import in.sp.main.repository.MenuTagRepository;
+import in.sp.main.service.MenuFilterService;
+import in.sp.main.service.MenuSnapshotService;
+import in.sp.main.util.MenuFilterIndex;
+import in.sp.main.util.MenuSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MenuFilterServiceImpl implements MenuFilterService {
+    
+    private final MenuItemRepository menuItemRepository;
+    private final MenuTagRepository menuTagRepository;
+    private final MenuSnapshotService menuSnapshotService;
+    
+    private final MenuFilterIndex index = new MenuFilterIndex();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+    
+    @Override
+    public List<MenuSnapshot.Item> filter(Long restaurantId, String city, Collection<String> tags, boolean matchAll,
+                                          Collection<MenuItem.FoodType> foodTypes, boolean availableOnly, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        MenuFilterIndex.Query query = new MenuFilterIndex.Query(
+                matchAll ? tags : null, matchAll ? null : tags, foodTypes, availableOnly);
+        List<Long> ids;
+        if (restaurantId != null) {
+            ids = index.findInRestaurant(restaurantId, query, size);
+        } else if (city != null && !city.isBlank()) {
+            ids = index.findInCity(city, query, size);
+        } else {
+            return List.of();
+        }
+        // Item details come from the menu snapshots, which are as current as the index
+        return ids.stream()
+                .map(menuSnapshotService::findItem)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+    
+    @Override
+    public Set<String> getTags() {
+        return index.getTags();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeRestaurant(event.restaurantId());
+            } else {
+                updateRestaurantCity(event.restaurantId(), event.city());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the menu filter index for restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        try {
+            if (event.isBulk()) {
+                if (event.restaurantId() != null) {
+                    indexRestaurant(event.restaurantId());
+                }
+            } else if (event.saved().isEmpty()) {
+                removeMenuItem(event.removed().get(0));
+            } else {
+                indexMenuItem(event.saved().get(0).getId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the menu filter index for menu of restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @Override
+    public void indexMenuItem(Long menuItemId) {
+        menuItemRepository.findFilterRowById(menuItemId).ifPresentOrElse(this::put, () -> index.remove(menuItemId));
+    }
+    
+    @Override
+    public void removeMenuItem(Long menuItemId) {
+        index.remove(menuItemId);
+    }
+    
+    @Override
+    public void indexRestaurant(Long restaurantId) {
+        index.removeRestaurant(restaurantId);
+        menuItemRepository.findFilterRowsByRestaurantId(restaurantId).forEach(this::put);
+    }
+    
+    @Override
+    public void updateRestaurantCity(Long restaurantId, String city) {
+        index.updateCity(restaurantId, city);
+    }
+    
+    @Override
+    public void removeRestaurant(Long restaurantId) {
+        index.removeRestaurant(restaurantId);
+    }
+    
+    @Override
+    public void rebuild() {
+        index.clear();
+        // Known tags first, so bits follow dictionary order and only new tags are written back
+        List<String> known = menuTagRepository.findAllNames();
+        known.forEach(index::register);
+        List<MenuFilterRow> rows = menuItemRepository.findAllFilterRows();
+        rows.forEach(this::put);
+        log.info("Indexed {} menu items for filtering ({} tags, {} previously known)", rows.size(), index.getTags().size(), known.size());
+    }
+    
+    private void put(MenuFilterRow row) {
+        List<String> tags = MenuFilterIndex.parseTags(row.getTags());
+        for (String tag : tags) {
+            if (index.bitOf(tag) < 0) {
+                remember(tag);
+            }
+        }
+        index.put(row.getId(), row.getRestaurantId(), row.getCity(), row.getFoodType(), row.getAvailable(), tags);
+    }
+    
+    private void remember(String tag) {
+        if (menuTagRepository.existsByName(tag)) {
+            return;
+        }
+        MenuTag menuTag = new MenuTag();
+        menuTag.setName(tag);
+        try {
+            menuTagRepository.save(menuTag);
+        } catch (DataIntegrityViolationException e) {
+            // Added concurrently; the dictionary already has it
+        }
+    }
+}
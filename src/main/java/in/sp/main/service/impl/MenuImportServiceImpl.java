@@ -0,0 +1,285 @@
+package in.sp.main.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.sp.main.entity.MenuCategory;
+import in.sp.main.entity.MenuItem;
+import in.sp.main.event.MenuChangedEvent;
+import in.sp.main.repository.MenuItemRepository;
+import in.sp.main.service.MenuCategoryService;
+import in.sp.main.service.MenuImportService;
+import in.sp.main.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MenuImportServiceImpl implements MenuImportService {
+    
+    // Inserted straight through JDBC: Hibernate cannot batch inserts into an IDENTITY-keyed table
+    private static final String INSERT_SQL = "INSERT INTO menu_items "
+            + "(dish_name, description, price, category, category_id, food_type, tags, is_available, image_url, restaurant_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final int MAX_TEXT_LENGTH = 255;
+    
+    private static final Set<String> COLUMNS = Set.of(
+            "dishname", "description", "price", "category", "foodtype", "tags", "available", "imageurl");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final MenuItemRepository menuItemRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final MenuCategoryService menuCategoryService;
+    
+    @Value("${menu.import.batch-size:500}")
+    private int batchSize;
+    
+    @Override
+    public ImportReport importMenu(Long restaurantId, InputStream input, Format format) throws IOException {
+        Batch batch = new Batch(restaurantId);
+        Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+        if (format == Format.JSON) {
+            readJson(reader, batch);
+        } else {
+            readCsv(reader, batch);
+        }
+        batch.flush();
+        
+        if (batch.imported > 0) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                // One set-based recount instead of a count adjustment per inserted row
+                menuCategoryService.recount(restaurantId);
+                // Ids were assigned by the database, so pick the new rows up from there
+                List<MenuItem> items = menuItemRepository.findByRestaurantId(restaurantId);
+                applicationEventPublisher.publishEvent(MenuChangedEvent.bulk(restaurantId, items));
+            });
+        }
+        log.info("Menu import for restaurant {}: {} imported, {} failed", restaurantId, batch.imported, batch.failed);
+        return new ImportReport(batch.imported, batch.failed, List.copyOf(batch.errors));
+    }
+    
+    private void readCsv(Reader reader, Batch batch) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        List<String> columns = header.stream().map(MenuImportServiceImpl::normalizeKey).toList();
+        if (!columns.contains("dishname") || !columns.contains("price")) {
+            throw new IllegalArgumentException("CSV header must include dishName and price columns");
+        }
+        
+        List<String> record;
+        while (true) {
+            try {
+                record = csv.next();
+            } catch (IllegalArgumentException e) {
+                // An unclosed quote swallows the rest of the file, so nothing after it can be read
+                batch.reject(csv.getRecordLine(), e.getMessage());
+                return;
+            }
+            if (record == null) {
+                return;
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < columns.size() && i < record.size(); i++) {
+                fields.put(columns.get(i), record.get(i));
+            }
+            batch.add(csv.getRecordLine(), fields);
+        }
+    }
+    
+    private void readJson(Reader reader, Batch batch) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(reader)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON menu must be an array of objects");
+            }
+            long row = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                row++;
+                Map<?, ?> object = parser.readValueAs(Map.class);
+                Map<String, String> fields = new HashMap<>();
+                object.forEach((key, value) -> fields.put(normalizeKey(String.valueOf(key)), jsonText(value)));
+                batch.add(row, fields);
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("JSON menu must be an array of objects");
+            }
+        }
+    }
+    
+    /**
+     * Builds the insert arguments for one row.
+     *
+     * @throws IllegalArgumentException describing the first invalid field
+     */
+    private static Object[] toArguments(Map<String, String> fields, Long restaurantId, Timestamp now,
+                                        Function<String, MenuCategory> categories) {
+        String dishName = text(fields, "dishname");
+        if (dishName == null) {
+            throw new IllegalArgumentException("dishName is required");
+        }
+        String priceText = text(fields, "price");
+        if (priceText == null) {
+            throw new IllegalArgumentException("price is required");
+        }
+        double price;
+        try {
+            price = Double.parseDouble(priceText);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price '" + priceText + "' is not a number");
+        }
+        if (!(price > 0) || Double.isInfinite(price)) {
+            throw new IllegalArgumentException("price must be positive");
+        }
+        String foodTypeText = text(fields, "foodtype");
+        MenuItem.FoodType foodType;
+        try {
+            foodType = foodTypeText == null ? MenuItem.FoodType.VEG
+                    : MenuItem.FoodType.valueOf(foodTypeText.toUpperCase().replace('-', '_').replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("foodType must be one of VEG, NON_VEG, EGG");
+        }
+        String availableText = text(fields, "available");
+        boolean available = true;
+        if (availableText != null) {
+            if (availableText.equalsIgnoreCase("true") || availableText.equals("1") || availableText.equalsIgnoreCase("yes")) {
+                available = true;
+            } else if (availableText.equalsIgnoreCase("false") || availableText.equals("0") || availableText.equalsIgnoreCase("no")) {
+                available = false;
+            } else {
+                throw new IllegalArgumentException("available must be true or false");
+            }
+        }
+        MenuCategory category = categories.apply(text(fields, "category"));
+        return new Object[] {
+                dishName, text(fields, "description"), price,
+                category != null ? category.getName() : null, category != null ? category.getId() : null, foodType.name(),
+                text(fields, "tags"), available, text(fields, "imageurl"), restaurantId, now, now
+        };
+    }
+    
+    private static String text(Map<String, String> fields, String key) {
+        String value = fields.get(key);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(key + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+    
+    private static String jsonText(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(String::valueOf).collect(Collectors.joining(","));
+        }
+        return String.valueOf(value);
+    }
+    
+    private static String normalizeKey(String key) {
+        return key.trim().toLowerCase().replace("_", "").replace(" ", "").replace("isavailable", "available");
+    }
+    
+    /**
+     * Accumulates valid rows and writes them one batch per transaction, so a failed batch never
+     * undoes rows that were already reported as imported.
+     */
+    private class Batch {
+        
+        private final Long restaurantId;
+        private final List<Object[]> rows = new ArrayList<>();
+        private final List<Long> rowNumbers = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private final Map<String, MenuCategory> categories = new HashMap<>();
+        private final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        private int imported;
+        private int failed;
+        
+        Batch(Long restaurantId) {
+            this.restaurantId = restaurantId;
+        }
+        
+        void add(long row, Map<String, String> fields) {
+            fields.keySet().retainAll(COLUMNS);
+            try {
+                rows.add(toArguments(fields, restaurantId, Timestamp.valueOf(LocalDateTime.now()), this::category));
+                rowNumbers.add(row);
+            } catch (IllegalArgumentException e) {
+                reject(row, e.getMessage());
+                return;
+            }
+            if (rows.size() >= Math.max(1, batchSize)) {
+                flush();
+            }
+        }
+        
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+                imported += rows.size();
+            } catch (DataAccessException e) {
+                // Rolled back as a whole; replay row by row so only the offending rows are reported
+                log.warn("Menu import batch of {} rows failed, retrying individually", rows.size(), e);
+                for (int i = 0; i < rows.size(); i++) {
+                    try {
+                        jdbcTemplate.update(INSERT_SQL, rows.get(i));
+                        imported++;
+                    } catch (DataAccessException rowFailure) {
+                        reject(rowNumbers.get(i), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                    }
+                }
+            }
+            rows.clear();
+            rowNumbers.clear();
+        }
+        
+        private MenuCategory category(String name) {
+            if (name == null) {
+                return null;
+            }
+            return categories.computeIfAbsent(name, key -> menuCategoryService.resolve(restaurantId, key));
+        }
+        
+        void reject(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(row, message));
+            }
+        }
+    }
+}
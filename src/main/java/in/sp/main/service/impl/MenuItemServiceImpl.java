@@ -1,38 +1,83 @@
 package in.sp.main.service.impl;
 
+import in.sp.main.entity.MenuCategory;
 import in.sp.main.entity.MenuItem;
+import in.sp.main.event.MenuChangedEvent;
+import in.sp.main.repository.Keyset;
 import in.sp.main.repository.MenuItemRepository;
+import in.sp.main.service.MenuCategoryService;
 import in.sp.main.service.MenuItemService;
+import in.sp.main.service.SearchIndexService;
+import in.sp.main.util.IdOrdering;
+import in.sp.main.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class MenuItemServiceImpl implements MenuItemService {
     
+    private static final Keyset<MenuItem, String> BY_DISH_NAME =
+            Keyset.ascending("dishName", MenuItem::getDishName, name -> name, MenuItem::getId);
+    
     private final MenuItemRepository menuItemRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final SearchIndexService searchIndexService;
+    private final MenuCategoryService menuCategoryService;
     
     @Override
     public List<MenuItem> findAll() {
         return menuItemRepository.findAll();
     }
     
+    @Override
+    public KeysetPage<MenuItem> findPage(Long restaurantId, String cursor, Integer size) {
+        Specification<MenuItem> filter = restaurantId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("restaurant").get("id"), restaurantId);
+        return BY_DISH_NAME.fetch(menuItemRepository, filter, cursor, size);
+    }
+    
     @Override
     public Optional<MenuItem> findById(Long id) {
         return menuItemRepository.findById(id);
     }
     
     @Override
+    @Transactional
     public MenuItem save(MenuItem menuItem) {
-        return menuItemRepository.save(menuItem);
+        // The row and its category counts commit together, so a failed save cannot leave a count moved
+        Long previousCategoryId = menuItem.getId() != null
+                ? menuItemRepository.findMenuCategoryIdById(menuItem.getId()).orElse(null)
+                : null;
+        Long restaurantId = menuItem.getRestaurant() != null ? menuItem.getRestaurant().getId() : null;
+        MenuCategory category = menuCategoryService.resolve(restaurantId, menuItem.getCategory());
+        menuItem.setMenuCategory(category);
+        if (category != null) {
+            menuItem.setCategory(category.getName());
+        }
+        MenuItem written = menuItemRepository.save(menuItem);
+        menuCategoryService.moveItem(previousCategoryId, category != null ? category.getId() : null);
+        applicationEventPublisher.publishEvent(MenuChangedEvent.saved(written));
+        return written;
     }
     
     @Override
+    @Transactional
     public void deleteById(Long id) {
+        Optional<Long> restaurantId = menuItemRepository.findRestaurantIdById(id);
+        Optional<Long> categoryId = menuItemRepository.findMenuCategoryIdById(id);
         menuItemRepository.deleteById(id);
+        categoryId.ifPresent(previous -> menuCategoryService.moveItem(previous, null));
+        applicationEventPublisher.publishEvent(MenuChangedEvent.removed(restaurantId.orElse(null), id));
     }
     
     @Override
@@ -52,6 +97,61 @@ public class MenuItemServiceImpl implements MenuItemService {
     
     @Override
     public List<MenuItem> findByRestaurantIdAndCategory(Long restaurantId, String category) {
-        return menuItemRepository.findByRestaurantIdAndCategory(restaurantId, category);
+        return menuCategoryService.findByRestaurantIdAndName(restaurantId, category)
+                .map(found -> menuItemRepository.findByMenuCategoryId(found.getId()))
+                .orElse(List.of());
+    }
+    
+    @Override
+    public List<MenuItem> findByRestaurantIdAndDishNameContaining(Long restaurantId, String dishName) {
+        List<Long> ids = searchIndexService.searchMenuItems(restaurantId, dishName);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return IdOrdering.inOrderOf(ids, menuItemRepository.findAllById(ids), MenuItem::getId);
+    }
+    
+    @Override
+    @Transactional
+    public int updateAvailability(Long restaurantId, Collection<Long> menuItemIds, boolean available) {
+        if (menuItemIds == null || menuItemIds.isEmpty()) {
+            return 0;
+        }
+        int updated = menuItemRepository.updateAvailabilityByIds(restaurantId, menuItemIds, available, LocalDateTime.now());
+        if (updated > 0) {
+            applicationEventPublisher.publishEvent(MenuChangedEvent.bulk(restaurantId, List.of()));
+        }
+        return updated;
+    }
+    
+    @Override
+    @Transactional
+    public int updateAvailabilityByCategory(Long restaurantId, String category, boolean available) {
+        Optional<MenuCategory> menuCategory = menuCategoryService.findByRestaurantIdAndName(restaurantId, category);
+        if (menuCategory.isEmpty()) {
+            return 0;
+        }
+        int updated = menuItemRepository.updateAvailabilityByMenuCategoryId(restaurantId, menuCategory.get().getId(),
+                available, LocalDateTime.now());
+        if (updated > 0) {
+            applicationEventPublisher.publishEvent(MenuChangedEvent.bulk(restaurantId, List.of()));
+        }
+        return updated;
+    }
+    
+    @Override
+    @Transactional
+    public int updateAvailabilityByTag(Long restaurantId, String tag, boolean available) {
+        if (tag == null || tag.isBlank()) {
+            return 0;
+        }
+        String wanted = tag.replace(" ", "").toLowerCase(Locale.ROOT)
+                .replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        int updated = menuItemRepository.updateAvailabilityByTagPattern(restaurantId, "%," + wanted + ",%",
+                available, LocalDateTime.now());
+        if (updated > 0) {
+            applicationEventPublisher.publishEvent(MenuChangedEvent.bulk(restaurantId, List.of()));
+        }
+        return updated;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.MenuCategory;
+import in.sp.main.event.MenuChangedEvent;
+import in.sp.main.event.RestaurantChangedEvent;
+import in.sp.main.repository.MenuCategoryRepository;
+import in.sp.main.repository.MenuItemRepository;
+import in.sp.main.service.MenuSnapshotService;
+import in.sp.main.util.MenuSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MenuSnapshotServiceImpl implements MenuSnapshotService {
+    
+    private final MenuItemRepository menuItemRepository;
+    private final MenuCategoryRepository menuCategoryRepository;
+    
+    private final Map<Long, MenuSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    // Which restaurant each loaded item belongs to, so single-item lookups skip the database
+    private final Map<Long, Long> itemRestaurants = new ConcurrentHashMap<>();
+    
+    @Override
+    public MenuSnapshot getMenu(Long restaurantId) {
+        MenuSnapshot snapshot = snapshots.get(restaurantId);
+        return snapshot != null ? snapshot : load(restaurantId);
+    }
+    
+    @Override
+    public Optional<MenuSnapshot.Item> findItem(Long menuItemId) {
+        if (menuItemId == null) {
+            return Optional.empty();
+        }
+        Long restaurantId = itemRestaurants.get(menuItemId);
+        if (restaurantId == null) {
+            Optional<Long> owner = menuItemRepository.findRestaurantIdById(menuItemId);
+            if (owner.isEmpty()) {
+                return Optional.empty();
+            }
+            restaurantId = owner.get();
+        }
+        return Optional.ofNullable(getMenu(restaurantId).findItem(menuItemId));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                evict(event.restaurantId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the menu snapshot for restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        try {
+            refresh(event.restaurantId());
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the menu snapshot for menu of restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @Override
+    public void refresh(Long restaurantId) {
+        if (restaurantId != null) {
+            load(restaurantId);
+        }
+    }
+    
+    @Override
+    public void evict(Long restaurantId) {
+        if (restaurantId != null) {
+            MenuSnapshot removed = snapshots.remove(restaurantId);
+            if (removed != null) {
+                removed.getItems().forEach(item -> itemRestaurants.remove(item.id()));
+            }
+        }
+    }
+    
+    private MenuSnapshot load(Long restaurantId) {
+        // The version is taken before reading, so a load that started earlier can never replace
+        // one that started later, whichever finishes first
+        long version = versions.incrementAndGet();
+        List<String> categoryOrder = menuCategoryRepository.findByRestaurantIdOrdered(restaurantId).stream()
+                .map(MenuCategory::getName)
+                .toList();
+        MenuSnapshot fresh = MenuSnapshot.of(restaurantId, version, menuItemRepository.findByRestaurantId(restaurantId), categoryOrder);
+        MenuSnapshot previous = snapshots.get(restaurantId);
+        MenuSnapshot current = snapshots.merge(restaurantId, fresh,
+                (existing, candidate) -> candidate.getVersion() > existing.getVersion() ? candidate : existing);
+        if (current == fresh) {
+            fresh.getItems().forEach(item -> itemRestaurants.put(item.id(), restaurantId));
+            if (previous != null) {
+                // Items deleted since the previous snapshot; a miss simply falls back to the database
+                previous.getItems().stream()
+                        .filter(item -> fresh.findItem(item.id()) == null)
+                        .forEach(item -> itemRestaurants.remove(item.id(), restaurantId));
+            }
+        }
+        return current;
+    }
+}
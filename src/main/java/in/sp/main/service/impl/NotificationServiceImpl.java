@@ -0,0 +1,79 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.User;
+import in.sp.main.event.DomainEvent;
+import in.sp.main.repository.UserRepository;
+import in.sp.main.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Emails the customer when {@code notifications.email.enabled} is set, otherwise only logs the message.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationServiceImpl implements NotificationService {
+    
+    private final UserRepository userRepository;
+    private final JavaMailSender mailSender;
+    
+    @Value("${notifications.email.enabled:false}")
+    private boolean emailEnabled;
+    
+    @Value("${spring.mail.username:}")
+    private String fromEmail;
+    
+    @Override
+    public void notify(DomainEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        String text = message(event);
+        if (!emailEnabled) {
+            log.info("Notification for user {}: {}", event.userId(), text);
+            return;
+        }
+        Optional<User> user = userRepository.findById(event.userId());
+        if (user.isEmpty() || user.get().getEmail() == null) {
+            return;
+        }
+        try {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(user.get().getEmail());
+            message.setSubject("Spincery - " + subject(event.aggregate()) + " update");
+            message.setText(String.format("Hello %s,\n\n%s\n\nBest regards,\nSpincery Team", user.get().getName(), text));
+            mailSender.send(message);
+        } catch (Exception e) {
+            // A lost notification must not fail or retry the event
+            log.warn("Failed to send notification for {} {} to user {}", event.aggregate(), event.aggregateId(), event.userId(), e);
+        }
+    }
+    
+    private static String message(DomainEvent event) {
+        String subject = "Your " + subject(event.aggregate()).toLowerCase(Locale.ROOT)
+                + (event.reference() != null ? " " + event.reference() : "");
+        if (event.type() == DomainEvent.Type.CREATED) {
+            return subject + " has been received.";
+        }
+        String status = event.status() != null ? event.status().replace('_', ' ').toLowerCase(Locale.ROOT) : "updated";
+        return subject + " is now " + status + ".";
+    }
+    
+    private static String subject(DomainEvent.Aggregate aggregate) {
+        return switch (aggregate) {
+            case FOOD_ORDER -> "Order";
+            case ROOM_BOOKING -> "Room booking";
+            case TABLE_BOOKING -> "Table booking";
+            case SUBSCRIPTION -> "Meal plan subscription";
+        };
+    }
+}
@@ -0,0 +1,231 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.Restaurant;
+import in.sp.main.event.RestaurantChangedEvent;
+import in.sp.main.repository.RestaurantRepository;
+import in.sp.main.service.ListingCacheService;
+import in.sp.main.service.OpenNowService;
+import in.sp.main.service.RankingService;
+import in.sp.main.util.WeeklySchedule;
+import in.sp.main.util.WeeklyTimingWheel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OpenNowServiceImpl implements OpenNowService {
+    
+    private static final int UPDATE_BATCH_SIZE = 500;
+    
+    private final RestaurantRepository restaurantRepository;
+    private final ListingCacheService listingCacheService;
+    private final RankingService rankingService;
+    
+    @Value("${restaurant.hours.time-zone:Asia/Kolkata}")
+    private String timeZone;
+    
+    private final Map<Long, Listing> listings = new ConcurrentHashMap<>();
+    private final Set<Long> openIds = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Long>> openByCity = new ConcurrentHashMap<>();
+    private final WeeklyTimingWheel wheel = new WeeklyTimingWheel();
+    private int lastTickMinute = -1;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+    
+    @Override
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        listings.clear();
+        openIds.clear();
+        openByCity.clear();
+        wheel.clear();
+        restaurantRepository.findByIsActiveTrue().forEach(this::register);
+        lastTickMinute = currentMinuteOfWeek();
+        // Anything toggled while the application was down is brought back in line with its hours
+        int flipped = apply(listings.keySet(), lastTickMinute);
+        log.info("Open-now index built in {} ms: {} restaurants, {} scheduled, {} open, {} flipped",
+                System.currentTimeMillis() - start, listings.size(), wheel.size(), openIds.size(), flipped);
+    }
+    
+    /**
+     * Runs on every node on purpose: each node flips its own in-memory view at the boundary.
+     */
+    @Override
+    @Scheduled(cron = "0 * * * * *")
+    public synchronized void tick() {
+        int now = currentMinuteOfWeek();
+        int from = lastTickMinute < 0 ? now : lastTickMinute;
+        lastTickMinute = now;
+        Set<Long> due = wheel.due(from, now);
+        if (!due.isEmpty()) {
+            int flipped = apply(due, now);
+            log.debug("Open-now tick at minute {}: {} due, {} flipped", now, due.size(), flipped);
+        }
+    }
+    
+    @Override
+    public boolean isOpen(Long restaurantId) {
+        return restaurantId != null && openIds.contains(restaurantId);
+    }
+    
+    @Override
+    public Set<Long> findOpenInCity(String city) {
+        if (city == null || city.isBlank()) {
+            return Set.of();
+        }
+        Set<Long> open = openByCity.get(key(city));
+        return open != null ? Collections.unmodifiableSet(open) : Set.of();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeRestaurant(event.restaurantId());
+            } else {
+                indexRestaurant(event.restaurant());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the open-now index for restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @Override
+    public synchronized void indexRestaurant(Restaurant restaurant) {
+        if (restaurant.getId() == null) {
+            return;
+        }
+        if (restaurant.isActive()) {
+            register(restaurant);
+        } else {
+            removeRestaurant(restaurant.getId());
+        }
+    }
+    
+    @Override
+    public synchronized void removeRestaurant(Long restaurantId) {
+        Listing previous = listings.remove(restaurantId);
+        wheel.remove(restaurantId);
+        if (previous != null) {
+            markClosed(restaurantId, previous.city());
+        }
+    }
+    
+    private void register(Restaurant restaurant) {
+        Long id = restaurant.getId();
+        WeeklySchedule schedule = WeeklySchedule.parse(restaurant.getOpeningTime(), restaurant.getClosingTime(),
+                restaurant.getWorkingDays(), restaurant.getWeeklyOff());
+        Listing listing = new Listing(key(restaurant.getCity()), restaurant.getCity(), schedule);
+        Listing previous = listings.put(id, listing);
+        if (previous != null) {
+            markClosed(id, previous.city());
+        }
+        if (schedule != null) {
+            wheel.put(id, schedule);
+        } else {
+            wheel.remove(id);
+        }
+        if (Boolean.TRUE.equals(restaurant.getIsOpen())) {
+            markOpen(id, listing.city());
+        }
+    }
+    
+    /**
+     * Moves the given restaurants to the state their schedule gives for {@code minuteOfWeek},
+     * writing only the ones that change, in batched UPDATEs.
+     */
+    private int apply(Collection<Long> ids, int minuteOfWeek) {
+        List<Long> toOpen = new ArrayList<>();
+        List<Long> toClose = new ArrayList<>();
+        for (Long id : ids) {
+            Listing listing = listings.get(id);
+            if (listing == null || listing.schedule() == null) {
+                continue;
+            }
+            boolean shouldBeOpen = listing.schedule().isOpenAt(minuteOfWeek);
+            if (shouldBeOpen != openIds.contains(id)) {
+                (shouldBeOpen ? toOpen : toClose).add(id);
+            }
+        }
+        update(toOpen, true);
+        update(toClose, false);
+        return toOpen.size() + toClose.size();
+    }
+    
+    private void update(List<Long> ids, boolean open) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += UPDATE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + UPDATE_BATCH_SIZE, ids.size()));
+            try {
+                restaurantRepository.updateOpenStatus(batch, open, now);
+            } catch (Exception e) {
+                // Leave the in-memory state alone so the next rebuild or boundary retries these rows
+                log.error("Failed to set isOpen={} for {} restaurants", open, batch.size(), e);
+                continue;
+            }
+            for (Long id : batch) {
+                Listing listing = listings.get(id);
+                if (listing == null) {
+                    continue;
+                }
+                if (open) {
+                    markOpen(id, listing.city());
+                } else {
+                    markClosed(id, listing.city());
+                }
+                listingCacheService.evictRestaurant(id, listing.rawCity());
+                rankingService.updateOpen(id, open);
+            }
+        }
+    }
+    
+    private void markOpen(Long id, String city) {
+        openIds.add(id);
+        if (city != null) {
+            openByCity.computeIfAbsent(city, c -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+    
+    private void markClosed(Long id, String city) {
+        openIds.remove(id);
+        if (city != null) {
+            Set<Long> open = openByCity.get(city);
+            if (open != null) {
+                open.remove(id);
+            }
+        }
+    }
+    
+    private int currentMinuteOfWeek() {
+        LocalDateTime now = LocalDateTime.now(ZoneId.of(timeZone));
+        return WeeklySchedule.minuteOfWeek(now.getDayOfWeek(), now.toLocalTime());
+    }
+    
+    private static String key(String city) {
+        return city != null ? city.trim().toLowerCase(Locale.ROOT) : null;
+    }
+    
+    private record Listing(String city, String rawCity, WeeklySchedule schedule) {
+    }
+}
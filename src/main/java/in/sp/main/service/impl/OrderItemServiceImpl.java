@@ -1,9 +1,12 @@
 package in.sp.main.service.impl;
 
 import in.sp.main.entity.OrderItem;
+import in.sp.main.repository.Keyset;
 import in.sp.main.repository.OrderItemRepository;
 import in.sp.main.service.OrderItemService;
+import in.sp.main.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,6 +16,8 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OrderItemServiceImpl implements OrderItemService {
     
+    private static final Keyset<OrderItem, Long> NEWEST_FIRST = Keyset.byId(OrderItem::getId, true);
+    
     private final OrderItemRepository orderItemRepository;
     
     @Override
@@ -20,6 +25,17 @@ public class OrderItemServiceImpl implements OrderItemService {
         return orderItemRepository.findAll();
     }
     
+    @Override
+    public KeysetPage<OrderItem> findPage(Long restaurantId, Long userId, String cursor, Integer size) {
+        Specification<OrderItem> filter = null;
+        if (restaurantId != null) {
+            filter = (root, query, cb) -> cb.equal(root.get("menuItem").get("restaurant").get("id"), restaurantId);
+        } else if (userId != null) {
+            filter = (root, query, cb) -> cb.equal(root.get("foodOrder").get("user").get("id"), userId);
+        }
+        return NEWEST_FIRST.fetch(orderItemRepository, filter, cursor, size);
+    }
+    
     @Override
     public Optional<OrderItem> findById(Long id) {
         return orderItemRepository.findById(id);
@@ -0,0 +1,156 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.entity.MenuItem;
+import in.sp.main.entity.Restaurant;
+import in.sp.main.entity.User;
+import in.sp.main.event.DomainEvent;
+import in.sp.main.repository.FoodOrderRepository;
+import in.sp.main.service.CartPricingService;
+import in.sp.main.service.CartService;
+import in.sp.main.service.DeliveryEtaService;
+import in.sp.main.service.DomainEventPublisher;
+import in.sp.main.service.OpenNowService;
+import in.sp.main.service.OrderPlacementService;
+import in.sp.main.service.ReferenceNumberService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderPlacementServiceImpl implements OrderPlacementService {
+    
+    // Inserted straight through JDBC: Hibernate cannot batch inserts into an IDENTITY-keyed table
+    private static final String INSERT_ITEM_SQL = "INSERT INTO order_items "
+            + "(food_order_id, menu_item_id, quantity, price, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private final CartService cartService;
+    private final CartPricingService cartPricingService;
+    private final OpenNowService openNowService;
+    private final DomainEventPublisher domainEventPublisher;
+    private final DeliveryEtaService deliveryEtaService;
+    private final ReferenceNumberService referenceNumberService;
+    private final FoodOrderRepository foodOrderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    
+    @Value("${order.delivery-fee:0}")
+    private double deliveryFee;
+    
+    @Value("${order.placement.latency-budget:PT0.25S}")
+    private Duration latencyBudget;
+    
+    @Override
+    public double getDeliveryFee() {
+        return deliveryFee;
+    }
+    
+    @Override
+    public List<FoodOrder> placeOrder(String cartKey, User user, String deliveryAddress, String paymentMethod) {
+        if (deliveryAddress == null || deliveryAddress.isBlank()) {
+            throw new IllegalArgumentException("A delivery address is required");
+        }
+        long started = System.nanoTime();
+        // Read the cart before the transaction; pricing inside it sees the menu as of the write
+        Map<Long, Integer> quantities = cartService.getItems(cartKey);
+        
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<FoodOrder> orders = transaction.execute(status -> {
+            CartPricingService.PricedCart cart = cartPricingService.price(quantities);
+            if (!cart.soldOut().isEmpty()) {
+                throw new IllegalStateException("Remove sold-out dishes before placing the order: " + cart.soldOut().stream()
+                        .map(MenuItem::getDishName).collect(Collectors.joining(", ")));
+            }
+            if (cart.isEmpty()) {
+                throw new IllegalStateException("Your cart is empty");
+            }
+            
+            // Keyed by id: Restaurant's generated equals would walk its lazy collections
+            Map<Long, List<CartPricingService.Line>> byRestaurant = new LinkedHashMap<>();
+            for (CartPricingService.Line line : cart.lines()) {
+                byRestaurant.computeIfAbsent(line.menuItem().getRestaurant().getId(), id -> new ArrayList<>()).add(line);
+            }
+            List<FoodOrder> placed = new ArrayList<>();
+            List<Object[]> itemRows = new ArrayList<>(cart.lines().size());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (List<CartPricingService.Line> lines : byRestaurant.values()) {
+                Restaurant restaurant = lines.get(0).menuItem().getRestaurant();
+                if (!openNowService.isOpen(restaurant.getId())) {
+                    throw new IllegalStateException(restaurant.getRestaurantName() + " is currently closed and cannot accept orders.");
+                }
+                FoodOrder order = foodOrderRepository.save(newOrder(restaurant, lines, user, deliveryAddress, paymentMethod));
+                for (CartPricingService.Line line : lines) {
+                    itemRows.add(new Object[] {
+                            order.getId(), line.menuItem().getId(), line.quantity(), line.menuItem().getPrice(), now, now
+                    });
+                }
+                placed.add(order);
+                domainEventPublisher.publish(DomainEvent.of(order, null));
+            }
+            // The orders were inserted on save (IDENTITY), so their ids are ready for one batched item insert
+            jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, itemRows);
+            return placed;
+        });
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Joined an outer transaction, such as an idempotent request's: wait for it to commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cartService.clear(cartKey);
+                }
+            });
+        } else {
+            cartService.clear(cartKey);
+        }
+        
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        if (elapsed.compareTo(latencyBudget) > 0) {
+            log.warn("Placing {} order(s) for cart {} took {} ms, over the {} ms budget",
+                    orders.size(), cartKey, elapsed.toMillis(), latencyBudget.toMillis());
+        } else {
+            log.debug("Placed {} order(s) for cart {} in {} ms", orders.size(), cartKey, elapsed.toMillis());
+        }
+        return orders;
+    }
+    
+    private FoodOrder newOrder(Restaurant restaurant, List<CartPricingService.Line> lines, User user,
+                               String deliveryAddress, String paymentMethod) {
+        double subtotal = lines.stream().mapToDouble(CartPricingService.Line::lineTotal).sum();
+        double packaging = restaurant.getPackagingCharges() != null && restaurant.getPackagingCharges() > 0
+                ? restaurant.getPackagingCharges() : 0;
+        FoodOrder order = new FoodOrder();
+        order.setOrderNumber(referenceNumberService.next(ReferenceNumberService.Kind.FOOD_ORDER));
+        order.setUser(user);
+        order.setRestaurant(restaurant);
+        order.setDeliveryAddress(deliveryAddress.trim());
+        order.setStatus(FoodOrder.OrderStatus.PENDING);
+        order.setSubtotal(subtotal);
+        order.setPackagingCharges(packaging);
+        order.setDeliveryCharges(deliveryFee);
+        order.setDiscount(0.0);
+        order.setTotalAmount(subtotal + packaging + deliveryFee);
+        order.setPaymentMethod(paymentMethod);
+        order.setPaymentStatus("PENDING");
+        deliveryEtaService.seedPreparationTime(restaurant.getId(), restaurant.getAvgPreparationTime());
+        order.setEstimatedDeliveryTime(deliveryEtaService.estimate(restaurant.getId(), FoodOrder.OrderStatus.PENDING, LocalDateTime.now()));
+        return order;
+    }
+}
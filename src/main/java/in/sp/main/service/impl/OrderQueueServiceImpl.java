@@ -0,0 +1,80 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.event.DomainEvent;
+import in.sp.main.repository.FoodOrderRepository;
+import in.sp.main.service.OrderQueueService;
+import in.sp.main.util.OrderQueueBoard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A restaurant's board is read from the database the first time it is asked for and kept current from
+ * food order events after that; with Kafka every node receives them, so each node's board stays complete.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderQueueServiceImpl implements OrderQueueService {
+    
+    private static final Set<FoodOrder.OrderStatus> ACTIVE = EnumSet.of(FoodOrder.OrderStatus.PENDING,
+            FoodOrder.OrderStatus.CONFIRMED, FoodOrder.OrderStatus.PREPARING,
+            FoodOrder.OrderStatus.READY_FOR_PICKUP, FoodOrder.OrderStatus.ON_THE_WAY);
+    
+    private final FoodOrderRepository foodOrderRepository;
+    
+    private final OrderQueueBoard board = new OrderQueueBoard();
+    
+    @Override
+    public Map<FoodOrder.OrderStatus, List<OrderQueueBoard.Entry>> getActiveOrders(Long restaurantId) {
+        ensureLoaded(restaurantId);
+        return board.snapshot(restaurantId);
+    }
+    
+    @Override
+    public List<Long> getActiveOrderIds(Long restaurantId, FoodOrder.OrderStatus status) {
+        ensureLoaded(restaurantId);
+        return board.orderIds(restaurantId, status);
+    }
+    
+    @Override
+    public int countActive(Long restaurantId, FoodOrder.OrderStatus status) {
+        ensureLoaded(restaurantId);
+        return board.count(restaurantId, status);
+    }
+    
+    @Override
+    public long getRevision(Long restaurantId) {
+        ensureLoaded(restaurantId);
+        return board.revision(restaurantId);
+    }
+    
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.aggregate() != DomainEvent.Aggregate.FOOD_ORDER || event.ownerId() == null || event.status() == null) {
+            return;
+        }
+        LocalDateTime at = LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault());
+        board.apply(event.ownerId(), new OrderQueueBoard.Entry(event.aggregateId(), event.reference(),
+                FoodOrder.OrderStatus.valueOf(event.status()), event.type() == DomainEvent.Type.CREATED ? at : null, at,
+                event.version()));
+    }
+    
+    private void ensureLoaded(Long restaurantId) {
+        if (board.isLoaded(restaurantId)) {
+            return;
+        }
+        // Orders are listed in the order they last changed, the closest the table has to when they entered their status
+        board.load(restaurantId, () -> foodOrderRepository.findStatesByRestaurantIdAndStatusIn(restaurantId, ACTIVE).stream()
+                .map(state -> new OrderQueueBoard.Entry(state.getId(), state.getOrderNumber(), state.getStatus(),
+                        state.getCreatedAt(), state.getUpdatedAt(), state.getVersion()))
+                .toList());
+    }
+}
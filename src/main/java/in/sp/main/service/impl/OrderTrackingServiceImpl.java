@@ -0,0 +1,233 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.event.DomainEvent;
+import in.sp.main.repository.FoodOrderState;
+import in.sp.main.service.FoodOrderService;
+import in.sp.main.service.OrderTrackingService;
+import in.sp.main.util.SubscriberRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams are async requests, so an idle watcher holds a registry entry and a socket but no thread.
+ * Each watcher's sends run one at a time on a small pool of push threads, keeping slow clients off the
+ * event bus and scheduler threads, and each order is read once per change however many people are
+ * watching it. A client still stuck on one send after {@code tracking.sse.send-timeout} is dropped.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderTrackingServiceImpl implements OrderTrackingService {
+    
+    private final FoodOrderService foodOrderService;
+    
+    private final SubscriberRegistry<Long, Watcher> watchers = new SubscriberRegistry<>();
+    
+    @Value("${tracking.sse.timeout:PT30M}")
+    private Duration timeout;
+    
+    @Value("${tracking.sse.send-timeout:PT10S}")
+    private Duration sendTimeout;
+    
+    @Value("${tracking.sse.push-threads:4}")
+    private int pushThreads;
+    
+    private ExecutorService pusher;
+    
+    private record Outgoing(SseEmitter.SseEventBuilder event, boolean last) {
+    }
+    
+    /**
+     * One open stream. At most one send task is queued or running for it, so the push queue never holds
+     * more than one task per watcher; an update arriving meanwhile replaces the one still waiting, so a
+     * slow client gets the latest state rather than a backlog.
+     */
+    private final class Watcher {
+        
+        private final Long orderId;
+        private final SseEmitter emitter;
+        private final AtomicReference<Outgoing> next = new AtomicReference<>();
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile long busySince;
+        private volatile boolean closed;
+        private volatile boolean stuck;
+        
+        Watcher(Long orderId, SseEmitter emitter) {
+            this.orderId = orderId;
+            this.emitter = emitter;
+        }
+        
+        void update(FoodOrderState state) {
+            next.set(new Outgoing(SseEmitter.event()
+                    .id(Long.toString(state.getVersion()))
+                    .data(TrackingUpdate.of(state), MediaType.APPLICATION_JSON), state.getStatus().isTerminal()));
+            schedule();
+        }
+        
+        /**
+         * Skipped while anything else is waiting, since that keeps the stream alive just as well.
+         */
+        void heartbeat() {
+            if (next.compareAndSet(null, new Outgoing(SseEmitter.event().comment(""), false))) {
+                schedule();
+            } else if (busy.get()) {
+                checkStuck();
+            }
+        }
+        
+        void close() {
+            closed = true;
+            watchers.remove(orderId, this);
+            emitter.complete();
+        }
+        
+        private void schedule() {
+            if (closed) {
+                return;
+            }
+            if (busy.compareAndSet(false, true)) {
+                busySince = System.nanoTime();
+                pusher.execute(this::drain);
+            } else {
+                checkStuck();
+            }
+        }
+        
+        private void checkStuck() {
+            if (System.nanoTime() - busySince > sendTimeout.toNanos()) {
+                log.debug("Dropping tracking stream for order {}: client is not keeping up", orderId);
+                // Completing here would wait on the emitter's write lock, so the sending thread does it
+                stuck = true;
+                closed = true;
+                watchers.remove(orderId, this);
+            }
+        }
+        
+        private void drain() {
+            try {
+                while (!closed) {
+                    Outgoing out = next.getAndSet(null);
+                    if (out == null) {
+                        break;
+                    }
+                    busySince = System.nanoTime();
+                    if (!send(out.event())) {
+                        return;
+                    }
+                    if (out.last()) {
+                        close();
+                        return;
+                    }
+                }
+                if (stuck) {
+                    emitter.complete();
+                    return;
+                }
+            } finally {
+                busy.set(false);
+            }
+            // Something may have been offered after the last poll but before busy was cleared
+            if (next.get() != null) {
+                schedule();
+            }
+        }
+        
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container completes the emitter with the error
+                log.debug("Dropping tracking stream for order {}: {}", orderId, e.getMessage());
+                closed = true;
+                watchers.remove(orderId, this);
+                return false;
+            }
+        }
+    }
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        pusher = Executors.newFixedThreadPool(pushThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-tracking-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pusher.shutdownNow();
+        watchers.forEach((orderId, watcher) -> watcher.close());
+    }
+    
+    @Override
+    public SseEmitter subscribe(Long orderId) {
+        Watcher watcher = new Watcher(orderId, new SseEmitter(timeout.toMillis()));
+        watcher.emitter.onCompletion(() -> watchers.remove(orderId, watcher));
+        watcher.emitter.onError(e -> watchers.remove(orderId, watcher));
+        // Registered before the first read, so a change landing in between is pushed rather than lost
+        watchers.add(orderId, watcher);
+        Optional<FoodOrderState> state = foodOrderService.findState(orderId);
+        if (state.isEmpty()) {
+            watcher.close();
+        } else {
+            watcher.update(state.get());
+        }
+        return watcher.emitter;
+    }
+    
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.aggregate() == DomainEvent.Aggregate.FOOD_ORDER && watchers.contains(event.aggregateId())) {
+            pusher.execute(() -> push(event.aggregateId()));
+        }
+    }
+    
+    @Override
+    public void push(Long orderId) {
+        if (!watchers.contains(orderId)) {
+            return;
+        }
+        Optional<FoodOrderState> state = foodOrderService.findState(orderId);
+        for (Watcher watcher : watchers.get(orderId)) {
+            if (state.isPresent()) {
+                watcher.update(state.get());
+            } else {
+                watcher.close();
+            }
+        }
+    }
+    
+    @Override
+    public int getWatcherCount() {
+        return watchers.size();
+    }
+    
+    /**
+     * A comment line every so often keeps proxies from closing idle streams and finds clients that have
+     * gone away. Only queues one send per watcher, so a slow client delays nobody else.
+     */
+    @Scheduled(fixedDelayString = "${tracking.sse.heartbeat:PT20S}")
+    public void heartbeat() {
+        watchers.forEach((orderId, watcher) -> watcher.heartbeat());
+    }
+}
@@ -0,0 +1,276 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.entity.Restaurant;
+import in.sp.main.event.DomainEvent;
+import in.sp.main.event.RestaurantChangedEvent;
+import in.sp.main.repository.FoodOrderRepository;
+import in.sp.main.repository.RestaurantRepository;
+import in.sp.main.service.RankingService;
+import in.sp.main.util.RollingDayCounter;
+import in.sp.main.util.TopK;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RankingServiceImpl implements RankingService {
+    
+    // Each signal is scaled to [0, 1] before weighting; values past these caps score the same as the cap
+    private static final double MAX_RATING = 5.0;
+    private static final double REVIEWS_CAP = 1000;
+    private static final double PREP_MINUTES_CAP = 90;
+    private static final double PACKAGING_CAP = 100;
+    private static final double RECENT_ORDERS_CAP = 500;
+    
+    private static final Comparator<Ranked> BEST_FIRST = Comparator
+            .comparingDouble(Ranked::score).reversed()
+            .thenComparing(Ranked::id);
+    
+    private final RestaurantRepository restaurantRepository;
+    private final FoodOrderRepository foodOrderRepository;
+    
+    @Value("${ranking.weight.rating:0.35}")
+    private double ratingWeight;
+    
+    @Value("${ranking.weight.reviews:0.15}")
+    private double reviewsWeight;
+    
+    @Value("${ranking.weight.preparation-time:0.10}")
+    private double preparationTimeWeight;
+    
+    @Value("${ranking.weight.packaging-charges:0.05}")
+    private double packagingChargesWeight;
+    
+    @Value("${ranking.weight.open:0.20}")
+    private double openWeight;
+    
+    @Value("${ranking.weight.recent-orders:0.15}")
+    private double recentOrdersWeight;
+    
+    @Value("${restaurant.hours.time-zone:Asia/Kolkata}")
+    private String timeZone;
+    
+    // Replaced whole by rebuild; writers are synchronized with it so none lands in a map about to be dropped
+    private volatile Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private volatile Map<Long, RollingDayCounter> recentOrders = new ConcurrentHashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+    
+    @Override
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        // Built off to the side and swapped in, so readers keep the previous ranking until this one is complete
+        Map<Long, RollingDayCounter> freshCounts = new ConcurrentHashMap<>();
+        LocalDate today = today();
+        LocalDate since = today.minusDays(RECENT_ORDER_DAYS - 1L);
+        for (Object[] row : foodOrderRepository.countDailyOrdersByRestaurantSince(since.atStartOfDay(),
+                FoodOrder.OrderStatus.CANCELLED)) {
+            Long restaurantId = (Long) row[0];
+            LocalDate day = (LocalDate) row[1];
+            long count = ((Number) row[2]).longValue();
+            counter(freshCounts, restaurantId).add(day.toEpochDay(), (int) Math.min(count, Integer.MAX_VALUE));
+        }
+        Map<Long, Entry> freshEntries = new ConcurrentHashMap<>();
+        for (Restaurant restaurant : restaurantRepository.findAll()) {
+            if (restaurant.getId() != null) {
+                freshEntries.put(restaurant.getId(),
+                        entry(restaurant, total(freshCounts, restaurant.getId(), today.toEpochDay())));
+            }
+        }
+        recentOrders = freshCounts;
+        entries = freshEntries;
+        log.info("Ranking built in {} ms: {} restaurants, {} with recent orders",
+                System.currentTimeMillis() - start, freshEntries.size(), freshCounts.size());
+    }
+    
+    @Override
+    @Scheduled(cron = "0 5 0 * * *", zone = "${restaurant.hours.time-zone:Asia/Kolkata}")
+    public synchronized void recomputeAll() {
+        long today = today().toEpochDay();
+        entries.replaceAll((id, entry) -> entry.rescored(score(entry.signals(), recentOrders(id, today))));
+    }
+    
+    @Override
+    public List<Long> topRestaurantIds(Predicate<Ranked> filter, int limit) {
+        return TopK.select(() -> entries.values().stream().map(Entry::view).iterator(), filter, limit, BEST_FIRST)
+                .stream()
+                .map(Ranked::id)
+                .toList();
+    }
+    
+    @Override
+    public Double getScore(Long restaurantId) {
+        Entry entry = restaurantId != null ? entries.get(restaurantId) : null;
+        return entry != null ? entry.view().score() : null;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeRestaurant(event.restaurantId());
+            } else {
+                indexRestaurant(event.restaurant());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the ranking for restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @Override
+    public synchronized void indexRestaurant(Restaurant restaurant) {
+        Long id = restaurant.getId();
+        if (id == null) {
+            return;
+        }
+        entries.put(id, entry(restaurant, recentOrders(id, today().toEpochDay())));
+    }
+    
+    @Override
+    public synchronized void removeRestaurant(Long restaurantId) {
+        entries.remove(restaurantId);
+        recentOrders.remove(restaurantId);
+    }
+    
+    @Override
+    public synchronized void updateOpen(Long restaurantId, boolean open) {
+        long today = today().toEpochDay();
+        entries.computeIfPresent(restaurantId, (id, entry) -> {
+            Signals signals = entry.signals().withOpen(open);
+            return new Entry(entry.view(), signals).rescored(score(signals, recentOrders(id, today)));
+        });
+    }
+    
+    /**
+     * New and cancelled orders arrive as domain events, on every node, so each node's recent-order counts stay complete.
+     */
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.aggregate() != DomainEvent.Aggregate.FOOD_ORDER) {
+            return;
+        }
+        if (event.type() == DomainEvent.Type.CREATED) {
+            recordOrder(event.ownerId());
+        } else if (FoodOrder.OrderStatus.CANCELLED.name().equals(event.status()) && event.aggregateId() != null) {
+            // Counted on the day it was placed, which the event does not carry
+            foodOrderRepository.findStateById(event.aggregateId())
+                    .filter(state -> state.getCreatedAt() != null)
+                    .ifPresent(state -> removeOrder(event.ownerId(), state.getCreatedAt().toLocalDate()));
+        }
+    }
+    
+    @Override
+    public synchronized void recordOrder(Long restaurantId) {
+        if (restaurantId == null) {
+            return;
+        }
+        long today = today().toEpochDay();
+        counter(recentOrders, restaurantId).add(today, 1);
+        rescore(restaurantId, today);
+    }
+    
+    @Override
+    public synchronized void removeOrder(Long restaurantId, LocalDate placedOn) {
+        RollingDayCounter counter = restaurantId != null ? recentOrders.get(restaurantId) : null;
+        if (counter == null || placedOn == null) {
+            return;
+        }
+        counter.subtract(placedOn.toEpochDay(), 1);
+        rescore(restaurantId, today().toEpochDay());
+    }
+    
+    private void rescore(Long restaurantId, long today) {
+        entries.computeIfPresent(restaurantId, (id, entry) ->
+                entry.rescored(score(entry.signals(), recentOrders(id, today))));
+    }
+    
+    private Entry entry(Restaurant restaurant, int recentOrderCount) {
+        Signals signals = new Signals(
+                restaurant.getRating() != null ? restaurant.getRating() : 0.0,
+                restaurant.getTotalReviews() != null ? restaurant.getTotalReviews() : 0,
+                restaurant.getAvgPreparationTime(),
+                restaurant.getPackagingCharges(),
+                Boolean.TRUE.equals(restaurant.getIsOpen()));
+        Ranked view = new Ranked(restaurant.getId(), restaurant.getCity(), restaurant.getCuisine(), signals.rating(),
+                restaurant.isActive() && restaurant.isVerified(), score(signals, recentOrderCount));
+        return new Entry(view, signals);
+    }
+    
+    private double score(Signals signals, int recentOrderCount) {
+        double rating = clamp(signals.rating() / MAX_RATING);
+        double reviews = logScale(signals.totalReviews(), REVIEWS_CAP);
+        // Restaurants that have not filled these in score in the middle rather than at either end
+        double preparation = signals.avgPreparationTime() != null
+                ? 1 - clamp(signals.avgPreparationTime() / PREP_MINUTES_CAP) : 0.5;
+        double packaging = signals.packagingCharges() != null
+                ? 1 - clamp(signals.packagingCharges() / PACKAGING_CAP) : 0.5;
+        double open = signals.open() ? 1 : 0;
+        double orders = logScale(recentOrderCount, RECENT_ORDERS_CAP);
+        return ratingWeight * rating
+                + reviewsWeight * reviews
+                + preparationTimeWeight * preparation
+                + packagingChargesWeight * packaging
+                + openWeight * open
+                + recentOrdersWeight * orders;
+    }
+    
+    private int recentOrders(Long restaurantId, long today) {
+        return total(recentOrders, restaurantId, today);
+    }
+    
+    private static int total(Map<Long, RollingDayCounter> counts, Long restaurantId, long today) {
+        RollingDayCounter counter = counts.get(restaurantId);
+        return counter != null ? counter.total(today) : 0;
+    }
+    
+    private static RollingDayCounter counter(Map<Long, RollingDayCounter> counts, Long restaurantId) {
+        return counts.computeIfAbsent(restaurantId, id -> new RollingDayCounter(RECENT_ORDER_DAYS));
+    }
+    
+    private LocalDate today() {
+        return LocalDate.now(ZoneId.of(timeZone));
+    }
+    
+    private static double logScale(double value, double cap) {
+        return clamp(Math.log1p(Math.max(value, 0)) / Math.log1p(cap));
+    }
+    
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+    
+    private record Signals(double rating, int totalReviews, Integer avgPreparationTime, Double packagingCharges,
+                           boolean open) {
+        
+        Signals withOpen(boolean open) {
+            return new Signals(rating, totalReviews, avgPreparationTime, packagingCharges, open);
+        }
+    }
+    
+    private record Entry(Ranked view, Signals signals) {
+        
+        Entry rescored(double score) {
+            Ranked v = view;
+            return new Entry(new Ranked(v.id(), v.city(), v.cuisine(), v.rating(), v.listed(), score), signals);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.service.ReferenceNumberService;
+import in.sp.main.util.OrderNumberGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * One generator serves every kind: the prefixes keep the numbers apart and a single sequence keeps
+ * the node's ids unique. Each node must run with its own {@code reference-number.node-id}.
+ */
+@Service
+@Slf4j
+public class ReferenceNumberServiceImpl implements ReferenceNumberService {
+    
+    private final OrderNumberGenerator generator;
+    
+    public ReferenceNumberServiceImpl(@Value("${reference-number.node-id:-1}") int nodeId) {
+        if (nodeId < 0) {
+            nodeId = hostNodeId();
+            log.warn("reference-number.node-id is not set, using {} derived from the host name; "
+                    + "set it explicitly when running more than one node", nodeId);
+        }
+        generator = new OrderNumberGenerator(nodeId);
+    }
+    
+    @Override
+    public String next(Kind kind) {
+        return generator.next(kind.getPrefix());
+    }
+    
+    private static int hostNodeId() {
+        try {
+            return Math.floorMod(InetAddress.getLocalHost().getHostName().hashCode(), OrderNumberGenerator.MAX_NODE_ID + 1);
+        } catch (UnknownHostException e) {
+            return 0;
+        }
+    }
+}
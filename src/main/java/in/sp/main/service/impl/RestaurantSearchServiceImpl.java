@@ -0,0 +1,58 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.repository.RestaurantCard;
+import in.sp.main.repository.RestaurantRepository;
+import in.sp.main.service.RankingService;
+import in.sp.main.service.RestaurantSearchService;
+import in.sp.main.util.IdOrdering;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+@Service
+@RequiredArgsConstructor
+public class RestaurantSearchServiceImpl implements RestaurantSearchService {
+    
+    private final RestaurantRepository restaurantRepository;
+    private final RankingService rankingService;
+    
+    @Override
+    public Slice<RestaurantCard> search(String city, String cuisine, Double minRating, int page, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        // Keeps offset + pageSize + 1 within int range for absurd page numbers
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE - pageSize - 1L);
+        
+        Predicate<RankingService.Ranked> filter = RankingService.Ranked::listed;
+        if (city != null && !city.isBlank()) {
+            String wanted = city.trim();
+            filter = filter.and(r -> wanted.equalsIgnoreCase(trimmed(r.city())));
+        }
+        if (cuisine != null && !cuisine.isBlank()) {
+            String wanted = cuisine.trim();
+            filter = filter.and(r -> wanted.equalsIgnoreCase(trimmed(r.cuisine())));
+        }
+        if (minRating != null) {
+            filter = filter.and(r -> r.rating() >= minRating);
+        }
+        
+        // One extra id tells whether a next page exists without counting the matches
+        List<Long> ranked = rankingService.topRestaurantIds(filter, offset + pageSize + 1);
+        boolean hasNext = ranked.size() > offset + pageSize;
+        List<Long> ids = ranked.subList(Math.min(offset, ranked.size()), Math.min(offset + pageSize, ranked.size()));
+        List<RestaurantCard> content = ids.isEmpty()
+                ? List.of()
+                : IdOrdering.inOrderOf(ids, restaurantRepository.findActiveCardsByIdIn(ids), RestaurantCard::getId);
+        
+        return new SliceImpl<>(content, PageRequest.of(pageNumber, pageSize), hasNext);
+    }
+    
+    private static String trimmed(String value) {
+        return value != null ? value.trim() : null;
+    }
+}
@@ -1,10 +1,21 @@
 package in.sp.main.service.impl;
 
 import in.sp.main.entity.Restaurant;
+import in.sp.main.event.RestaurantChangedEvent;
+import in.sp.main.repository.Keyset;
+import in.sp.main.repository.RestaurantCard;
 import in.sp.main.repository.RestaurantRepository;
 import in.sp.main.service.RestaurantService;
+import in.sp.main.service.GeoIndexService;
+import in.sp.main.service.ListingCacheService;
+import in.sp.main.service.SearchIndexService;
+import in.sp.main.util.GeoGridIndex;
+import in.sp.main.util.IdOrdering;
+import in.sp.main.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.annotation.PostConstruct;
 import java.util.List;
@@ -14,26 +25,45 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class RestaurantServiceImpl implements RestaurantService {
     
+    private static final Keyset<RestaurantCard, String> BY_NAME =
+            Keyset.ascending("restaurantName", RestaurantCard::getRestaurantName, name -> name, RestaurantCard::getId);
+    
     private final RestaurantRepository restaurantRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final SearchIndexService searchIndexService;
+    private final ListingCacheService listingCacheService;
+    private final GeoIndexService geoIndexService;
     
     @Override
     public List<Restaurant> findAll() {
         return restaurantRepository.findAll();
     }
     
+    @Override
+    public KeysetPage<RestaurantCard> findPage(String cursor, Integer size) {
+        return BY_NAME.fetch((name, id, limit) -> id == null
+                ? restaurantRepository.findCardsOrderByName(limit)
+                : restaurantRepository.findCardsAfterName(name, id, limit), cursor, size);
+    }
+    
     @Override
     public Optional<Restaurant> findById(Long id) {
         return restaurantRepository.findById(id);
     }
     
     @Override
+    @Transactional
     public Restaurant save(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        applicationEventPublisher.publishEvent(RestaurantChangedEvent.saved(saved));
+        return saved;
     }
     
     @Override
+    @Transactional
     public void deleteById(Long id) {
         restaurantRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(RestaurantChangedEvent.removed(id));
     }
     
     @Override
@@ -41,19 +71,41 @@ public class RestaurantServiceImpl implements RestaurantService {
         return restaurantRepository.findByCity(city);
     }
     
+    @Override
+    public List<RestaurantCard> findCardsByCity(String city) {
+        return restaurantRepository.findCardsByCity(city);
+    }
+    
     @Override
     public List<Restaurant> findByOwnerId(Long ownerId) {
         return restaurantRepository.findByOwnerId(ownerId);
     }
     
     @Override
-    public List<Restaurant> findActiveVerifiedByCity(String city) {
-        return restaurantRepository.findActiveVerifiedByCity(city);
+    public List<RestaurantCard> findActiveVerifiedByCity(String city) {
+        return listingCacheService.getRestaurants(city, () -> restaurantRepository.findActiveVerifiedCardsByCity(city));
     }
     
     @Override
     public List<Restaurant> findByRestaurantNameContaining(String name) {
-        return restaurantRepository.findByRestaurantNameContaining(name);
+        List<Long> ids = searchIndexService.searchRestaurants(name);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return IdOrdering.inOrderOf(ids, restaurantRepository.findAllById(ids), Restaurant::getId).stream()
+                .filter(Restaurant::isActive)
+                .toList();
+    }
+    
+    @Override
+    public List<RestaurantCard> findDeliveringTo(double latitude, double longitude, Double maxDistanceKm) {
+        List<Long> ids = geoIndexService.findRestaurantsDeliveringTo(latitude, longitude, maxDistanceKm).stream()
+                .map(GeoGridIndex.Match::id)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return IdOrdering.inOrderOf(ids, restaurantRepository.findActiveCardsByIdIn(ids), RestaurantCard::getId);
     }
     
     @Override
@@ -76,27 +128,11 @@ public class RestaurantServiceImpl implements RestaurantService {
         return restaurantRepository.findByIsVerifiedTrue();
     }
     
-    // New methods for dynamic filtering
-    @Override
-    public List<Restaurant> findByCityAndRatingGreaterThanEqual(String city, Double minRating) {
-        return restaurantRepository.findByCityAndRatingGreaterThanEqual(city, minRating);
-    }
-    
-    @Override
-    public List<Restaurant> findByCityAndCuisine(String city, String cuisine) {
-        return restaurantRepository.findByCityAndCuisine(city, cuisine);
-    }
-    
     @Override
-    public List<Restaurant> findByCuisine(String cuisine) {
-        return restaurantRepository.findByCuisine(cuisine);
+    public List<RestaurantCard> findVerifiedCards() {
+        return restaurantRepository.findVerifiedCards();
     }
     
-    @Override
-    public List<Restaurant> findByCityAndCuisineAndRatingGreaterThanEqual(String city, String cuisine, Double minRating) {
-        return restaurantRepository.findByCityAndCuisineAndRatingGreaterThanEqual(city, cuisine, minRating);
-    }
-
     @PostConstruct
     public void migrateCoverPhotoUrl() {
         List<Restaurant> all = restaurantRepository.findAll();
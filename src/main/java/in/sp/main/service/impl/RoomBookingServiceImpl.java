@@ -1,9 +1,15 @@
 package in.sp.main.service.impl;
 
 import in.sp.main.entity.RoomBooking;
+import in.sp.main.event.DomainEvent;
+import in.sp.main.repository.Keyset;
 import in.sp.main.repository.RoomBookingRepository;
+import in.sp.main.service.DomainEventPublisher;
+import in.sp.main.service.ReferenceNumberService;
 import in.sp.main.service.RoomBookingService;
+import in.sp.main.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -14,13 +20,31 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class RoomBookingServiceImpl implements RoomBookingService {
     
+    private static final Keyset<RoomBooking, LocalDate> LATEST_CHECK_IN =
+            Keyset.descending("checkInDate", RoomBooking::getCheckInDate, LocalDate::parse, RoomBooking::getId);
+    
     private final RoomBookingRepository roomBookingRepository;
+    private final ReferenceNumberService referenceNumberService;
+    private final DomainEventPublisher domainEventPublisher;
     
     @Override
     public List<RoomBooking> findAll() {
         return roomBookingRepository.findAll();
     }
     
+    @Override
+    public KeysetPage<RoomBooking> findPage(Long userId, Long roomId, Long hotelId, String cursor, Integer size) {
+        Specification<RoomBooking> filter = null;
+        if (userId != null) {
+            filter = (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+        } else if (roomId != null) {
+            filter = (root, query, cb) -> cb.equal(root.get("room").get("id"), roomId);
+        } else if (hotelId != null) {
+            filter = (root, query, cb) -> cb.equal(root.get("room").get("hotel").get("id"), hotelId);
+        }
+        return LATEST_CHECK_IN.fetch(roomBookingRepository, filter, cursor, size);
+    }
+    
     @Override
     public Optional<RoomBooking> findById(Long id) {
         return roomBookingRepository.findById(id);
@@ -28,13 +52,23 @@ public class RoomBookingServiceImpl implements RoomBookingService {
     
     @Override
     public RoomBooking createBooking(RoomBooking booking) {
+        if (booking.getBookingReference() == null) {
+            booking.setBookingReference(referenceNumberService.next(ReferenceNumberService.Kind.ROOM_BOOKING));
+        }
         booking.setStatus(RoomBooking.BookingStatus.CONFIRMED);
-        return roomBookingRepository.save(booking);
+        RoomBooking saved = roomBookingRepository.save(booking);
+        domainEventPublisher.publish(DomainEvent.of(saved, null));
+        return saved;
     }
     
     @Override
     public RoomBooking updateBooking(RoomBooking booking) {
-        return roomBookingRepository.save(booking);
+        RoomBooking.BookingStatus previous = booking.getId() != null ? roomBookingRepository.findStatusById(booking.getId()).orElse(null) : null;
+        RoomBooking saved = roomBookingRepository.save(booking);
+        if (previous != null && previous != saved.getStatus()) {
+            domainEventPublisher.publish(DomainEvent.of(saved, previous));
+        }
+        return saved;
     }
     
     @Override
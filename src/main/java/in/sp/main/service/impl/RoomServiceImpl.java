@@ -1,6 +1,7 @@
 package in.sp.main.service.impl;
 
 import in.sp.main.entity.Room;
+import in.sp.main.repository.ContentVersion;
 import in.sp.main.repository.RoomRepository;
 import in.sp.main.service.RoomService;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +41,11 @@ public class RoomServiceImpl implements RoomService {
         return roomRepository.findByHotelId(hotelId);
     }
     
+    @Override
+    public ContentVersion getRoomsVersion(Long hotelId) {
+        return roomRepository.findRoomsVersion(hotelId);
+    }
+    
     @Override
     public List<Room> findByHotelIdAndIsAvailableTrue(Long hotelId) {
         return roomRepository.findByHotelIdAndIsAvailableTrue(hotelId);
@@ -0,0 +1,217 @@
+package in.sp.main.service.impl;
+
+import in.sp.main.entity.CloudKitchen;
+import in.sp.main.entity.Hotel;
+import in.sp.main.entity.MenuItem;
+import in.sp.main.entity.Restaurant;
+import in.sp.main.event.CloudKitchenChangedEvent;
+import in.sp.main.event.HotelChangedEvent;
+import in.sp.main.event.MenuChangedEvent;
+import in.sp.main.event.RestaurantChangedEvent;
+import in.sp.main.repository.CloudKitchenRepository;
+import in.sp.main.repository.HotelRepository;
+import in.sp.main.repository.MenuItemRepository;
+import in.sp.main.repository.RestaurantRepository;
+import in.sp.main.service.SearchIndexService;
+import in.sp.main.util.NgramIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SearchIndexServiceImpl implements SearchIndexService {
+    
+    private final RestaurantRepository restaurantRepository;
+    private final HotelRepository hotelRepository;
+    private final CloudKitchenRepository cloudKitchenRepository;
+    private final MenuItemRepository menuItemRepository;
+    
+    private final NgramIndex restaurantIndex = new NgramIndex();
+    private final NgramIndex hotelIndex = new NgramIndex();
+    private final NgramIndex cloudKitchenIndex = new NgramIndex();
+    // Dishes are always searched within one restaurant, so each restaurant gets its own small index
+    private final Map<Long, NgramIndex> menuIndexes = new ConcurrentHashMap<>();
+    private final Map<Long, Long> menuItemRestaurants = new ConcurrentHashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+    
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        restaurantIndex.clear();
+        hotelIndex.clear();
+        cloudKitchenIndex.clear();
+        menuIndexes.clear();
+        menuItemRestaurants.clear();
+        restaurantRepository.findByIsActiveTrue().forEach(this::indexRestaurant);
+        hotelRepository.findByIsActiveTrue().forEach(this::indexHotel);
+        cloudKitchenRepository.findByIsActiveTrue().forEach(this::indexCloudKitchen);
+        menuItemRepository.findAll().forEach(this::indexMenuItem);
+        log.info("Search index built in {} ms: {} restaurants, {} hotels, {} cloud kitchens, {} dishes",
+                System.currentTimeMillis() - start, restaurantIndex.size(), hotelIndex.size(),
+                cloudKitchenIndex.size(), menuItemRestaurants.size());
+    }
+    
+    @Override
+    public List<Long> searchRestaurants(String name) {
+        return restaurantIndex.search(name, MAX_RESULTS);
+    }
+    
+    @Override
+    public List<Long> searchHotels(String name) {
+        return hotelIndex.search(name, MAX_RESULTS);
+    }
+    
+    @Override
+    public List<Long> searchCloudKitchens(String name) {
+        return cloudKitchenIndex.search(name, MAX_RESULTS);
+    }
+    
+    @Override
+    public List<Long> searchMenuItems(Long restaurantId, String dishName) {
+        NgramIndex index = menuIndexes.get(restaurantId);
+        return index != null ? index.search(dishName, MAX_RESULTS) : List.of();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeRestaurant(event.restaurantId());
+            } else {
+                indexRestaurant(event.restaurant());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the search index for restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        try {
+            event.saved().forEach(this::indexMenuItem);
+            event.removed().forEach(this::removeMenuItem);
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the search index for menu of restaurant {}", event.restaurantId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeHotel(event.hotelId());
+            } else {
+                indexHotel(event.hotel());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the search index for hotel {}", event.hotelId(), e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCloudKitchenChanged(CloudKitchenChangedEvent event) {
+        try {
+            if (event.isRemoved()) {
+                removeCloudKitchen(event.cloudKitchenId());
+            } else {
+                indexCloudKitchen(event.cloudKitchen());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the search index for cloud kitchen {}", event.cloudKitchenId(), e);
+        }
+    }
+    
+    @Override
+    public void indexRestaurant(Restaurant restaurant) {
+        if (restaurant.getId() == null) {
+            return;
+        }
+        if (restaurant.isActive()) {
+            restaurantIndex.put(restaurant.getId(), restaurant.getRestaurantName());
+        } else {
+            restaurantIndex.remove(restaurant.getId());
+        }
+    }
+    
+    @Override
+    public void removeRestaurant(Long restaurantId) {
+        restaurantIndex.remove(restaurantId);
+        if (menuIndexes.remove(restaurantId) != null) {
+            menuItemRestaurants.values().removeIf(restaurantId::equals);
+        }
+    }
+    
+    @Override
+    public void indexHotel(Hotel hotel) {
+        if (hotel.getId() == null) {
+            return;
+        }
+        if (hotel.isActive()) {
+            hotelIndex.put(hotel.getId(), hotel.getHotelName());
+        } else {
+            hotelIndex.remove(hotel.getId());
+        }
+    }
+    
+    @Override
+    public void removeHotel(Long hotelId) {
+        hotelIndex.remove(hotelId);
+    }
+    
+    @Override
+    public void indexCloudKitchen(CloudKitchen cloudKitchen) {
+        if (cloudKitchen.getId() == null) {
+            return;
+        }
+        if (cloudKitchen.isActive()) {
+            cloudKitchenIndex.put(cloudKitchen.getId(), cloudKitchen.getKitchenName());
+        } else {
+            cloudKitchenIndex.remove(cloudKitchen.getId());
+        }
+    }
+    
+    @Override
+    public void removeCloudKitchen(Long cloudKitchenId) {
+        cloudKitchenIndex.remove(cloudKitchenId);
+    }
+    
+    @Override
+    public void indexMenuItem(MenuItem menuItem) {
+        if (menuItem.getId() == null || menuItem.getRestaurant() == null || menuItem.getRestaurant().getId() == null) {
+            return;
+        }
+        Long restaurantId = menuItem.getRestaurant().getId();
+        Long previousRestaurantId = menuItemRestaurants.put(menuItem.getId(), restaurantId);
+        if (previousRestaurantId != null && !previousRestaurantId.equals(restaurantId)) {
+            NgramIndex previous = menuIndexes.get(previousRestaurantId);
+            if (previous != null) {
+                previous.remove(menuItem.getId());
+            }
+        }
+        menuIndexes.computeIfAbsent(restaurantId, id -> new NgramIndex()).put(menuItem.getId(), menuItem.getDishName());
+    }
+    
+    @Override
+    public void removeMenuItem(Long menuItemId) {
+        Long restaurantId = menuItemRestaurants.remove(menuItemId);
+        if (restaurantId != null) {
+            NgramIndex index = menuIndexes.get(restaurantId);
+            if (index != null) {
+                index.remove(menuItemId);
+            }
+        }
+    }
+}
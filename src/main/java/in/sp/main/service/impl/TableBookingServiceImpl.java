@@ -1,7 +1,10 @@
 package in.sp.main.service.impl;
 
 import in.sp.main.entity.TableBooking;
+import in.sp.main.event.DomainEvent;
 import in.sp.main.repository.TableBookingRepository;
+import in.sp.main.service.DomainEventPublisher;
+import in.sp.main.service.ReferenceNumberService;
 import in.sp.main.service.TableBookingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -16,6 +19,8 @@ import java.util.Optional;
 public class TableBookingServiceImpl implements TableBookingService {
     
     private final TableBookingRepository tableBookingRepository;
+    private final ReferenceNumberService referenceNumberService;
+    private final DomainEventPublisher domainEventPublisher;
     
     @Override
     public List<TableBooking> findAll() {
@@ -29,13 +34,23 @@ public class TableBookingServiceImpl implements TableBookingService {
     
     @Override
     public TableBooking createBooking(TableBooking booking) {
+        if (booking.getBookingReference() == null) {
+            booking.setBookingReference(referenceNumberService.next(ReferenceNumberService.Kind.TABLE_BOOKING));
+        }
         booking.setStatus(TableBooking.BookingStatus.CONFIRMED);
-        return tableBookingRepository.save(booking);
+        TableBooking saved = tableBookingRepository.save(booking);
+        domainEventPublisher.publish(DomainEvent.of(saved, null));
+        return saved;
     }
     
     @Override
     public TableBooking updateBooking(TableBooking booking) {
-        return tableBookingRepository.save(booking);
+        TableBooking.BookingStatus previous = booking.getId() != null ? tableBookingRepository.findStatusById(booking.getId()).orElse(null) : null;
+        TableBooking saved = tableBookingRepository.save(booking);
+        if (previous != null && previous != saved.getStatus()) {
+            domainEventPublisher.publish(DomainEvent.of(saved, previous));
+        }
+        return saved;
     }
     
     @Override
@@ -0,0 +1,23 @@
+package in.sp.main.util;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Cart store key for the current request: the signed-in user, so a cart follows them across devices
+ * and nodes, or the HTTP session for anyone else.
+ */
+public final class CartKey {
+    
+    private CartKey() {
+    }
+    
+    public static String of(String sessionId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "session:" + sessionId;
+    }
+}
@@ -0,0 +1,120 @@
+package in.sp.main.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Least-recently-used cache of per-city listing snapshots.
+ * Snapshots are unmodifiable lists. The cache remembers which city every cached id was listed under,
+ * so invalidating an entity also drops the city it used to be in when its city changes.
+ */
+public class CityListingCache<T> {
+    
+    // Listings requested or invalidated without a city share this key; no trimmed city name is empty
+    private static final String NO_CITY = "";
+    
+    private final int maxCities;
+    private final Function<T, Long> idOf;
+    private final LinkedHashMap<String, List<T>> snapshots;
+    private final Map<Long, String> cityById = new HashMap<>();
+    
+    // Bumped by every invalidation; a load that overlaps one is returned but not cached
+    private long generation;
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    
+    public CityListingCache(int maxCities, Function<T, Long> idOf) {
+        this.maxCities = maxCities;
+        this.idOf = idOf;
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    }
+    
+    /**
+     * Returns the cached snapshot for the city, loading it with {@code loader} on a miss.
+     * The loader runs outside the cache lock.
+     */
+    public List<T> get(String city, Supplier<List<T>> loader) {
+        String key = key(city);
+        long loadGeneration;
+        synchronized (this) {
+            List<T> cached = snapshots.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        List<T> loaded = List.copyOf(loader.get());
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                putInternal(key, loaded);
+            }
+        }
+        return loaded;
+    }
+    
+    /**
+     * Drops the snapshot for {@code city} (may be {@code null}) and the snapshot the entity was last listed in.
+     */
+    public synchronized void invalidate(Long id, String city) {
+        generation++;
+        removeInternal(key(city));
+        String previousCity = id != null ? cityById.get(id) : null;
+        if (previousCity != null) {
+            removeInternal(previousCity);
+        }
+    }
+    
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations += snapshots.size();
+        snapshots.clear();
+        cityById.clear();
+    }
+    
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, invalidations, snapshots.size());
+    }
+    
+    private void putInternal(String key, List<T> snapshot) {
+        snapshots.put(key, snapshot);
+        for (T item : snapshot) {
+            cityById.put(idOf.apply(item), key);
+        }
+        while (snapshots.size() > maxCities) {
+            String eldest = snapshots.keySet().iterator().next();
+            forget(eldest, snapshots.remove(eldest));
+            evictions++;
+        }
+    }
+    
+    private void removeInternal(String key) {
+        List<T> removed = snapshots.remove(key);
+        if (removed != null) {
+            forget(key, removed);
+            invalidations++;
+        }
+    }
+    
+    private void forget(String key, List<T> snapshot) {
+        for (T item : snapshot) {
+            cityById.remove(idOf.apply(item), key);
+        }
+    }
+    
+    private static String key(String city) {
+        return city != null ? city.trim().toLowerCase(Locale.ROOT) : NO_CITY;
+    }
+    
+    public record Stats(long hits, long misses, long evictions, long invalidations, int size) {
+    }
+}
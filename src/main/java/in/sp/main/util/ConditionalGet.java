@@ -0,0 +1,77 @@
+package in.sp.main.util;
+
+import in.sp.main.repository.ContentVersion;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Conditional GET for server-rendered catalog pages.
+ * A handler passes the version inputs of everything its page shows; when the browser already holds
+ * that version the response becomes a bodiless {@code 304} and the handler returns {@code null},
+ * so nothing is loaded or rendered past the version check.
+ */
+public final class ConditionalGet {
+    
+    /** Anonymous pages carry nothing user-specific, so shared caches may keep them briefly. */
+    public static final String ANONYMOUS_CACHE_CONTROL = "public, max-age=60, must-revalidate";
+    
+    /** Signed-in pages show the viewer's name, so only the browser may keep them and must revalidate each time. */
+    public static final String AUTHENTICATED_CACHE_CONTROL = "private, no-cache";
+    
+    // Changes on every start so that pages rendered by an older template set are never confirmed as current
+    private static final String DEPLOYMENT = Long.toString(System.currentTimeMillis(), 36);
+    
+    private ConditionalGet() {
+    }
+    
+    /**
+     * Sets {@code Cache-Control} for the current viewer and checks the request's validators.
+     * The strong ETag covers the page name, the viewer, and each part's {@code toString}; {@code null}
+     * parts are allowed. {@code Last-Modified} is the latest of the given timestamps.
+     *
+     * @return true if a 304 has been prepared and the handler should return {@code null}
+     */
+    public static boolean isNotModified(WebRequest request, String page, Object... parts) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        boolean anonymous = auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken;
+        HttpServletResponse response = request instanceof NativeWebRequest nativeRequest
+                ? nativeRequest.getNativeResponse(HttpServletResponse.class)
+                : null;
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, anonymous ? ANONYMOUS_CACHE_CONTROL : AUTHENTICATED_CACHE_CONTROL);
+        }
+        
+        StringBuilder key = new StringBuilder(DEPLOYMENT).append('|').append(page)
+                .append('|').append(anonymous ? "" : auth.getName());
+        LocalDateTime lastModified = null;
+        for (Object part : parts) {
+            LocalDateTime candidate;
+            if (part instanceof ContentVersion version) {
+                // A projection proxy, so spell out its fields rather than trusting toString
+                key.append('|').append(version.getCount()).append('@').append(version.getLastModified());
+                candidate = version.getLastModified();
+            } else {
+                key.append('|').append(part);
+                candidate = part instanceof LocalDateTime time ? time : null;
+            }
+            if (candidate != null && (lastModified == null || candidate.isAfter(lastModified))) {
+                lastModified = candidate;
+            }
+        }
+        String etag = '"' + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+        long lastModifiedMillis = lastModified != null
+                ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        return request.checkNotModified(etag, lastModifiedMillis);
+    }
+}
@@ -0,0 +1,112 @@
+package in.sp.main.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma separated, double-quote quoting with {@code ""} as an
+ * escaped quote, and quoted fields may span lines. Reads one record at a time, so memory stays
+ * bounded by the longest record rather than the file.
+ */
+public class CsvReader {
+    
+    private final Reader reader;
+    private int line = 1;
+    private int recordLine;
+    private int pending = -2;
+    
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+    
+    /**
+     * Returns the next record's fields, or null at end of input. Blank lines are skipped.
+     *
+     * @throws IllegalArgumentException if a quoted field is never closed
+     */
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAny = false;
+        recordLine = line;
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                sawAny = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                sawAny = true;
+            } else if (c == '\r') {
+                // Part of a CRLF; a bare CR is treated the same way
+                int following = read();
+                if (following != '\n') {
+                    unread(following);
+                }
+                line++;
+                if (sawAny || !field.isEmpty()) {
+                    break;
+                }
+                recordLine = line;
+            } else if (c == '\n') {
+                line++;
+                if (sawAny || !field.isEmpty()) {
+                    break;
+                }
+                recordLine = line;
+            } else {
+                field.append((char) c);
+                sawAny = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+        }
+        if (!sawAny && field.isEmpty()) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    /**
+     * Line on which the record most recently returned by {@link #next()} started (1-based).
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+    
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+    
+    private void unread(int c) {
+        pending = c;
+    }
+}
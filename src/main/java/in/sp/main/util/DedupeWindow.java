@@ -0,0 +1,116 @@
+package in.sp.main.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded window of recently seen request keys, each mapped to the future result of the request that
+ * first claimed it. Keys are spread over lock stripes, each an access-ordered map that drops its least
+ * recently used key once full, so unrelated keys rarely contend and memory stays capped.
+ * A completed key is remembered until its time-to-live runs out; an unfinished one until released.
+ */
+public final class DedupeWindow<V> {
+    
+    private final Stripe<V>[] stripes;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    
+    private record Entry<V>(CompletableFuture<V> future, long expiresAt) {
+    }
+    
+    private static final class Stripe<V> extends LinkedHashMap<String, Entry<V>> {
+        
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+            return size() > capacity;
+        }
+    }
+    
+    public DedupeWindow(int capacity, int stripeCount, Duration ttl) {
+        this(capacity, stripeCount, ttl, System::currentTimeMillis);
+    }
+    
+    @SuppressWarnings("unchecked")
+    DedupeWindow(int capacity, int stripeCount, Duration ttl, LongSupplier clock) {
+        if (capacity < 1 || stripeCount < 1) {
+            throw new IllegalArgumentException("Capacity and stripe count must be positive");
+        }
+        // A power of two, so a stripe is picked with a mask
+        int count = Integer.highestOneBit(Math.min(stripeCount, capacity));
+        int perStripe = (capacity + count - 1) / count;
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(perStripe);
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+    
+    /**
+     * Claims the key for the caller's request.
+     *
+     * @return null if the caller now owns the key and must complete {@code mine}, otherwise the future
+     *         of the request that already holds it
+     */
+    public CompletableFuture<V> claim(String key, CompletableFuture<V> mine) {
+        Stripe<V> stripe = stripeFor(key);
+        long now = clock.getAsLong();
+        stripe.lock.lock();
+        try {
+            Entry<V> existing = stripe.get(key);
+            if (existing != null && (!existing.future().isDone() || existing.expiresAt() > now)) {
+                return existing.future();
+            }
+            stripe.put(key, new Entry<>(mine, now + ttlMillis));
+            return null;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+    
+    /**
+     * Forgets the key if {@code mine} still holds it, so the next request with it runs afresh.
+     */
+    public void release(String key, CompletableFuture<V> mine) {
+        Stripe<V> stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Entry<V> existing = stripe.get(key);
+            if (existing != null && existing.future() == mine) {
+                stripe.remove(key);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+    
+    public int size() {
+        int size = 0;
+        for (Stripe<V> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+    
+    private Stripe<V> stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,62 @@
+package in.sp.main.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exponentially weighted moving average, updated with a compare-and-set so concurrent samples never block.
+ * Until the first sample it reports its prior; the first sample replaces the prior outright rather than
+ * being blended with it, so a poor guess does not linger.
+ */
+public final class Ewma {
+    
+    // A NaN pattern no arithmetic produces, held until the first sample lands
+    private static final long UNSAMPLED = 0x7ff8_dead_beef_0001L;
+    
+    private final double alpha;
+    private final AtomicLong bits = new AtomicLong(UNSAMPLED);
+    private final AtomicLong samples = new AtomicLong();
+    private volatile double prior;
+    
+    /**
+     * @param alpha weight of each new sample, in (0, 1]; higher follows recent samples more closely
+     */
+    public Ewma(double alpha, double prior) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("Alpha must be in (0, 1]");
+        }
+        this.alpha = alpha;
+        this.prior = prior;
+    }
+    
+    /**
+     * Whichever concurrent sample wins the race to replace the sentinel becomes the first; the others
+     * then blend into it.
+     */
+    public void update(double sample) {
+        while (true) {
+            long current = bits.get();
+            double next = current == UNSAMPLED ? sample
+                    : Double.longBitsToDouble(current) + alpha * (sample - Double.longBitsToDouble(current));
+            if (bits.compareAndSet(current, Double.doubleToLongBits(next))) {
+                samples.incrementAndGet();
+                return;
+            }
+        }
+    }
+    
+    public double get() {
+        long current = bits.get();
+        return current == UNSAMPLED ? prior : Double.longBitsToDouble(current);
+    }
+    
+    /**
+     * Replaces the prior; has no effect once a real sample has arrived.
+     */
+    public void seed(double prior) {
+        this.prior = prior;
+    }
+    
+    public long getSampleCount() {
+        return samples.get();
+    }
+}
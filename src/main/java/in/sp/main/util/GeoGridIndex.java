@@ -0,0 +1,174 @@
+package in.sp.main.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed lat/lng grid of places that serve a circular area.
+ * Each place is registered in every cell its service disk overlaps, so "who serves point X"
+ * is a single cell lookup followed by an exact distance check on the few places found there,
+ * instead of a scan over every place in the city.
+ */
+public class GeoGridIndex {
+    
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+    
+    private final double cellDegrees;
+    private final Map<Long, Set<Long>> cells = new HashMap<>();
+    private final Map<Long, Place> places = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /**
+     * @param cellDegrees grid cell edge in degrees; 0.1 is roughly 11 km at the equator
+     */
+    public GeoGridIndex(double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("cellDegrees must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+    }
+    
+    /**
+     * Adds or moves a place serving everything within {@code radiusKm} of its location.
+     */
+    public void put(Long id, double latitude, double longitude, double radiusKm) {
+        Place place = new Place(id, latitude, longitude, radiusKm);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            places.put(id, place);
+            for (long cell : coveredCells(place)) {
+                cells.computeIfAbsent(cell, c -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            places.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return places.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns places whose service radius covers the point and that are no further than
+     * {@code maxDistanceKm} from it (pass {@code null} for no extra limit), nearest first.
+     */
+    public List<Match> findServing(double latitude, double longitude, Double maxDistanceKm, int limit) {
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = cells.get(cellKey(row(latitude), column(longitude)));
+            if (candidates == null) {
+                return List.of();
+            }
+            for (Long id : candidates) {
+                Place place = places.get(id);
+                double distance = distanceKm(latitude, longitude, place.latitude(), place.longitude());
+                if (distance <= place.radiusKm() && (maxDistanceKm == null || distance <= maxDistanceKm)) {
+                    matches.add(new Match(id, distance));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingDouble(Match::distanceKm).thenComparingLong(Match::id));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+    
+    /**
+     * Great-circle distance using the haversine formula.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+    
+    private void removeInternal(Long id) {
+        Place previous = places.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (long cell : coveredCells(previous)) {
+            Set<Long> members = cells.get(cell);
+            if (members != null) {
+                members.remove(id);
+                if (members.isEmpty()) {
+                    cells.remove(cell);
+                }
+            }
+        }
+    }
+    
+    private List<Long> coveredCells(Place place) {
+        double latSpan = place.radiusKm() / KM_PER_DEGREE_LAT;
+        // Longitude degrees shrink towards the poles; clamp so the span stays finite
+        double cosLat = Math.max(Math.cos(Math.toRadians(place.latitude())), 0.01);
+        double lonSpan = place.radiusKm() / (KM_PER_DEGREE_LAT * cosLat);
+        int minRow = row(place.latitude() - latSpan);
+        int maxRow = row(place.latitude() + latSpan);
+        int minColumn = column(place.longitude() - lonSpan);
+        int maxColumn = column(place.longitude() + lonSpan);
+        List<Long> covered = new ArrayList<>();
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                covered.add(cellKey(r, c));
+            }
+        }
+        return covered;
+    }
+    
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+    
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+    
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+    
+    private record Place(Long id, double latitude, double longitude, double radiusKm) {
+    }
+    
+    public record Match(Long id, double distanceKm) {
+    }
+}
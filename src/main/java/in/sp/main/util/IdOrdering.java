@@ -0,0 +1,32 @@
+package in.sp.main.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Restores a ranked id order after a batch load such as {@code findAllById},
+ * which returns rows in whatever order the database produced them.
+ */
+public final class IdOrdering {
+    
+    private IdOrdering() {
+    }
+    
+    public static <T> List<T> inOrderOf(List<Long> ids, Iterable<T> entities, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(idOf.apply(entity), entity);
+        }
+        List<T> ordered = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,27 @@
+package in.sp.main.util;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * {@code nextCursor} is an opaque token for the page after this one, or {@code null} on the last page.
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+    
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+    
+    /**
+     * Clamps a requested page size to {@code 1..MAX_SIZE}, using {@code DEFAULT_SIZE} when none was given.
+     */
+    public static int clampSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+}
@@ -0,0 +1,251 @@
+package in.sp.main.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Small insertion-ordered map from primitive {@code long} keys to {@code int} values.
+ * Entries sit in two dense arrays, indexed by an open-addressing table of positions, so lookups are
+ * O(1) without boxing and iteration follows insertion order. A value of 0 means "absent".
+ * Not thread-safe; callers copy before sharing.
+ */
+public final class LongIntMap {
+    
+    private long[] keys;
+    private int[] values;
+    private int size;
+    // Each slot holds position + 1 into keys/values, 0 for an empty slot
+    private int[] table;
+    
+    public LongIntMap() {
+        this(4);
+    }
+    
+    public LongIntMap(int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        keys = new long[capacity];
+        values = new int[capacity];
+        rebuildTable(tableSizeFor(capacity));
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public long keyAt(int index) {
+        checkIndex(index);
+        return keys[index];
+    }
+    
+    public int valueAt(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+    
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+    
+    /**
+     * @return the value for the key, or 0 if absent
+     */
+    public int get(long key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : 0;
+    }
+    
+    /**
+     * Sets the key's value, appending it if new; a value of 0 or less removes the key.
+     *
+     * @return the previous value, or 0 if absent
+     */
+    public int put(long key, int value) {
+        if (value <= 0) {
+            return remove(key);
+        }
+        int index = indexOf(key);
+        if (index >= 0) {
+            int previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        if (size == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        if (size * 2 > table.length) {
+            rebuildTable(table.length * 2);
+        } else {
+            insertSlot(key, size);
+        }
+        return 0;
+    }
+    
+    /**
+     * Adds to the key's value, saturating at {@link Integer#MAX_VALUE}; the key is removed if the result is 0 or less.
+     *
+     * @return the new value, or 0 if removed
+     */
+    public int addTo(long key, int delta) {
+        long sum = (long) get(key) + delta;
+        int value = (int) Math.min(sum, Integer.MAX_VALUE);
+        put(key, value);
+        return Math.max(value, 0);
+    }
+    
+    /**
+     * Removes the key, keeping the remaining entries in order.
+     *
+     * @return the removed value, or 0 if absent
+     */
+    public int remove(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return 0;
+        }
+        int previous = values[index];
+        int tail = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, tail);
+        System.arraycopy(values, index + 1, values, index, tail);
+        size--;
+        // Positions after the removed entry all moved, so re-index rather than patch every slot
+        rebuildTable(table.length);
+        return previous;
+    }
+    
+    public void clear() {
+        size = 0;
+        Arrays.fill(table, 0);
+    }
+    
+    public LongIntMap copy() {
+        LongIntMap copy = new LongIntMap(Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            copy.put(keys[i], values[i]);
+        }
+        return copy;
+    }
+    
+    /**
+     * Compact binary form: entry count, then each key and value, 12 bytes per entry.
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + size * (Long.BYTES + Integer.BYTES));
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(keys[i]).putInt(values[i]);
+        }
+        return buffer.array();
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the bytes were not written by {@link #toBytes()}
+     */
+    public static LongIntMap fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return new LongIntMap();
+        }
+        if (bytes.length < Integer.BYTES) {
+            throw new IllegalArgumentException("Corrupt map encoding");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int count = buffer.getInt();
+        // Widened so a forged count cannot overflow into a matching length
+        if (count < 0 || buffer.remaining() != (long) count * (Long.BYTES + Integer.BYTES)) {
+            throw new IllegalArgumentException("Corrupt map encoding");
+        }
+        LongIntMap map = new LongIntMap(Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            map.put(buffer.getLong(), buffer.getInt());
+        }
+        return map;
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof LongIntMap that) || that.size != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (that.keys[i] != keys[i] || that.values[i] != values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Long.hashCode(keys[i]);
+            hash = 31 * hash + values[i];
+        }
+        return hash;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(keys[i]).append('=').append(values[i]);
+        }
+        return text.append('}').toString();
+    }
+    
+    private int indexOf(long key) {
+        int mask = table.length - 1;
+        for (int slot = mix(key) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (keys[index] == key) {
+                return index;
+            }
+        }
+        return -1;
+    }
+    
+    private void insertSlot(long key, int position) {
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = position;
+    }
+    
+    private void rebuildTable(int tableSize) {
+        table = new int[tableSize];
+        for (int i = 0; i < size; i++) {
+            insertSlot(keys[i], i + 1);
+        }
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+    
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(Math.max(capacity * 2, 2) - 1) << 1;
+    }
+    
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
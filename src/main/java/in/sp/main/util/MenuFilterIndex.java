@@ -0,0 +1,275 @@
+package in.sp.main.util;
+
+import in.sp.main.entity.MenuItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory filter index over menu items, scoped by restaurant and by city.
+ * Each item's food type, availability and tags are encoded as one bitset, so a query is a handful of
+ * word-wise ANDs per candidate instead of string parsing. Tag names are interned into a dictionary
+ * that hands out one bit per distinct tag.
+ */
+public final class MenuFilterIndex {
+    
+    // Bits 0..2 are the food types, bit 3 is availability, tags start after that
+    private static final int AVAILABLE_BIT = MenuItem.FoodType.values().length;
+    private static final int FIRST_TAG_BIT = AVAILABLE_BIT + 1;
+    
+    private final Map<String, Integer> dictionary = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTagBit = new AtomicInteger(FIRST_TAG_BIT);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Scope sets are kept sorted, so a query walks ids in order and stops as soon as the page is full
+    private final Map<Long, Set<Long>> byRestaurant = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> byCity = new ConcurrentHashMap<>();
+    
+    private record Entry(Long restaurantId, String city, long[] bits) {
+    }
+    
+    /**
+     * What to match: every tag in {@code allTags}, at least one tag in {@code anyTags} when given,
+     * and one of {@code foodTypes} when given.
+     */
+    public record Query(Collection<String> allTags, Collection<String> anyTags,
+                        Collection<MenuItem.FoodType> foodTypes, boolean availableOnly) {
+    }
+    
+    /**
+     * Lower-cases and trims a tag and collapses inner whitespace; null for a blank tag.
+     */
+    public static String normalizeTag(String tag) {
+        if (tag == null || tag.isBlank()) {
+            return null;
+        }
+        return tag.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Splits a comma-separated tag string into normalized, distinct tags in their original order.
+     */
+    public static List<String> parseTags(String tags) {
+        if (tags == null || tags.isBlank()) {
+            return List.of();
+        }
+        List<String> parsed = new ArrayList<>();
+        for (String tag : tags.split(",")) {
+            String normalized = normalizeTag(tag);
+            if (normalized != null && !parsed.contains(normalized)) {
+                parsed.add(normalized);
+            }
+        }
+        return parsed;
+    }
+    
+    /**
+     * Bit assigned to a tag, or -1 if no indexed item has ever carried it.
+     */
+    public int bitOf(String tag) {
+        String normalized = normalizeTag(tag);
+        Integer bit = normalized != null ? dictionary.get(normalized) : null;
+        return bit != null ? bit : -1;
+    }
+    
+    /**
+     * Adds a tag to the dictionary ahead of any item carrying it and returns its bit.
+     */
+    public int register(String tag) {
+        String normalized = normalizeTag(tag);
+        if (normalized == null) {
+            throw new IllegalArgumentException("Tag must not be blank");
+        }
+        return intern(normalized);
+    }
+    
+    public Set<String> getTags() {
+        return Collections.unmodifiableSet(dictionary.keySet());
+    }
+    
+    public void put(Long itemId, Long restaurantId, String city, MenuItem.FoodType foodType,
+                    boolean available, Collection<String> tags) {
+        long[] bits = new long[1];
+        if (foodType != null) {
+            bits = set(bits, foodType.ordinal());
+        }
+        if (available) {
+            bits = set(bits, AVAILABLE_BIT);
+        }
+        for (String tag : tags) {
+            String normalized = normalizeTag(tag);
+            if (normalized != null) {
+                bits = set(bits, intern(normalized));
+            }
+        }
+        String cityKey = cityKey(city);
+        Entry previous = entries.put(itemId, new Entry(restaurantId, cityKey, bits));
+        if (previous != null) {
+            unlink(itemId, previous);
+        }
+        byRestaurant.computeIfAbsent(restaurantId, id -> new ConcurrentSkipListSet<>()).add(itemId);
+        if (cityKey != null) {
+            byCity.computeIfAbsent(cityKey, c -> new ConcurrentSkipListSet<>()).add(itemId);
+        }
+    }
+    
+    public void remove(Long itemId) {
+        Entry previous = entries.remove(itemId);
+        if (previous != null) {
+            unlink(itemId, previous);
+        }
+    }
+    
+    public void removeRestaurant(Long restaurantId) {
+        Set<Long> itemIds = byRestaurant.remove(restaurantId);
+        if (itemIds != null) {
+            itemIds.forEach(this::remove);
+        }
+    }
+    
+    /**
+     * Moves a restaurant's items to another city without re-reading them.
+     */
+    public void updateCity(Long restaurantId, String city) {
+        String cityKey = cityKey(city);
+        for (Long itemId : byRestaurant.getOrDefault(restaurantId, Set.of())) {
+            Entry entry = entries.get(itemId);
+            if (entry != null && !Objects.equals(entry.city(), cityKey)) {
+                entries.put(itemId, new Entry(restaurantId, cityKey, entry.bits()));
+                if (entry.city() != null) {
+                    byCity.getOrDefault(entry.city(), Set.of()).remove(itemId);
+                }
+                if (cityKey != null) {
+                    byCity.computeIfAbsent(cityKey, c -> new ConcurrentSkipListSet<>()).add(itemId);
+                }
+            }
+        }
+    }
+    
+    public List<Long> findInRestaurant(Long restaurantId, Query query, int limit) {
+        return find(byRestaurant.getOrDefault(restaurantId, Set.of()), query, limit);
+    }
+    
+    public List<Long> findInCity(String city, Query query, int limit) {
+        String cityKey = cityKey(city);
+        return find(cityKey != null ? byCity.getOrDefault(cityKey, Set.of()) : Set.of(), query, limit);
+    }
+    
+    public void clear() {
+        entries.clear();
+        byRestaurant.clear();
+        byCity.clear();
+    }
+    
+    /**
+     * Matches candidates in ascending id order so that results are stable between calls.
+     */
+    private List<Long> find(Set<Long> candidates, Query query, int limit) {
+        long[] all = new long[1];
+        for (String tag : nullToEmpty(query.allTags())) {
+            int bit = bitOf(tag);
+            if (bit < 0) {
+                // No item carries this tag, so none can carry all of them
+                return List.of();
+            }
+            all = set(all, bit);
+        }
+        if (query.availableOnly()) {
+            all = set(all, AVAILABLE_BIT);
+        }
+        long[] anyTags = null;
+        if (!nullToEmpty(query.anyTags()).isEmpty()) {
+            anyTags = new long[1];
+            for (String tag : query.anyTags()) {
+                int bit = bitOf(tag);
+                if (bit >= 0) {
+                    anyTags = set(anyTags, bit);
+                }
+            }
+        }
+        long[] foodTypes = null;
+        if (!nullToEmpty(query.foodTypes()).isEmpty()) {
+            foodTypes = new long[1];
+            for (MenuItem.FoodType foodType : query.foodTypes()) {
+                foodTypes = set(foodTypes, foodType.ordinal());
+            }
+        }
+        
+        List<Long> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            Entry entry = entries.get(id);
+            if (entry != null && containsAll(entry.bits(), all)
+                    && (anyTags == null || intersects(entry.bits(), anyTags))
+                    && (foodTypes == null || intersects(entry.bits(), foodTypes))) {
+                matches.add(id);
+                if (matches.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+    
+    private int intern(String tag) {
+        return dictionary.computeIfAbsent(tag, t -> nextTagBit.getAndIncrement());
+    }
+    
+    private void unlink(Long itemId, Entry entry) {
+        Entry current = entries.get(itemId);
+        if (current == null || !current.restaurantId().equals(entry.restaurantId())) {
+            Set<Long> restaurantItems = byRestaurant.get(entry.restaurantId());
+            if (restaurantItems != null) {
+                restaurantItems.remove(itemId);
+            }
+        }
+        if (entry.city() != null && (current == null || !entry.city().equals(current.city()))) {
+            Set<Long> cityItems = byCity.get(entry.city());
+            if (cityItems != null) {
+                cityItems.remove(itemId);
+            }
+        }
+    }
+    
+    private static String cityKey(String city) {
+        return city == null || city.isBlank() ? null : city.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static <T> Collection<T> nullToEmpty(Collection<T> values) {
+        return values != null ? values : List.of();
+    }
+    
+    private static long[] set(long[] bits, int bit) {
+        int word = bit >>> 6;
+        long[] target = word < bits.length ? bits : Arrays.copyOf(bits, word + 1);
+        target[word] |= 1L << bit;
+        return target;
+    }
+    
+    private static boolean containsAll(long[] bits, long[] required) {
+        for (int i = 0; i < required.length; i++) {
+            long have = i < bits.length ? bits[i] : 0L;
+            if ((have & required[i]) != required[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean intersects(long[] bits, long[] wanted) {
+        for (int i = 0; i < Math.min(bits.length, wanted.length); i++) {
+            if ((bits[i] & wanted[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
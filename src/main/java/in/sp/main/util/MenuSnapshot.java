@@ -0,0 +1,111 @@
+package in.sp.main.util;
+
+import in.sp.main.entity.MenuItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of one restaurant's menu at a given version, already grouped by category.
+ * Items are copied out of their entities so a snapshot can be shared between request threads
+ * and never reflects a half-applied edit.
+ */
+public final class MenuSnapshot {
+    
+    public static final String UNCATEGORIZED = "Other";
+    
+    private final Long restaurantId;
+    private final long version;
+    private final List<Item> items;
+    private final Map<String, List<Item>> byCategory;
+    private final Map<Long, Item> byId;
+    
+    private MenuSnapshot(Long restaurantId, long version, List<Item> items, Map<String, List<Item>> byCategory) {
+        this.restaurantId = restaurantId;
+        this.version = version;
+        this.items = items;
+        this.byCategory = byCategory;
+        Map<Long, Item> index = new HashMap<>();
+        for (Item item : items) {
+            index.put(item.id(), item);
+        }
+        this.byId = index;
+    }
+    
+    /**
+     * Builds a snapshot from the restaurant's menu items, keeping their order.
+     * Categories appear in the order their first item does.
+     */
+    public static MenuSnapshot of(Long restaurantId, long version, List<MenuItem> menuItems) {
+        return of(restaurantId, version, menuItems, List.of());
+    }
+    
+    /**
+     * Builds a snapshot whose categories follow the given order; categories not listed there,
+     * including {@link #UNCATEGORIZED}, follow in the order their first item appears.
+     */
+    public static MenuSnapshot of(Long restaurantId, long version, List<MenuItem> menuItems, List<String> categoryOrder) {
+        List<Item> items = new ArrayList<>(menuItems.size());
+        Map<String, List<Item>> grouped = new LinkedHashMap<>();
+        for (String category : categoryOrder) {
+            grouped.put(category, new ArrayList<>());
+        }
+        for (MenuItem menuItem : menuItems) {
+            Item item = Item.from(menuItem);
+            items.add(item);
+            grouped.computeIfAbsent(categoryOf(item), c -> new ArrayList<>()).add(item);
+        }
+        Map<String, List<Item>> byCategory = new LinkedHashMap<>();
+        grouped.forEach((category, categoryItems) -> {
+            // Ordered categories whose items have all gone get no tab
+            if (!categoryItems.isEmpty()) {
+                byCategory.put(category, List.copyOf(categoryItems));
+            }
+        });
+        return new MenuSnapshot(restaurantId, version, List.copyOf(items), Collections.unmodifiableMap(byCategory));
+    }
+    
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    /**
+     * Increases every time the menu is rebuilt, so it doubles as a cache validator.
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    public List<Item> getItems() {
+        return items;
+    }
+    
+    public Map<String, List<Item>> getByCategory() {
+        return byCategory;
+    }
+    
+    /**
+     * @return the item with this id, or null if it is not on this menu
+     */
+    public Item findItem(Long itemId) {
+        return byId.get(itemId);
+    }
+    
+    private static String categoryOf(Item item) {
+        return item.category() == null || item.category().isBlank() ? UNCATEGORIZED : item.category().trim();
+    }
+    
+    public record Item(Long id, String dishName, String description, Double price, String category,
+                       MenuItem.FoodType foodType, String tags, boolean available, String imageUrl) {
+        
+        static Item from(MenuItem menuItem) {
+            return new Item(menuItem.getId(), menuItem.getDishName(), menuItem.getDescription(), menuItem.getPrice(),
+                    menuItem.getCategory(), menuItem.getFoodType(), menuItem.getTags(), menuItem.isAvailable(),
+                    menuItem.getImageUrl());
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package in.sp.main.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-folded trigram inverted index over short names.
+ * A query matches a document when the normalized query is a substring of the normalized
+ * document, i.e. the same semantics as {@code LIKE '%query%'} under a case-insensitive collation.
+ * Candidate ids come from intersecting the posting lists of the query's trigrams and are then
+ * verified against the stored text, so the index never returns false positives.
+ * Grams are kept sorted and every document also posts its last one and two characters, so a query
+ * shorter than a trigram is answered from the grams it prefixes rather than by scanning every document.
+ */
+public class NgramIndex {
+    
+    private static final int GRAM_SIZE = 3;
+    
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /**
+     * Adds or replaces the text indexed for the given id.
+     */
+    public void put(Long id, String text) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            documents.put(id, normalized);
+            for (String gram : documentGrams(normalized)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns up to {@code limit} ids whose text contains the query, best match first.
+     * Exact matches rank above prefix matches, which rank above matches at a word start,
+     * which rank above any other substring match; ties go to the shorter text, then the lower id.
+     */
+    public List<Long> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Scored> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(q)) {
+                String text = documents.get(id);
+                int pos = text.indexOf(q);
+                if (pos >= 0) {
+                    matches.add(new Scored(id, rank(text, q, pos), text.length()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingInt(Scored::rank)
+                .thenComparingInt(Scored::length)
+                .thenComparingLong(Scored::id));
+        List<Long> ids = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            ids.add(matches.get(i).id());
+        }
+        return ids;
+    }
+    
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+    
+    private Set<Long> candidates(String q) {
+        if (q.length() < GRAM_SIZE) {
+            // Every occurrence of a short query starts one of the document's grams
+            Set<Long> result = new HashSet<>();
+            for (Set<Long> posting : postings.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+                result.addAll(posting);
+            }
+            return result;
+        }
+        Set<Long> smallest = null;
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : queryGrams(q)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            lists.add(posting);
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        Set<Long> result = new HashSet<>(smallest);
+        for (Set<Long> posting : lists) {
+            if (posting != smallest) {
+                result.retainAll(posting);
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+    
+    private void removeInternal(Long id) {
+        String previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : documentGrams(previous)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+    
+    private static Set<String> queryGrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+    
+    /**
+     * Every trigram plus the suffixes too short to be one, so each position in the text starts a gram.
+     */
+    private static Set<String> documentGrams(String normalized) {
+        Set<String> grams = queryGrams(normalized);
+        for (int i = Math.max(0, normalized.length() - GRAM_SIZE + 1); i < normalized.length(); i++) {
+            grams.add(normalized.substring(i));
+        }
+        return grams;
+    }
+    
+    private static int rank(String text, String q, int pos) {
+        if (text.equals(q)) {
+            return 0;
+        }
+        if (pos == 0) {
+            return 1;
+        }
+        if (text.contains(" " + q)) {
+            return 2;
+        }
+        return 3;
+    }
+    
+    private record Scored(Long id, int rank, int length) {
+    }
+}
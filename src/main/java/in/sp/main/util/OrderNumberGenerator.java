@@ -0,0 +1,85 @@
+package in.sp.main.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style id generator: 41 bits of milliseconds since {@link #EPOCH}, a 10-bit node id and a
+ * 12-bit per-millisecond sequence. Ids are unique across nodes with distinct node ids and increase
+ * on each node, and are handed out with a compare-and-set rather than a lock or a database round trip.
+ * <p>
+ * A full millisecond carries into the next one instead of waiting for the clock, and a clock that
+ * steps back is ignored until it catches up, so ids never repeat or go backwards.
+ */
+public final class OrderNumberGenerator {
+    
+    /**
+     * 2024-01-01T00:00:00Z; 41 bits of milliseconds last until 2093.
+     */
+    public static final long EPOCH = 1_704_067_200_000L;
+    
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+    
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int TIME_SHIFT = SEQUENCE_BITS + 10;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    
+    // Crockford base32: no I, L, O or U, and in ASCII order so fixed-width text sorts like the number
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+    
+    private final long nodeId;
+    private final LongSupplier clock;
+    // Milliseconds since the epoch shifted left by SEQUENCE_BITS, plus the sequence
+    private final AtomicLong state = new AtomicLong();
+    
+    public OrderNumberGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+    
+    OrderNumberGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+    
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long now = clock.getAsLong() - EPOCH;
+            // Past sequence 4095 the increment carries into the millisecond bits
+            long next = now > current >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : current + 1;
+            if (state.compareAndSet(current, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << TIME_SHIFT) | (nodeId << NODE_SHIFT) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+    
+    /**
+     * Next id as a prefixed, fixed-width code such as {@code FD-01HV3K9Q2M7XZ}; codes with the same
+     * prefix sort in the order they were generated on a node.
+     */
+    public String next(String prefix) {
+        return prefix + "-" + encode(nextId());
+    }
+    
+    public static String encode(long id) {
+        char[] text = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            text[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(text);
+    }
+    
+    /**
+     * Milliseconds since 1970 at which the id was generated.
+     */
+    public static long timestampOf(long id) {
+        return (id >>> TIME_SHIFT) + EPOCH;
+    }
+}
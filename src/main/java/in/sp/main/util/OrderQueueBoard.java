@@ -0,0 +1,197 @@
+package in.sp.main.util;
+
+import in.sp.main.entity.FoodOrder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Active food orders per restaurant, bucketed by status. Within a bucket orders keep the order in which
+ * they entered that status, so the oldest ticket is first. Delivered and cancelled orders leave the board,
+ * which therefore holds only work in progress however many orders a restaurant has had.
+ * <p>
+ * A restaurant's queue is filled from its loader on first use; until then changes for it are ignored,
+ * since the loader will read them. Each queue has its own lock.
+ * <p>
+ * Events can arrive twice or out of order, so a change no newer than the order's stored version is
+ * ignored, and the ids of orders that recently left the board are remembered so a late change cannot
+ * bring them back.
+ */
+public final class OrderQueueBoard {
+    
+    /**
+     * @param since   when the order entered its current status
+     * @param version the order's version at that status, or null if unknown
+     */
+    public record Entry(Long orderId, String orderNumber, FoodOrder.OrderStatus status, LocalDateTime placedAt, LocalDateTime since,
+                        Long version) {
+    }
+    
+    private static final int FINISHED_CAPACITY = 1024;
+    
+    private final ConcurrentHashMap<Long, Queue> queues = new ConcurrentHashMap<>();
+    
+    private static final class Queue {
+        
+        private final Map<Long, Entry> byId = new HashMap<>();
+        private final EnumMap<FoodOrder.OrderStatus, LinkedHashMap<Long, Entry>> buckets = new EnumMap<>(FoodOrder.OrderStatus.class);
+        // Recently delivered or cancelled orders, oldest dropped first
+        private final Set<Long> finished = Collections.newSetFromMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > FINISHED_CAPACITY;
+            }
+        });
+        private boolean loaded;
+        // Bumped by every change, so a display can tell whether it is current
+        private long revision;
+        
+        Queue() {
+            for (FoodOrder.OrderStatus status : FoodOrder.OrderStatus.values()) {
+                if (!status.isTerminal()) {
+                    buckets.put(status, new LinkedHashMap<>());
+                }
+            }
+        }
+        
+        boolean apply(Entry entry) {
+            Entry current = byId.get(entry.orderId());
+            if (current != null && (current.status() == entry.status() || isStale(entry, current))) {
+                return false;
+            }
+            if (entry.status().isTerminal()) {
+                finished.add(entry.orderId());
+            } else if (current == null && finished.contains(entry.orderId())) {
+                return false;
+            }
+            if (current != null) {
+                buckets.get(current.status()).remove(entry.orderId());
+                byId.remove(entry.orderId());
+            }
+            if (!entry.status().isTerminal()) {
+                Entry stored = current != null && entry.placedAt() == null
+                        ? new Entry(entry.orderId(), entry.orderNumber(), entry.status(), current.placedAt(), entry.since(), entry.version())
+                        : entry;
+                byId.put(entry.orderId(), stored);
+                buckets.get(entry.status()).put(entry.orderId(), stored);
+            } else if (current == null) {
+                return false;
+            }
+            revision++;
+            return true;
+        }
+        
+        private static boolean isStale(Entry entry, Entry current) {
+            return entry.version() != null && current.version() != null && entry.version() <= current.version();
+        }
+    }
+    
+    /**
+     * Fills the restaurant's queue from {@code loader} unless it already has been.
+     * The loader runs under the queue's lock, so changes arriving meanwhile are applied after it.
+     */
+    public void load(Long restaurantId, Supplier<? extends Collection<Entry>> loader) {
+        Queue queue = queues.computeIfAbsent(restaurantId, id -> new Queue());
+        synchronized (queue) {
+            if (!queue.loaded) {
+                for (Entry entry : loader.get()) {
+                    queue.apply(entry);
+                }
+                queue.loaded = true;
+                queue.revision++;
+            }
+        }
+    }
+    
+    public boolean isLoaded(Long restaurantId) {
+        Queue queue = queues.get(restaurantId);
+        if (queue == null) {
+            return false;
+        }
+        synchronized (queue) {
+            return queue.loaded;
+        }
+    }
+    
+    /**
+     * Moves an order to the entry's status bucket, or off the board if that status is terminal.
+     * A null {@code placedAt} keeps the one already on the board. Ignored for a queue not yet loaded,
+     * for an entry no newer than the stored one, and for an order that has already left the board.
+     *
+     * @return true if the board changed
+     */
+    public boolean apply(Long restaurantId, Entry entry) {
+        Queue queue = queues.get(restaurantId);
+        if (queue == null) {
+            return false;
+        }
+        synchronized (queue) {
+            return queue.loaded && queue.apply(entry);
+        }
+    }
+    
+    /**
+     * Active orders by status, in the status enum's order; each list is oldest first.
+     */
+    public Map<FoodOrder.OrderStatus, List<Entry>> snapshot(Long restaurantId) {
+        Map<FoodOrder.OrderStatus, List<Entry>> snapshot = new EnumMap<>(FoodOrder.OrderStatus.class);
+        Queue queue = queues.get(restaurantId);
+        if (queue == null) {
+            return snapshot;
+        }
+        synchronized (queue) {
+            queue.buckets.forEach((status, bucket) -> snapshot.put(status, List.copyOf(bucket.values())));
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Ids of the orders in one status, or in every active status when {@code status} is null.
+     */
+    public List<Long> orderIds(Long restaurantId, FoodOrder.OrderStatus status) {
+        Queue queue = queues.get(restaurantId);
+        if (queue == null) {
+            return List.of();
+        }
+        synchronized (queue) {
+            if (status != null) {
+                LinkedHashMap<Long, Entry> bucket = queue.buckets.get(status);
+                return bucket != null ? List.copyOf(bucket.keySet()) : List.of();
+            }
+            List<Long> ids = new ArrayList<>(queue.byId.size());
+            queue.buckets.values().forEach(bucket -> ids.addAll(bucket.keySet()));
+            return ids;
+        }
+    }
+    
+    public int count(Long restaurantId, FoodOrder.OrderStatus status) {
+        Queue queue = queues.get(restaurantId);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            LinkedHashMap<Long, Entry> bucket = queue.buckets.get(status);
+            return bucket != null ? bucket.size() : 0;
+        }
+    }
+    
+    public long revision(Long restaurantId) {
+        Queue queue = queues.get(restaurantId);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return queue.revision;
+        }
+    }
+}
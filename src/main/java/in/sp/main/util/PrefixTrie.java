@@ -0,0 +1,150 @@
+package in.sp.main.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive prefix trie of counted terms for typeahead.
+ * Every node caches the {@code topK} most frequent terms below it, so a lookup is a walk down
+ * the prefix plus a copy of that list, independent of how many terms share the prefix.
+ * Adding or removing an occurrence refreshes the caches along one root-to-leaf path.
+ */
+public class PrefixTrie {
+    
+    private static final Comparator<Term> BY_POPULARITY = Comparator.comparingInt(Term::count).reversed()
+            .thenComparing(Term::key);
+    
+    private final int topK;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    
+    public PrefixTrie(int topK) {
+        this.topK = topK;
+    }
+    
+    /**
+     * Records one more occurrence of the term. The first spelling seen is the one suggested.
+     */
+    public void add(String term) {
+        update(term, 1);
+    }
+    
+    /**
+     * Records one fewer occurrence of the term, dropping it when none remain.
+     */
+    public void remove(String term) {
+        update(term, -1);
+    }
+    
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns up to {@code limit} terms starting with {@code prefix}, most frequent first.
+     * {@code limit} is capped at the trie's {@code topK}.
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            List<Term> top = node.top;
+            int n = Math.min(Math.min(limit, topK), top.size());
+            List<String> completions = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                completions.add(top.get(i).display());
+            }
+            return completions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public static String normalize(String term) {
+        return term == null ? "" : term.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+    
+    private void update(String term, int delta) {
+        String key = normalize(term);
+        if (key.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    child = new Node();
+                    node.children.put(key.charAt(i), child);
+                }
+                node = child;
+                path[i + 1] = node;
+            }
+            if (node.count + delta < 0) {
+                return;
+            }
+            node.count += delta;
+            if (node.count == 0) {
+                node.display = null;
+            } else if (node.display == null) {
+                node.display = term.trim().replaceAll("\\s+", " ");
+            }
+            for (int i = key.length(); i >= 0; i--) {
+                Node current = path[i];
+                refreshTop(current, i == key.length() ? key : null);
+                // Prune branches that no longer hold any term
+                if (i > 0 && current.count == 0 && current.children.isEmpty()) {
+                    path[i - 1].children.remove(key.charAt(i - 1));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void refreshTop(Node node, String ownKey) {
+        List<Term> candidates = new ArrayList<>();
+        if (node.count > 0) {
+            candidates.add(new Term(ownKey != null ? ownKey : normalize(node.display), node.display, node.count));
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(BY_POPULARITY);
+        node.top = List.copyOf(candidates.subList(0, Math.min(topK, candidates.size())));
+    }
+    
+    private record Term(String key, String display, int count) {
+    }
+    
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private int count;
+        private String display;
+        private List<Term> top = List.of();
+    }
+}
@@ -0,0 +1,65 @@
+package in.sp.main.util;
+
+import java.util.Arrays;
+
+/**
+ * Event count over the last {@code days} days, kept as one slot per day in a ring.
+ * Slots are recycled lazily when a newer day lands on them, so there is no background expiry.
+ * Days are epoch days ({@code LocalDate.toEpochDay()}).
+ */
+public class RollingDayCounter {
+    
+    private final long[] slotDay;
+    private final int[] slotCount;
+    
+    public RollingDayCounter(int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("days must be positive");
+        }
+        this.slotDay = new long[days];
+        this.slotCount = new int[days];
+        Arrays.fill(slotDay, Long.MIN_VALUE);
+    }
+    
+    public synchronized void add(long epochDay, int count) {
+        int slot = slot(epochDay);
+        if (slotDay[slot] != epochDay) {
+            if (slotDay[slot] > epochDay) {
+                // Older than the window this slot already covers
+                return;
+            }
+            slotDay[slot] = epochDay;
+            slotCount[slot] = 0;
+        }
+        slotCount[slot] += count;
+    }
+    
+    /**
+     * Takes back up to {@code count} events from a day still held in its slot. Days the slot has
+     * already moved past, or never recorded, are left alone, so a total cannot go negative.
+     */
+    public synchronized void subtract(long epochDay, int count) {
+        int slot = slot(epochDay);
+        if (slotDay[slot] == epochDay) {
+            slotCount[slot] = Math.max(0, slotCount[slot] - count);
+        }
+    }
+    
+    /**
+     * Total over the window ending at {@code today}, inclusive.
+     */
+    public synchronized int total(long today) {
+        long oldest = today - slotDay.length + 1;
+        int total = 0;
+        for (int i = 0; i < slotDay.length; i++) {
+            if (slotDay[i] >= oldest && slotDay[i] <= today) {
+                total += slotCount[i];
+            }
+        }
+        return total;
+    }
+    
+    private int slot(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) slotDay.length);
+    }
+}
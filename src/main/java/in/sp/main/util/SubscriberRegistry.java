@@ -0,0 +1,70 @@
+package in.sp.main.util;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Subscribers grouped by the key they watch, such as open order-tracking streams by order id.
+ * Reads never lock, and adding or removing touches only its key's hash bin, so publishing to one key
+ * does not contend with connections coming and going on others. A key is dropped with its last subscriber.
+ */
+public final class SubscriberRegistry<K, S> {
+    
+    private final ConcurrentHashMap<K, Set<S>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    
+    public void add(K key, S subscriber) {
+        subscribers.compute(key, (k, set) -> {
+            Set<S> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            if (target.add(subscriber)) {
+                size.incrementAndGet();
+            }
+            return target;
+        });
+    }
+    
+    /**
+     * @return true if the subscriber was registered under the key
+     */
+    public boolean remove(K key, S subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(key, (k, set) -> {
+            if (set.remove(subscriber)) {
+                removed[0] = true;
+                size.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+        return removed[0];
+    }
+    
+    /**
+     * Live, unmodifiable view of one key's subscribers; empty if there are none.
+     */
+    public Set<S> get(K key) {
+        Set<S> set = subscribers.get(key);
+        return set != null ? Collections.unmodifiableSet(set) : Set.of();
+    }
+    
+    public boolean contains(K key) {
+        return subscribers.containsKey(key);
+    }
+    
+    public void forEach(BiConsumer<K, S> action) {
+        subscribers.forEach((key, set) -> set.forEach(subscriber -> action.accept(key, subscriber)));
+    }
+    
+    /**
+     * Subscribers across all keys.
+     */
+    public int size() {
+        return size.get();
+    }
+    
+    public int keyCount() {
+        return subscribers.size();
+    }
+}
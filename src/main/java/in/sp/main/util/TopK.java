@@ -0,0 +1,46 @@
+package in.sp.main.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Partial top-K selection with a bounded min-heap: O(n log k) time and O(k) memory,
+ * instead of sorting every candidate to show the first few.
+ */
+public final class TopK {
+    
+    private TopK() {
+    }
+    
+    /**
+     * Returns the {@code k} best items that pass {@code filter}, best first.
+     * {@code betterFirst} orders better items before worse ones and must be a total order
+     * (break ties on an id) so that consecutive pages are stable.
+     */
+    public static <T> List<T> select(Iterable<T> items, Predicate<? super T> filter, int k,
+                                     Comparator<? super T> betterFirst) {
+        if (k <= 0) {
+            return List.of();
+        }
+        // The heap root is the worst of the current best k, so it is the one to displace
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.min(k, 1024), betterFirst.reversed());
+        for (T item : items) {
+            if (!filter.test(item)) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.offer(item);
+            } else if (betterFirst.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(item);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        result.sort(betterFirst);
+        return Collections.unmodifiableList(result);
+    }
+}
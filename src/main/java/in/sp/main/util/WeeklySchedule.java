@@ -0,0 +1,149 @@
+package in.sp.main.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A restaurant's weekly opening hours reduced to a 7-bit day mask plus one daily window.
+ * Windows that close before they open run past midnight into the next day, and equal
+ * opening and closing times mean open all day. Lookups are constant time.
+ */
+public final class WeeklySchedule {
+    
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    
+    private static final int ALL_DAYS = 0b111_1111;
+    private static final Pattern DAY = Pattern.compile("mon|tue|wed|thu|fri|sat|sun");
+    private static final Pattern RANGE = Pattern.compile("(mon|tue|wed|thu|fri|sat|sun)[a-z]*\\s*(?:to|-|till|until)\\s*(mon|tue|wed|thu|fri|sat|sun)");
+    
+    // Bit 0 is Monday, bit 6 is Sunday
+    private final int dayMask;
+    private final int openMinute;
+    private final int closeMinute;
+    
+    public WeeklySchedule(int dayMask, int openMinute, int closeMinute) {
+        this.dayMask = dayMask & ALL_DAYS;
+        this.openMinute = openMinute;
+        this.closeMinute = closeMinute;
+    }
+    
+    /**
+     * Builds a schedule from the free-text fields owners fill in, e.g. "Monday to Saturday" and "Sunday".
+     * Returns {@code null} when either time is missing, since the hours are then unknown.
+     */
+    public static WeeklySchedule parse(LocalTime openingTime, LocalTime closingTime, String workingDays, String weeklyOff) {
+        if (openingTime == null || closingTime == null) {
+            return null;
+        }
+        int days = parseDays(workingDays, ALL_DAYS);
+        days &= ~parseDays(weeklyOff, 0);
+        return new WeeklySchedule(days, openingTime.getHour() * 60 + openingTime.getMinute(),
+                closingTime.getHour() * 60 + closingTime.getMinute());
+    }
+    
+    /**
+     * Parses day names, "X to Y" ranges (wrapping past Sunday), "weekdays" and "weekends".
+     * Text that names no day yields {@code fallback}.
+     */
+    static int parseDays(String text, int fallback) {
+        if (text == null || text.isBlank()) {
+            return fallback;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        if (normalized.contains("none")) {
+            return 0;
+        }
+        int mask = 0;
+        if (normalized.contains("weekday")) {
+            mask |= 0b001_1111;
+        }
+        if (normalized.contains("weekend")) {
+            mask |= 0b110_0000;
+        }
+        Matcher range = RANGE.matcher(normalized);
+        while (range.find()) {
+            int from = dayIndex(range.group(1));
+            int to = dayIndex(range.group(2));
+            for (int d = from; ; d = (d + 1) % 7) {
+                mask |= 1 << d;
+                if (d == to) {
+                    break;
+                }
+            }
+        }
+        Matcher day = DAY.matcher(normalized);
+        while (day.find()) {
+            mask |= 1 << dayIndex(day.group());
+        }
+        if (normalized.contains("daily") || normalized.contains("everyday") || normalized.contains("all days")) {
+            mask = ALL_DAYS;
+        }
+        return mask == 0 ? fallback : mask;
+    }
+    
+    public boolean isOpenAt(DayOfWeek day, int minuteOfDay) {
+        int d = day.getValue() - 1;
+        if (openMinute == closeMinute) {
+            return worksOn(d);
+        }
+        if (openMinute < closeMinute) {
+            return worksOn(d) && minuteOfDay >= openMinute && minuteOfDay < closeMinute;
+        }
+        // Overnight window: the late part belongs to today, the early part to yesterday's shift
+        return (worksOn(d) && minuteOfDay >= openMinute) || (worksOn((d + 6) % 7) && minuteOfDay < closeMinute);
+    }
+    
+    public boolean isOpenAt(int minuteOfWeek) {
+        return isOpenAt(DayOfWeek.of(minuteOfWeek / MINUTES_PER_DAY + 1), minuteOfWeek % MINUTES_PER_DAY);
+    }
+    
+    /**
+     * Calls {@code action} with the minute of week (Monday 00:00 is 0) and new state of every open/close boundary.
+     */
+    public void forEachTransition(BiConsumer<Integer, Boolean> action) {
+        for (int d = 0; d < 7; d++) {
+            if (!worksOn(d)) {
+                continue;
+            }
+            int dayStart = d * MINUTES_PER_DAY;
+            if (openMinute == closeMinute) {
+                // Open all day: only the edges of a run of working days are boundaries
+                if (!worksOn((d + 6) % 7)) {
+                    action.accept(dayStart, true);
+                }
+                if (!worksOn((d + 1) % 7)) {
+                    action.accept((dayStart + MINUTES_PER_DAY) % MINUTES_PER_WEEK, false);
+                }
+                continue;
+            }
+            action.accept(dayStart + openMinute, true);
+            int close = openMinute < closeMinute ? dayStart + closeMinute : dayStart + MINUTES_PER_DAY + closeMinute;
+            action.accept(close % MINUTES_PER_WEEK, false);
+        }
+    }
+    
+    public static int minuteOfWeek(DayOfWeek day, LocalTime time) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+    
+    private boolean worksOn(int dayIndex) {
+        return (dayMask & (1 << dayIndex)) != 0;
+    }
+    
+    private static int dayIndex(String prefix) {
+        return switch (prefix.substring(0, 3)) {
+            case "mon" -> 0;
+            case "tue" -> 1;
+            case "wed" -> 2;
+            case "thu" -> 3;
+            case "fri" -> 4;
+            case "sat" -> 5;
+            default -> 6;
+        };
+    }
+}
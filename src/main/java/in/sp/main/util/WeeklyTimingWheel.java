@@ -0,0 +1,80 @@
+package in.sp.main.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Timing wheel whose slots are the minutes of the week; only slots holding a boundary are allocated.
+ * Weekly schedules repeat, so entries never need re-arming: each tick only reads the slots
+ * it has passed, and its cost depends on how many boundaries fall in them, not on how many
+ * ids are registered.
+ */
+public class WeeklyTimingWheel {
+    
+    private final Map<Integer, Set<Long>> slots = new HashMap<>();
+    private final Map<Long, int[]> slotsById = new HashMap<>();
+    
+    /**
+     * Registers the boundaries of {@code schedule} for {@code id}, replacing any previous ones.
+     */
+    public synchronized void put(Long id, WeeklySchedule schedule) {
+        removeInternal(id);
+        List<Integer> minutes = new ArrayList<>();
+        schedule.forEachTransition((minute, open) -> minutes.add(minute));
+        int[] registered = minutes.stream().mapToInt(Integer::intValue).distinct().toArray();
+        for (int minute : registered) {
+            slots.computeIfAbsent(minute, m -> new HashSet<>()).add(id);
+        }
+        slotsById.put(id, registered);
+    }
+    
+    public synchronized void remove(Long id) {
+        removeInternal(id);
+    }
+    
+    public synchronized void clear() {
+        slots.clear();
+        slotsById.clear();
+    }
+    
+    public synchronized int size() {
+        return slotsById.size();
+    }
+    
+    /**
+     * Returns the ids with a boundary in the minutes after {@code fromExclusive} up to and including
+     * {@code toInclusive}, wrapping past the end of the week. Equal arguments mean no time has passed.
+     */
+    public synchronized Set<Long> due(int fromExclusive, int toInclusive) {
+        Set<Long> due = new HashSet<>();
+        int minute = fromExclusive;
+        while (minute != toInclusive) {
+            minute = (minute + 1) % WeeklySchedule.MINUTES_PER_WEEK;
+            Set<Long> ids = slots.get(minute);
+            if (ids != null) {
+                due.addAll(ids);
+            }
+        }
+        return due;
+    }
+    
+    private void removeInternal(Long id) {
+        int[] registered = slotsById.remove(id);
+        if (registered == null) {
+            return;
+        }
+        for (int minute : registered) {
+            Set<Long> ids = slots.get(minute);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    slots.remove(minute);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+// Typeahead for inputs marked with data-autocomplete="<list>", backed by /autocomplete/<list>
+document.addEventListener('DOMContentLoaded', function () {
+    document.querySelectorAll('input[data-autocomplete]').forEach(function (input, index) {
+        var list = document.createElement('datalist');
+        list.id = 'autocomplete-' + index;
+        input.setAttribute('list', list.id);
+        input.setAttribute('autocomplete', 'off');
+        input.parentNode.insertBefore(list, input.nextSibling);
+
+        var timer = null;
+        var lastPrefix = null;
+        input.addEventListener('input', function () {
+            clearTimeout(timer);
+            timer = setTimeout(function () {
+                var prefix = input.value.trim();
+                if (prefix === lastPrefix) {
+                    return;
+                }
+                lastPrefix = prefix;
+                if (prefix.length === 0) {
+                    list.innerHTML = '';
+                    return;
+                }
+                fetch('/autocomplete/' + input.dataset.autocomplete + '?q=' + encodeURIComponent(prefix))
+                    .then(function (response) { return response.ok ? response.json() : []; })
+                    .then(function (suggestions) {
+                        list.innerHTML = '';
+                        suggestions.forEach(function (suggestion) {
+                            var option = document.createElement('option');
+                            option.value = suggestion;
+                            list.appendChild(option);
+                        });
+                    })
+                    .catch(function () { list.innerHTML = ''; });
+            }, 150);
+        });
+    });
+});
@@ -0,0 +1,124 @@
+package in.sp.main.event;
+
+import in.sp.main.config.KafkaConfig;
+import in.sp.main.service.NotificationService;
+import in.sp.main.service.impl.DomainEventPublisherImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Publishes through {@link DomainEventPublisherImpl} to an embedded broker and checks that
+ * {@link DomainEventKafkaListener} hands every event to this node's listeners in per-owner order and
+ * to the notifications once.
+ */
+class DomainEventKafkaTest {
+    
+    private static final int PARTITIONS = 4;
+    
+    private static EmbeddedKafkaKraftBroker broker;
+    
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, Arrays.stream(DomainEvent.Aggregate.values())
+                .map(DomainEvent.Aggregate::getTopic).toArray(String[]::new));
+        broker.afterPropertiesSet();
+    }
+    
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+    
+    @Configuration
+    @EnableKafka
+    static class KafkaListeners {
+    }
+    
+    static class RecordingListener {
+        
+        final BlockingQueue<DomainEvent> received = new LinkedBlockingQueue<>();
+        
+        @EventListener
+        public void onDomainEvent(DomainEvent event) {
+            received.add(event);
+        }
+    }
+    
+    @Test
+    void testPublish_ReachesLocalListenersInOwnerOrderAndNotifiesOnce() throws Exception {
+        NotificationService notificationService = mock(NotificationService.class);
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            // Converts the Duration settings the way Spring Boot does
+            context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                    "events.kafka.enabled", "true",
+                    "events.kafka.node-id", "test-node",
+                    "spring.kafka.bootstrap-servers", broker.getBrokersAsString())));
+            context.registerBean(NotificationService.class, () -> notificationService);
+            context.register(KafkaListeners.class, KafkaConfig.class, DomainEventKafkaListener.class,
+                    DomainEventPublisherImpl.class, RecordingListener.class);
+            context.refresh();
+            // Both groups start from the latest offset, so wait until they own their partitions
+            for (MessageListenerContainer container : context.getBean(KafkaListenerEndpointRegistry.class).getListenerContainers()) {
+                ContainerTestUtils.waitForAssignment(container, PARTITIONS * DomainEvent.Aggregate.values().length);
+            }
+            
+            DomainEventPublisherImpl publisher = context.getBean(DomainEventPublisherImpl.class);
+            List<DomainEvent> sent = new ArrayList<>();
+            String[] statuses = {"PENDING", "CONFIRMED", "PREPARING", "READY_FOR_PICKUP", "DELIVERED"};
+            for (int i = 0; i < statuses.length; i++) {
+                for (long restaurantId = 1; restaurantId <= 3; restaurantId++) {
+                    DomainEvent event = new DomainEvent(UUID.randomUUID().toString(), DomainEvent.Aggregate.FOOD_ORDER,
+                            i == 0 ? DomainEvent.Type.CREATED : DomainEvent.Type.STATUS_CHANGED, 100 + restaurantId,
+                            "FD-000000000000" + restaurantId, restaurantId, 42L, statuses[i], i == 0 ? null : statuses[i - 1],
+                            Instant.now().truncatedTo(ChronoUnit.MILLIS), (long) i);
+                    publisher.publish(event);
+                    sent.add(event);
+                }
+            }
+            
+            RecordingListener listener = context.getBean(RecordingListener.class);
+            List<DomainEvent> received = new ArrayList<>();
+            while (received.size() < sent.size()) {
+                DomainEvent event = listener.received.poll(30, TimeUnit.SECONDS);
+                assertNotNull(event, "received only " + received.size() + " of " + sent.size() + " events");
+                received.add(event);
+            }
+            assertTrue(received.containsAll(sent));
+            for (long restaurantId = 1; restaurantId <= 3; restaurantId++) {
+                long owner = restaurantId;
+                assertEquals(List.of(statuses), received.stream()
+                        .filter(event -> event.ownerId() == owner).map(DomainEvent::status).toList());
+            }
+            for (DomainEvent event : sent) {
+                verify(notificationService, timeout(30_000)).notify(event);
+            }
+            verifyNoMoreInteractions(notificationService);
+        }
+    }
+}
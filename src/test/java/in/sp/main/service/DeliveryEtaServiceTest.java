@@ -0,0 +1,116 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.event.DomainEvent;
+import in.sp.main.service.impl.DeliveryEtaServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryEtaServiceTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+    private static final Instant T0 = Instant.parse("2024-06-01T10:00:00Z");
+    
+    @Mock
+    private OrderQueueService orderQueueService;
+    
+    @InjectMocks
+    private DeliveryEtaServiceImpl deliveryEtaService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(deliveryEtaService, "alpha", 0.5);
+        ReflectionTestUtils.setField(deliveryEtaService, "defaultPreparation", Duration.ofMinutes(20));
+        ReflectionTestUtils.setField(deliveryEtaService, "defaultDelivery", Duration.ofMinutes(25));
+        ReflectionTestUtils.setField(deliveryEtaService, "kitchenParallelism", 2);
+    }
+    
+    @Test
+    void testEstimate_QueuesBehindPreparingOrders() {
+        when(orderQueueService.countActive(1L, FoodOrder.OrderStatus.PREPARING)).thenReturn(4);
+        
+        // 4 orders ahead over 2 stations = 2 rounds of 20 min, then 20 min prep and 25 min delivery
+        assertEquals(NOW.plusMinutes(85), deliveryEtaService.estimate(1L, FoodOrder.OrderStatus.PENDING, NOW));
+        assertEquals(NOW.plusMinutes(45), deliveryEtaService.estimate(1L, FoodOrder.OrderStatus.PREPARING, NOW));
+        assertEquals(NOW.plusMinutes(25), deliveryEtaService.estimate(1L, FoodOrder.OrderStatus.READY_FOR_PICKUP, NOW));
+        assertEquals(NOW.plusMinutes(25), deliveryEtaService.estimate(1L, FoodOrder.OrderStatus.ON_THE_WAY, NOW));
+        assertNull(deliveryEtaService.estimate(1L, FoodOrder.OrderStatus.DELIVERED, NOW));
+    }
+    
+    @Test
+    void testOnDomainEvent_LearnsPreparationAndDelivery() {
+        deliveryEtaService.onDomainEvent(event(10L, FoodOrder.OrderStatus.PREPARING, T0));
+        deliveryEtaService.onDomainEvent(event(10L, FoodOrder.OrderStatus.READY_FOR_PICKUP, T0.plus(Duration.ofMinutes(12))));
+        deliveryEtaService.onDomainEvent(event(10L, FoodOrder.OrderStatus.DELIVERED, T0.plus(Duration.ofMinutes(42))));
+        
+        DeliveryEtaService.Estimates estimates = deliveryEtaService.getEstimates(1L);
+        assertEquals(Duration.ofMinutes(12), estimates.preparation());
+        assertEquals(Duration.ofMinutes(30), estimates.delivery());
+        assertEquals(1, estimates.preparationSamples());
+        
+        // A second order blends in rather than replacing the first
+        deliveryEtaService.onDomainEvent(event(11L, FoodOrder.OrderStatus.PREPARING, T0));
+        deliveryEtaService.onDomainEvent(event(11L, FoodOrder.OrderStatus.READY_FOR_PICKUP, T0.plus(Duration.ofMinutes(20))));
+        assertEquals(Duration.ofMinutes(16), deliveryEtaService.getEstimates(1L).preparation());
+    }
+    
+    @Test
+    void testOnDomainEvent_IgnoresUntimedAndCancelledOrders() {
+        deliveryEtaService.onDomainEvent(event(10L, FoodOrder.OrderStatus.READY_FOR_PICKUP, T0));
+        deliveryEtaService.onDomainEvent(event(11L, FoodOrder.OrderStatus.PREPARING, T0));
+        deliveryEtaService.onDomainEvent(event(11L, FoodOrder.OrderStatus.CANCELLED, T0.plus(Duration.ofMinutes(3))));
+        deliveryEtaService.onDomainEvent(event(11L, FoodOrder.OrderStatus.READY_FOR_PICKUP, T0.plus(Duration.ofMinutes(5))));
+        
+        assertEquals(0, deliveryEtaService.getEstimates(1L).preparationSamples());
+    }
+    
+    @Test
+    void testSeedPreparationTime_UntilFirstSample() {
+        deliveryEtaService.seedPreparationTime(1L, 35);
+        assertEquals(Duration.ofMinutes(35), deliveryEtaService.getEstimates(1L).preparation());
+        
+        deliveryEtaService.onDomainEvent(event(10L, FoodOrder.OrderStatus.PREPARING, T0));
+        deliveryEtaService.onDomainEvent(event(10L, FoodOrder.OrderStatus.READY_FOR_PICKUP, T0.plus(Duration.ofMinutes(15))));
+        deliveryEtaService.seedPreparationTime(1L, 35);
+        assertEquals(Duration.ofMinutes(15), deliveryEtaService.getEstimates(1L).preparation());
+    }
+    
+    @Test
+    void testOnDomainEvent_ReplayedEventsAreIgnored() {
+        DomainEvent preparing = event(10L, FoodOrder.OrderStatus.PREPARING, T0);
+        DomainEvent ready = event(10L, FoodOrder.OrderStatus.READY_FOR_PICKUP, T0.plus(Duration.ofMinutes(10)));
+        deliveryEtaService.onDomainEvent(preparing);
+        deliveryEtaService.onDomainEvent(ready);
+        
+        // A redelivered PREPARING must not restart the clock, nor a redelivered READY count twice
+        deliveryEtaService.onDomainEvent(preparing);
+        deliveryEtaService.onDomainEvent(ready);
+        deliveryEtaService.onDomainEvent(event(10L, FoodOrder.OrderStatus.DELIVERED, T0.plus(Duration.ofMinutes(40))));
+        deliveryEtaService.onDomainEvent(preparing);
+        deliveryEtaService.onDomainEvent(ready);
+        
+        DeliveryEtaService.Estimates estimates = deliveryEtaService.getEstimates(1L);
+        assertEquals(1, estimates.preparationSamples());
+        assertEquals(1, estimates.deliverySamples());
+        assertEquals(Duration.ofMinutes(30), estimates.delivery());
+    }
+    
+    // The version follows the status through the order's life, as each transition bumps it
+    private static DomainEvent event(Long orderId, FoodOrder.OrderStatus status, Instant at) {
+        return new DomainEvent("e-" + orderId + status, DomainEvent.Aggregate.FOOD_ORDER, DomainEvent.Type.STATUS_CHANGED,
+                orderId, "FD-" + orderId, 1L, 42L, status.name(), null, at, (long) status.ordinal());
+    }
+}
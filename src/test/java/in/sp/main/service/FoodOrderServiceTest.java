@@ -0,0 +1,197 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.entity.Restaurant;
+import in.sp.main.event.DomainEvent;
+import in.sp.main.repository.FoodOrderRepository;
+import in.sp.main.repository.FoodOrderState;
+import in.sp.main.service.impl.FoodOrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FoodOrderServiceTest {
+    
+    @Mock
+    private FoodOrderRepository foodOrderRepository;
+    
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+    
+    @Mock
+    private ReferenceNumberService referenceNumberService;
+    
+    @Mock
+    private DeliveryEtaService deliveryEtaService;
+    
+    @InjectMocks
+    private FoodOrderServiceImpl foodOrderService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(foodOrderService, "maxAttempts", 3);
+    }
+    
+    @Test
+    void testOrderStatus_TransitionTable() {
+        assertTrue(FoodOrder.OrderStatus.PENDING.canTransitionTo(FoodOrder.OrderStatus.CONFIRMED));
+        assertTrue(FoodOrder.OrderStatus.READY_FOR_PICKUP.canTransitionTo(FoodOrder.OrderStatus.DELIVERED));
+        assertFalse(FoodOrder.OrderStatus.PENDING.canTransitionTo(FoodOrder.OrderStatus.DELIVERED));
+        assertFalse(FoodOrder.OrderStatus.PREPARING.canTransitionTo(FoodOrder.OrderStatus.CONFIRMED));
+        assertTrue(FoodOrder.OrderStatus.DELIVERED.isTerminal());
+        assertTrue(FoodOrder.OrderStatus.CANCELLED.nextStatuses().isEmpty());
+    }
+    
+    @Test
+    void testTransitionStatus_RetriesAfterLosingRace() {
+        when(foodOrderRepository.findStateById(1L)).thenReturn(
+                Optional.of(state(FoodOrder.OrderStatus.PENDING, 4)),
+                Optional.of(state(FoodOrder.OrderStatus.CONFIRMED, 5)));
+        when(foodOrderRepository.transitionStatus(eq(1L), eq(FoodOrder.OrderStatus.PENDING), eq(4L), eq(FoodOrder.OrderStatus.CANCELLED), any(), any(), any()))
+                .thenReturn(0);
+        when(foodOrderRepository.transitionStatus(eq(1L), eq(FoodOrder.OrderStatus.CONFIRMED), eq(5L), eq(FoodOrder.OrderStatus.CANCELLED), any(), any(), any()))
+                .thenReturn(1);
+        
+        assertTrue(foodOrderService.transitionStatus(1L, FoodOrder.OrderStatus.CANCELLED));
+        
+        ArgumentCaptor<DomainEvent> event = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(domainEventPublisher).publish(event.capture());
+        assertEquals("CONFIRMED", event.getValue().previousStatus());
+        assertEquals("CANCELLED", event.getValue().status());
+        assertEquals(6L, event.getValue().version());
+    }
+    
+    @Test
+    void testTransitionStatus_RejectsSkippedStatus() {
+        when(foodOrderRepository.findStateById(1L)).thenReturn(Optional.of(state(FoodOrder.OrderStatus.PENDING, 0)));
+        
+        assertThrows(IllegalStateException.class, () -> foodOrderService.transitionStatus(1L, FoodOrder.OrderStatus.DELIVERED));
+        verify(foodOrderRepository, never()).transitionStatus(anyLong(), any(), anyLong(), any(), any(), any(), any());
+    }
+    
+    @Test
+    void testTransitionStatus_RestrictedFromStatuses() {
+        when(foodOrderRepository.findStateById(1L)).thenReturn(Optional.of(state(FoodOrder.OrderStatus.PREPARING, 2)));
+        
+        assertThrows(IllegalStateException.class, () -> foodOrderService.transitionStatus(1L,
+                EnumSet.of(FoodOrder.OrderStatus.PENDING, FoodOrder.OrderStatus.CONFIRMED), FoodOrder.OrderStatus.CANCELLED));
+    }
+    
+    @Test
+    void testTransitionStatus_AlreadyInStatus() {
+        when(foodOrderRepository.findStateById(1L)).thenReturn(Optional.of(state(FoodOrder.OrderStatus.CONFIRMED, 1)));
+        
+        assertFalse(foodOrderService.transitionStatus(1L, FoodOrder.OrderStatus.CONFIRMED));
+        verifyNoInteractions(domainEventPublisher);
+    }
+    
+    @Test
+    void testTransitionStatus_GivesUpAfterMaxAttempts() {
+        when(foodOrderRepository.findStateById(1L)).thenReturn(Optional.of(state(FoodOrder.OrderStatus.PENDING, 0)));
+        when(foodOrderRepository.transitionStatus(anyLong(), any(), anyLong(), any(), any(), any(), any())).thenReturn(0);
+        
+        assertThrows(IllegalStateException.class, () -> foodOrderService.transitionStatus(1L, FoodOrder.OrderStatus.CONFIRMED));
+        verify(foodOrderRepository, times(3)).transitionStatus(anyLong(), any(), anyLong(), any(), any(), any(), any());
+    }
+    
+    @Test
+    void testCreateOrder_SeedsPreparationTimeBeforeEstimating() {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(3L);
+        restaurant.setAvgPreparationTime(35);
+        FoodOrder order = new FoodOrder();
+        order.setRestaurant(restaurant);
+        LocalDateTime eta = LocalDateTime.of(2024, 6, 1, 13, 0);
+        when(referenceNumberService.next(ReferenceNumberService.Kind.FOOD_ORDER)).thenReturn("FD-0000000000001");
+        when(deliveryEtaService.estimate(eq(3L), eq(FoodOrder.OrderStatus.PENDING), any())).thenReturn(eta);
+        when(foodOrderRepository.save(order)).thenReturn(order);
+        
+        foodOrderService.createOrder(order);
+        
+        InOrder inOrder = inOrder(deliveryEtaService);
+        inOrder.verify(deliveryEtaService).seedPreparationTime(3L, 35);
+        inOrder.verify(deliveryEtaService).estimate(eq(3L), eq(FoodOrder.OrderStatus.PENDING), any());
+        assertEquals(eta, order.getEstimatedDeliveryTime());
+    }
+    
+    @Test
+    void testUpdateOrder_StaleCopyIsAConflict() {
+        FoodOrder order = new FoodOrder();
+        order.setId(1L);
+        order.setOrderNumber("FD-0000000000001");
+        order.setStatus(FoodOrder.OrderStatus.CONFIRMED);
+        when(foodOrderRepository.findStatusById(1L)).thenReturn(Optional.of(FoodOrder.OrderStatus.PENDING));
+        when(foodOrderRepository.saveAndFlush(order)).thenThrow(new ObjectOptimisticLockingFailureException(FoodOrder.class, 1L));
+        
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> foodOrderService.updateOrder(order));
+        assertTrue(e.getMessage().contains("changed elsewhere"));
+        verifyNoInteractions(domainEventPublisher);
+    }
+    
+    private static FoodOrderState state(FoodOrder.OrderStatus status, long version) {
+        return new FoodOrderState() {
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+            
+            @Override
+            public String getOrderNumber() {
+                return "FD-0000000000001";
+            }
+            
+            @Override
+            public FoodOrder.OrderStatus getStatus() {
+                return status;
+            }
+            
+            @Override
+            public long getVersion() {
+                return version;
+            }
+            
+            @Override
+            public Long getRestaurantId() {
+                return 7L;
+            }
+            
+            @Override
+            public Long getUserId() {
+                return 42L;
+            }
+            
+            @Override
+            public LocalDateTime getEstimatedDeliveryTime() {
+                return null;
+            }
+            
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return null;
+            }
+            
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return null;
+            }
+        };
+    }
+}
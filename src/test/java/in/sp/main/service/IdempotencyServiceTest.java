@@ -0,0 +1,140 @@
+package in.sp.main.service;
+
+import in.sp.main.service.impl.IdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+    
+    private static final String SCOPE = "order/create:7";
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private IdempotencyServiceImpl idempotencyService;
+    
+    private final SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+    private final AtomicInteger runs = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(idempotencyService, "windowSize", 100);
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeout", Duration.ofSeconds(5));
+        idempotencyService.init();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+    }
+    
+    @Test
+    void testExecute_FirstClaimRunsAndStoresResult() {
+        Long id = execute("key-1", () -> 41L + runs.incrementAndGet());
+        
+        assertEquals(42L, id);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO idempotency_keys"), any(Object[].class));
+        verify(jdbcTemplate).update("UPDATE idempotency_keys SET result = ? WHERE scope = ? AND idem_key = ?", "42", SCOPE, "key-1");
+        verify(transactionManager).commit(transaction);
+    }
+    
+    @Test
+    void testExecute_ReplaysResultFromMemory() {
+        execute("key-1", () -> 41L + runs.incrementAndGet());
+        
+        assertEquals(42L, execute(" key-1 ", () -> 41L + runs.incrementAndGet()));
+        assertEquals(1, runs.get());
+    }
+    
+    @Test
+    void testExecute_ReplaysResultCommittedByAnotherNode() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO idempotency_keys"), any(Object[].class)))
+                .thenThrow(new DuplicateKeyException("idempotency_keys.PRIMARY"));
+        when(jdbcTemplate.query(startsWith("SELECT result FROM idempotency_keys"),
+                ArgumentMatchers.<RowMapper<String>>any(), any(Object[].class))).thenReturn(List.of("9"));
+        
+        assertEquals(9L, execute("key-1", () -> 41L + runs.incrementAndGet()));
+        assertEquals(0, runs.get());
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE idempotency_keys SET result = ?"), any(Object[].class));
+    }
+    
+    @Test
+    void testExecute_ConcurrentDuplicateWaitsForOriginalResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> original = executor.submit(() -> execute("key-1", () -> {
+                started.countDown();
+                await(finish);
+                return 41L + runs.incrementAndGet();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Long> duplicate = executor.submit(() -> execute("key-1", () -> 41L + runs.incrementAndGet()));
+            
+            assertThrows(TimeoutException.class, () -> duplicate.get(100, TimeUnit.MILLISECONDS));
+            finish.countDown();
+            
+            assertEquals(42L, original.get(5, TimeUnit.SECONDS));
+            assertEquals(42L, duplicate.get(5, TimeUnit.SECONDS));
+            assertEquals(1, runs.get());
+            verify(jdbcTemplate, times(1)).update(startsWith("INSERT INTO idempotency_keys"), any(Object[].class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void testExecute_FailureRollsBackAndReleasesKey() {
+        assertThrows(IllegalStateException.class, () -> execute("key-1", () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("Restaurant is closed");
+        }));
+        verify(transactionManager).rollback(transaction);
+        verify(transactionManager, never()).commit(any());
+        
+        assertEquals(42L, execute("key-1", () -> 40L + runs.incrementAndGet()));
+        assertEquals(2, runs.get());
+    }
+    
+    private Long execute(String key, Supplier<Long> action) {
+        return idempotencyService.execute(SCOPE, key, action, String::valueOf, Long::valueOf);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.entity.MenuItem;
+import in.sp.main.entity.Restaurant;
+import in.sp.main.entity.User;
+import in.sp.main.event.DomainEvent;
+import in.sp.main.repository.FoodOrderRepository;
+import in.sp.main.service.impl.OrderPlacementServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPlacementServiceTest {
+    
+    private static final String CART = "cart-1";
+    
+    @Mock
+    private CartService cartService;
+    
+    @Mock
+    private CartPricingService cartPricingService;
+    
+    @Mock
+    private OpenNowService openNowService;
+    
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+    
+    @Mock
+    private DeliveryEtaService deliveryEtaService;
+    
+    @Mock
+    private ReferenceNumberService referenceNumberService;
+    
+    @Mock
+    private FoodOrderRepository foodOrderRepository;
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private OrderPlacementServiceImpl orderPlacementService;
+    
+    private final SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+    private final User user = new User();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderPlacementService, "deliveryFee", 30.0);
+        ReflectionTestUtils.setField(orderPlacementService, "latencyBudget", Duration.ofSeconds(1));
+        user.setId(7L);
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    void testPlaceOrder_OneOrderPerRestaurantWithOneItemBatch() {
+        Restaurant pizza = restaurant(1L, 20.0);
+        Restaurant curry = restaurant(2L, null);
+        givenCart(List.of(
+                line(10L, pizza, 200.0, 2),
+                line(20L, curry, 150.0, 1),
+                line(11L, pizza, 50.0, 3)));
+        givenOpenAndSaved();
+        
+        List<FoodOrder> orders = orderPlacementService.placeOrder(CART, user, " 1 Main St ", "UPI");
+        
+        assertEquals(2, orders.size());
+        FoodOrder first = orders.get(0);
+        assertEquals(1L, first.getRestaurant().getId());
+        assertEquals(550.0, first.getSubtotal());
+        assertEquals(550.0 + 20.0 + 30.0, first.getTotalAmount());
+        assertEquals("1 Main St", first.getDeliveryAddress());
+        assertEquals("PENDING", first.getPaymentStatus());
+        FoodOrder second = orders.get(1);
+        assertEquals(2L, second.getRestaurant().getId());
+        assertEquals(150.0 + 30.0, second.getTotalAmount());
+        
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(3, rows.getValue().size());
+        assertEquals(List.of(first.getId(), first.getId(), second.getId()),
+                rows.getValue().stream().map(row -> row[0]).toList());
+        verify(domainEventPublisher, times(2)).publish(any(DomainEvent.class));
+        verify(transactionManager).commit(transaction);
+    }
+    
+    @Test
+    void testPlaceOrder_ItemBatchFailureRollsBackAndKeepsCart() {
+        givenCart(List.of(line(10L, restaurant(1L, null), 100.0, 1)));
+        givenOpenAndSaved();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataIntegrityViolationException("fk"));
+        
+        assertThrows(DataIntegrityViolationException.class,
+                () -> orderPlacementService.placeOrder(CART, user, "1 Main St", "UPI"));
+        
+        verify(transactionManager).rollback(transaction);
+        verify(transactionManager, never()).commit(any());
+        verify(cartService, never()).clear(anyString());
+    }
+    
+    @Test
+    void testPlaceOrder_ClosedRestaurantRollsBackAndKeepsCart() {
+        givenCart(List.of(line(10L, restaurant(1L, null), 100.0, 1)));
+        when(openNowService.isOpen(1L)).thenReturn(false);
+        
+        assertThrows(IllegalStateException.class, () -> orderPlacementService.placeOrder(CART, user, "1 Main St", "UPI"));
+        
+        verify(transactionManager).rollback(transaction);
+        verify(foodOrderRepository, never()).save(any());
+        verify(cartService, never()).clear(anyString());
+    }
+    
+    @Test
+    void testPlaceOrder_ClearsCartAfterCommit() {
+        givenCart(List.of(line(10L, restaurant(1L, null), 100.0, 1)));
+        givenOpenAndSaved();
+        
+        orderPlacementService.placeOrder(CART, user, "1 Main St", "UPI");
+        
+        InOrder inOrder = inOrder(transactionManager, cartService);
+        inOrder.verify(transactionManager).commit(transaction);
+        inOrder.verify(cartService).clear(CART);
+    }
+    
+    @Test
+    void testPlaceOrder_InsideOuterTransactionClearsCartOnlyWhenItCommits() {
+        givenCart(List.of(line(10L, restaurant(1L, null), 100.0, 1)));
+        givenOpenAndSaved();
+        TransactionSynchronizationManager.initSynchronization();
+        
+        orderPlacementService.placeOrder(CART, user, "1 Main St", "UPI");
+        
+        verify(cartService, never()).clear(anyString());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cartService).clear(CART);
+    }
+    
+    private void givenCart(List<CartPricingService.Line> lines) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        lines.forEach(line -> quantities.put(line.menuItem().getId(), line.quantity()));
+        when(cartService.getItems(CART)).thenReturn(quantities);
+        when(cartPricingService.price(quantities)).thenReturn(new CartPricingService.PricedCart(lines, List.of(),
+                lines.get(0).menuItem().getRestaurant(), 0, 0, 0));
+    }
+    
+    private void givenOpenAndSaved() {
+        AtomicLong ids = new AtomicLong(100);
+        when(openNowService.isOpen(any())).thenReturn(true);
+        when(referenceNumberService.next(ReferenceNumberService.Kind.FOOD_ORDER)).thenReturn("FD-1");
+        when(foodOrderRepository.save(any(FoodOrder.class))).thenAnswer(invocation -> {
+            FoodOrder order = invocation.getArgument(0);
+            order.setId(ids.incrementAndGet());
+            return order;
+        });
+    }
+    
+    private static Restaurant restaurant(Long id, Double packagingCharges) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setRestaurantName("Restaurant " + id);
+        restaurant.setPackagingCharges(packagingCharges);
+        return restaurant;
+    }
+    
+    private static CartPricingService.Line line(Long menuItemId, Restaurant restaurant, double price, int quantity) {
+        MenuItem item = new MenuItem();
+        item.setId(menuItemId);
+        item.setRestaurant(restaurant);
+        item.setPrice(price);
+        return new CartPricingService.Line(item, quantity, price * quantity);
+    }
+}
@@ -0,0 +1,91 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.FoodOrder;
+import in.sp.main.repository.FoodOrderState;
+import in.sp.main.service.impl.OrderTrackingServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderTrackingServiceTest {
+    
+    @Mock
+    private FoodOrderService foodOrderService;
+    
+    @InjectMocks
+    private OrderTrackingServiceImpl orderTrackingService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderTrackingService, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(orderTrackingService, "sendTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(orderTrackingService, "pushThreads", 2);
+        orderTrackingService.init();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        orderTrackingService.shutdown();
+    }
+    
+    @Test
+    void testSubscribe_UnknownOrderIsNotWatched() {
+        when(foodOrderService.findState(1L)).thenReturn(Optional.empty());
+        
+        assertNotNull(orderTrackingService.subscribe(1L));
+        assertEquals(0, orderTrackingService.getWatcherCount());
+    }
+    
+    @Test
+    void testPush_TerminalStatusEndsStreams() throws InterruptedException {
+        FoodOrderState preparing = state(FoodOrder.OrderStatus.PREPARING, 3);
+        FoodOrderState delivered = state(FoodOrder.OrderStatus.DELIVERED, 5);
+        when(foodOrderService.findState(1L)).thenReturn(Optional.of(preparing), Optional.of(preparing), Optional.of(delivered));
+        orderTrackingService.subscribe(1L);
+        orderTrackingService.subscribe(1L);
+        assertEquals(2, orderTrackingService.getWatcherCount());
+        
+        orderTrackingService.heartbeat();
+        assertEquals(2, orderTrackingService.getWatcherCount());
+        orderTrackingService.push(1L);
+        
+        assertTrue(await(() -> orderTrackingService.getWatcherCount() == 0));
+        verify(foodOrderService, times(3)).findState(1L);
+    }
+    
+    @Test
+    void testPush_NobodyWatchingSkipsTheRead() {
+        orderTrackingService.push(1L);
+        
+        verifyNoInteractions(foodOrderService);
+    }
+    
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+    
+    private static FoodOrderState state(FoodOrder.OrderStatus status, long version) {
+        FoodOrderState state = mock(FoodOrderState.class);
+        lenient().when(state.getId()).thenReturn(1L);
+        lenient().when(state.getOrderNumber()).thenReturn("FD-0000000000001");
+        when(state.getStatus()).thenReturn(status);
+        when(state.getVersion()).thenReturn(version);
+        return state;
+    }
+}
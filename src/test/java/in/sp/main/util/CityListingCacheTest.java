@@ -0,0 +1,96 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityListingCacheTest {
+    
+    private CityListingCache<Long> cache;
+    private AtomicInteger loads;
+    
+    @BeforeEach
+    void setUp() {
+        cache = new CityListingCache<>(2, id -> id);
+        loads = new AtomicInteger();
+    }
+    
+    private List<Long> load(Long... ids) {
+        loads.incrementAndGet();
+        return List.of(ids);
+    }
+    
+    @Test
+    void testGet_HitAfterMissIgnoringCase() {
+        cache.get("Pune", () -> load(1L, 2L));
+        List<Long> cached = cache.get(" pune ", () -> load(99L));
+        
+        assertEquals(List.of(1L, 2L), cached);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+    
+    @Test
+    void testInvalidate_DropsPreviousCityOfMovedEntity() {
+        cache.get("Pune", () -> load(1L, 2L));
+        cache.get("Delhi", () -> load(3L));
+        
+        // Entity 1 moved from Pune to Mumbai
+        cache.invalidate(1L, "Mumbai");
+        
+        assertEquals(List.of(2L), cache.get("Pune", () -> load(2L)));
+        assertEquals(List.of(3L), cache.get("Delhi", () -> load(99L)));
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.stats().invalidations());
+    }
+    
+    @Test
+    void testGet_NullCityIsCachedUnderItsOwnKey() {
+        cache.get(null, () -> load(1L));
+        
+        assertEquals(List.of(1L), cache.get(null, () -> load(99L)));
+        assertEquals(1, loads.get());
+        
+        cache.invalidate(2L, null);
+        
+        assertEquals(List.of(1L, 2L), cache.get(null, () -> load(1L, 2L)));
+        assertEquals(2, loads.get());
+    }
+    
+    @Test
+    void testGet_EvictsLeastRecentlyUsedCity() {
+        cache.get("Pune", () -> load(1L));
+        cache.get("Delhi", () -> load(2L));
+        cache.get("Pune", () -> load(99L));
+        cache.get("Goa", () -> load(3L));
+        
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(2, cache.stats().size());
+        cache.get("Pune", () -> load(99L));
+        assertEquals(3, loads.get());
+    }
+    
+    @Test
+    void testGet_LoadOverlappingInvalidationIsNotCached() {
+        List<Long> loaded = cache.get("Pune", () -> {
+            cache.invalidate(1L, "Pune");
+            return load(1L);
+        });
+        
+        assertEquals(List.of(1L), loaded);
+        assertEquals(0, cache.stats().size());
+    }
+    
+    @Test
+    void testGet_SnapshotIsUnmodifiable() {
+        List<Long> snapshot = cache.get("Pune", () -> new ArrayList<>(List.of(1L)));
+        
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(2L));
+    }
+}
@@ -0,0 +1,60 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+    
+    @Test
+    void testNext_PlainRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\r\n1,,3\n"));
+        
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(List.of("1", "", "3"), reader.next());
+        assertNull(reader.next());
+    }
+    
+    @Test
+    void testNext_QuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"Paneer, Tikka\",\"say \"\"hi\"\"\"\n\"two\nlines\",x\nlast,row"));
+        
+        assertEquals(List.of("Paneer, Tikka", "say \"hi\""), reader.next());
+        assertEquals(1, reader.getRecordLine());
+        assertEquals(List.of("two\nlines", "x"), reader.next());
+        assertEquals(2, reader.getRecordLine());
+        assertEquals(List.of("last", "row"), reader.next());
+        assertEquals(4, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+    
+    @Test
+    void testNext_SkipsBlankLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\n\na\n\nb"));
+        
+        assertEquals(List.of("a"), reader.next());
+        assertEquals(3, reader.getRecordLine());
+        assertEquals(List.of("b"), reader.next());
+        assertEquals(5, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+    
+    @Test
+    void testNext_EmptyTrailingField() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,\n\"\""));
+        
+        assertEquals(List.of("a", ""), reader.next());
+        assertEquals(List.of(""), reader.next());
+    }
+    
+    @Test
+    void testNext_UnterminatedQuote() {
+        CsvReader reader = new CsvReader(new StringReader("\"open,field\n"));
+        
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+}
@@ -0,0 +1,64 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DedupeWindowTest {
+    
+    @Test
+    void testClaim_DuplicateGetsOriginalFuture() {
+        DedupeWindow<String> window = new DedupeWindow<>(100, 4, Duration.ofMinutes(1));
+        CompletableFuture<String> first = new CompletableFuture<>();
+        
+        assertNull(window.claim("a", first));
+        assertSame(first, window.claim("a", new CompletableFuture<>()));
+        first.complete("order-1");
+        assertEquals("order-1", window.claim("a", new CompletableFuture<>()).join());
+        assertNull(window.claim("b", new CompletableFuture<>()));
+    }
+    
+    @Test
+    void testRelease_AllowsRetry() {
+        DedupeWindow<String> window = new DedupeWindow<>(100, 4, Duration.ofMinutes(1));
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        window.claim("a", first);
+        
+        window.release("a", second);
+        assertSame(first, window.claim("a", second));
+        window.release("a", first);
+        assertNull(window.claim("a", second));
+    }
+    
+    @Test
+    void testClaim_CompletedKeyExpires() {
+        AtomicLong now = new AtomicLong(1_000);
+        DedupeWindow<String> window = new DedupeWindow<>(100, 4, Duration.ofSeconds(10), now::get);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        window.claim("a", first);
+        
+        now.addAndGet(20_000);
+        // Still running, so it is held past its time-to-live
+        assertSame(first, window.claim("a", new CompletableFuture<>()));
+        first.complete("done");
+        assertNull(window.claim("a", new CompletableFuture<>()));
+    }
+    
+    @Test
+    void testClaim_BoundedByCapacity() {
+        DedupeWindow<String> window = new DedupeWindow<>(8, 1, Duration.ofMinutes(1));
+        CompletableFuture<String> oldest = CompletableFuture.completedFuture("0");
+        window.claim("key-0", oldest);
+        for (int i = 1; i <= 8; i++) {
+            window.claim("key-" + i, CompletableFuture.completedFuture(String.valueOf(i)));
+        }
+        
+        assertEquals(8, window.size());
+        assertNull(window.claim("key-0", new CompletableFuture<>()));
+    }
+}
@@ -0,0 +1,69 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EwmaTest {
+    
+    @Test
+    void testUpdate_FirstSampleReplacesPrior() {
+        Ewma ewma = new Ewma(0.5, 600);
+        assertEquals(600, ewma.get());
+        
+        ewma.update(100);
+        assertEquals(100, ewma.get());
+        
+        ewma.update(300);
+        assertEquals(200, ewma.get(), 1e-9);
+        assertEquals(2, ewma.getSampleCount());
+    }
+    
+    @Test
+    void testUpdate_ConvergesOnShift() {
+        Ewma ewma = new Ewma(0.2, 0);
+        for (int i = 0; i < 50; i++) {
+            ewma.update(1_200);
+        }
+        for (int i = 0; i < 50; i++) {
+            ewma.update(1_800);
+        }
+        assertEquals(1_800, ewma.get(), 1);
+    }
+    
+    @Test
+    void testSeed_IgnoredAfterSamples() {
+        Ewma ewma = new Ewma(0.3, 0);
+        ewma.seed(900);
+        assertEquals(900, ewma.get());
+        
+        ewma.update(500);
+        ewma.seed(900);
+        assertEquals(500, ewma.get());
+        ewma.update(500);
+        assertEquals(500, ewma.get());
+    }
+    
+    @Test
+    void testUpdate_ConcurrentFirstSamplesNeverBlendWithPrior() throws InterruptedException {
+        for (int round = 0; round < 100; round++) {
+            Ewma ewma = new Ewma(0.2, 0);
+            Thread[] threads = new Thread[4];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> ewma.update(1_000));
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(1_000, ewma.get());
+            assertEquals(4, ewma.getSampleCount());
+        }
+    }
+    
+    @Test
+    void testConstructor_RejectsAlphaOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new Ewma(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Ewma(1.5, 1));
+    }
+}
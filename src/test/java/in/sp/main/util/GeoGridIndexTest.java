@@ -0,0 +1,72 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridIndexTest {
+    
+    private GeoGridIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new GeoGridIndex(0.1);
+        // Bangalore, roughly 3 km apart
+        index.put(1L, 12.9716, 77.5946, 5.0);
+        index.put(2L, 12.9352, 77.6245, 10.0);
+        // Mumbai
+        index.put(3L, 19.0760, 72.8777, 5.0);
+    }
+    
+    @Test
+    void testFindServing_NearestFirst() {
+        List<GeoGridIndex.Match> matches = index.findServing(12.9716, 77.5946, null, 10);
+        
+        assertEquals(List.of(1L, 2L), matches.stream().map(GeoGridIndex.Match::id).toList());
+        assertEquals(0.0, matches.get(0).distanceKm(), 0.001);
+    }
+    
+    @Test
+    void testFindServing_RespectsEachRadius() {
+        // About 8 km from place 1 and 5 km from place 2
+        List<GeoGridIndex.Match> matches = index.findServing(12.9000, 77.6500, null, 10);
+        
+        assertEquals(List.of(2L), matches.stream().map(GeoGridIndex.Match::id).toList());
+    }
+    
+    @Test
+    void testFindServing_RadiusCrossesCellBoundary() {
+        index.put(4L, 12.7990, 77.3990, 3.0);
+        
+        List<GeoGridIndex.Match> matches = index.findServing(12.8180, 77.3990, null, 10);
+        
+        assertEquals(List.of(4L), matches.stream().map(GeoGridIndex.Match::id).toList());
+    }
+    
+    @Test
+    void testFindServing_MaxDistance() {
+        List<GeoGridIndex.Match> matches = index.findServing(12.9716, 77.5946, 1.0, 10);
+        
+        assertEquals(List.of(1L), matches.stream().map(GeoGridIndex.Match::id).toList());
+    }
+    
+    @Test
+    void testPut_MovesExistingPlace() {
+        index.put(1L, 19.0800, 72.8800, 5.0);
+        
+        assertEquals(List.of(2L), index.findServing(12.9716, 77.5946, null, 10).stream().map(GeoGridIndex.Match::id).toList());
+        assertEquals(List.of(1L, 3L), index.findServing(19.0790, 72.8790, null, 10).stream().map(GeoGridIndex.Match::id).toList());
+        assertEquals(3, index.size());
+    }
+    
+    @Test
+    void testRemove() {
+        index.remove(2L);
+        
+        assertTrue(index.findServing(12.9352, 77.6245, null, 10).stream().noneMatch(m -> m.id() == 2L));
+        assertEquals(2, index.size());
+    }
+}
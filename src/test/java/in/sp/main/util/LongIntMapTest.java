@@ -0,0 +1,88 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntMapTest {
+    
+    @Test
+    void testPut_KeepsInsertionOrder() {
+        LongIntMap map = new LongIntMap(1);
+        map.put(42L, 2);
+        map.put(7L, 1);
+        map.put(42L, 5);
+        map.put(-3L, 9);
+        
+        assertEquals(3, map.size());
+        assertEquals(42L, map.keyAt(0));
+        assertEquals(5, map.valueAt(0));
+        assertEquals(7L, map.keyAt(1));
+        assertEquals(-3L, map.keyAt(2));
+        assertEquals(0, map.get(100L));
+    }
+    
+    @Test
+    void testRemove_ShiftsRemainingEntries() {
+        LongIntMap map = new LongIntMap();
+        for (long key = 1; key <= 20; key++) {
+            map.put(key * 1000, (int) key);
+        }
+        
+        assertEquals(5, map.remove(5000L));
+        assertEquals(0, map.remove(5000L));
+        assertEquals(19, map.size());
+        assertEquals(6000L, map.keyAt(4));
+        assertEquals(20, map.get(20000L));
+        assertFalse(map.containsKey(5000L));
+    }
+    
+    @Test
+    void testAddTo_RemovesAtZeroAndSaturates() {
+        LongIntMap map = new LongIntMap();
+        
+        assertEquals(3, map.addTo(1L, 3));
+        assertEquals(0, map.addTo(1L, -3));
+        assertFalse(map.containsKey(1L));
+        map.put(2L, Integer.MAX_VALUE - 1);
+        assertEquals(Integer.MAX_VALUE, map.addTo(2L, 10));
+        map.put(2L, 0);
+        assertTrue(map.isEmpty());
+    }
+    
+    @Test
+    void testBytes_RoundTrip() {
+        LongIntMap map = new LongIntMap();
+        map.put(Long.MAX_VALUE, 1);
+        map.put(12L, 4);
+        
+        byte[] bytes = map.toBytes();
+        assertEquals(4 + 2 * 12, bytes.length);
+        assertEquals(map, LongIntMap.fromBytes(bytes));
+        assertTrue(LongIntMap.fromBytes(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> LongIntMap.fromBytes(new byte[] {0, 0, 0, 2}));
+    }
+    
+    @Test
+    void testFromBytes_RejectsTruncatedAndOverflowingCounts() {
+        assertThrows(IllegalArgumentException.class, () -> LongIntMap.fromBytes(new byte[] {0, 0}));
+        // 0x15555556 entries of 12 bytes wraps to 8 in int arithmetic
+        byte[] forged = new byte[4 + 8];
+        forged[0] = 0x15;
+        forged[1] = 0x55;
+        forged[2] = 0x55;
+        forged[3] = 0x56;
+        assertThrows(IllegalArgumentException.class, () -> LongIntMap.fromBytes(forged));
+    }
+    
+    @Test
+    void testCopy_IsIndependent() {
+        LongIntMap map = new LongIntMap();
+        map.put(1L, 1);
+        LongIntMap copy = map.copy();
+        copy.put(2L, 2);
+        
+        assertEquals(1, map.size());
+        assertEquals(2, copy.size());
+    }
+}
@@ -0,0 +1,110 @@
+package in.sp.main.util;
+
+import in.sp.main.entity.MenuItem.FoodType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuFilterIndexTest {
+    
+    private MenuFilterIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new MenuFilterIndex();
+        index.put(1L, 10L, "Pune", FoodType.VEG, true, List.of("Spicy", "bestseller"));
+        index.put(2L, 10L, "Pune", FoodType.NON_VEG, true, List.of("spicy"));
+        index.put(3L, 20L, "pune ", FoodType.VEG, false, List.of("bestseller", "Sweet"));
+        index.put(4L, 30L, "Mumbai", FoodType.EGG, true, List.of("spicy", "bestseller"));
+    }
+    
+    @Test
+    void testParseTags_NormalizesAndDedupes() {
+        assertEquals(List.of("spicy", "chef special"), MenuFilterIndex.parseTags(" Spicy ,chef   Special,, spicy"));
+        assertEquals(List.of(), MenuFilterIndex.parseTags(null));
+    }
+    
+    @Test
+    void testFind_AllTagsWithFoodType() {
+        MenuFilterIndex.Query query = new MenuFilterIndex.Query(List.of("spicy", "BESTSELLER"), null, Set.of(FoodType.VEG), false);
+        
+        assertEquals(List.of(1L), index.findInCity("PUNE", query, 10));
+        assertEquals(List.of(), index.findInCity("Mumbai", query, 10));
+    }
+    
+    @Test
+    void testFind_AnyTags() {
+        MenuFilterIndex.Query query = new MenuFilterIndex.Query(null, List.of("sweet", "unknown"), null, false);
+        
+        assertEquals(List.of(3L), index.findInCity("Pune", query, 10));
+        assertEquals(List.of(), index.findInRestaurant(10L, query, 10));
+    }
+    
+    @Test
+    void testFind_UnknownRequiredTagMatchesNothing() {
+        MenuFilterIndex.Query query = new MenuFilterIndex.Query(List.of("spicy", "nope"), null, null, false);
+        
+        assertEquals(List.of(), index.findInCity("Pune", query, 10));
+    }
+    
+    @Test
+    void testFind_AvailableOnly() {
+        MenuFilterIndex.Query query = new MenuFilterIndex.Query(List.of("bestseller"), null, null, true);
+        
+        assertEquals(List.of(1L), index.findInCity("Pune", query, 10));
+    }
+    
+    @Test
+    void testFind_LowestIdsFirstWhateverTheInsertOrder() {
+        index.put(9L, 10L, "Pune", FoodType.VEG, true, List.of("spicy"));
+        index.put(5L, 10L, "Pune", FoodType.VEG, true, List.of("spicy"));
+        MenuFilterIndex.Query query = new MenuFilterIndex.Query(List.of("spicy"), null, null, false);
+        
+        assertEquals(List.of(1L, 2L, 5L), index.findInRestaurant(10L, query, 3));
+        assertEquals(List.of(1L, 2L), index.findInCity("Pune", query, 2));
+    }
+    
+    @Test
+    void testPut_ReplacesPreviousEntry() {
+        index.put(2L, 10L, "Pune", FoodType.NON_VEG, true, List.of("mild"));
+        
+        MenuFilterIndex.Query spicy = new MenuFilterIndex.Query(List.of("spicy"), null, null, false);
+        assertEquals(List.of(1L), index.findInRestaurant(10L, spicy, 10));
+        
+        index.remove(1L);
+        assertEquals(List.of(), index.findInRestaurant(10L, spicy, 10));
+    }
+    
+    @Test
+    void testUpdateCity_MovesRestaurantItems() {
+        index.updateCity(10L, "Mumbai");
+        
+        MenuFilterIndex.Query spicy = new MenuFilterIndex.Query(List.of("spicy"), null, null, false);
+        assertEquals(List.of(1L, 2L, 4L), index.findInCity("Mumbai", spicy, 10));
+        assertEquals(List.of(), index.findInCity("Pune", spicy, 10));
+    }
+    
+    @Test
+    void testFind_ManyTagsSpanWords() {
+        IntStream.range(0, 100).forEach(i -> index.put(100L + i, 40L, "Delhi", FoodType.VEG, true, List.of("tag" + i, "common")));
+        
+        MenuFilterIndex.Query query = new MenuFilterIndex.Query(List.of("common", "tag99"), null, null, true);
+        assertEquals(List.of(199L), index.findInRestaurant(40L, query, 10));
+        assertEquals(5, index.findInCity("Delhi", new MenuFilterIndex.Query(List.of("common"), null, null, true), 5).size());
+    }
+    
+    @Test
+    void testRegister_KeepsExistingBit() {
+        int bit = index.bitOf("spicy");
+        
+        assertEquals(bit, index.register(" SPICY "));
+        assertEquals(-1, index.bitOf("fresh"));
+        assertTrue(index.register("fresh") > bit);
+        assertTrue(index.getTags().contains("fresh"));
+    }
+}
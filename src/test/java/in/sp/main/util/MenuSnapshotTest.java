@@ -0,0 +1,59 @@
+package in.sp.main.util;
+
+import in.sp.main.entity.MenuItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuSnapshotTest {
+    
+    private static MenuItem item(long id, String name, String category) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(id);
+        menuItem.setDishName(name);
+        menuItem.setPrice(100.0);
+        menuItem.setCategory(category);
+        return menuItem;
+    }
+    
+    @Test
+    void testOf_GroupsInFirstSeenOrder() {
+        MenuSnapshot snapshot = MenuSnapshot.of(1L, 3, List.of(
+                item(1, "Soup", "Starters"),
+                item(2, "Biryani", "Mains"),
+                item(3, "Salad", "Starters"),
+                item(4, "Water", " ")));
+        
+        assertEquals(List.of("Starters", "Mains", MenuSnapshot.UNCATEGORIZED), List.copyOf(snapshot.getByCategory().keySet()));
+        assertEquals(List.of("Soup", "Salad"),
+                snapshot.getByCategory().get("Starters").stream().map(MenuSnapshot.Item::dishName).toList());
+        assertEquals(4, snapshot.getItems().size());
+        assertEquals(3, snapshot.getVersion());
+    }
+    
+    @Test
+    void testOf_FollowsCategoryOrder() {
+        MenuSnapshot snapshot = MenuSnapshot.of(1L, 1, List.of(
+                item(1, "Soup", "Starters"),
+                item(2, "Biryani", "Mains"),
+                item(3, "Kulfi", "Desserts"),
+                item(4, "Water", null)),
+                List.of("Desserts", "Drinks", "Mains"));
+        
+        assertEquals(List.of("Desserts", "Mains", "Starters", MenuSnapshot.UNCATEGORIZED),
+                List.copyOf(snapshot.getByCategory().keySet()));
+    }
+    
+    @Test
+    void testOf_DetachedFromEntities() {
+        MenuItem soup = item(1, "Soup", "Starters");
+        MenuSnapshot snapshot = MenuSnapshot.of(1L, 1, List.of(soup));
+        soup.setDishName("Changed");
+        
+        assertEquals("Soup", snapshot.getItems().get(0).dishName());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getItems().add(null));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getByCategory().clear());
+    }
+}
@@ -0,0 +1,79 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NgramIndexTest {
+    
+    private NgramIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new NgramIndex();
+        index.put(1L, "Pizza Palace");
+        index.put(2L, "Golden Dragon");
+        index.put(3L, "The Pizza Hut");
+        index.put(4L, "Pizza");
+    }
+    
+    @Test
+    void testSearch_SubstringCaseInsensitive() {
+        List<Long> ids = index.search("PIZZA", 10);
+        
+        assertEquals(List.of(4L, 1L, 3L), ids);
+    }
+    
+    @Test
+    void testSearch_AcrossWordBoundary() {
+        assertEquals(List.of(1L), index.search("za pal", 10));
+    }
+    
+    @Test
+    void testSearch_ShortQuery() {
+        assertEquals(List.of(2L), index.search("dr", 10));
+    }
+    
+    @Test
+    void testSearch_ShortQueryAtEndOfTextAndInShortDocuments() {
+        index.put(5L, "Ut");
+        
+        assertEquals(List.of(5L, 3L), index.search("ut", 10));
+        assertEquals(List.of(3L, 5L), index.search("t", 10));
+        assertEquals(List.of(2L), index.search("on", 10));
+        
+        index.remove(5L);
+        assertEquals(List.of(3L), index.search("ut", 10));
+    }
+    
+    @Test
+    void testSearch_NoFalsePositives() {
+        // every trigram of "pizzadragon" is not present, but "zza" and "dra" are
+        assertTrue(index.search("pizza dragon", 10).isEmpty());
+    }
+    
+    @Test
+    void testPut_ReplacesPreviousText() {
+        index.put(2L, "Silver Dragon");
+        
+        assertTrue(index.search("golden", 10).isEmpty());
+        assertEquals(List.of(2L), index.search("silver", 10));
+    }
+    
+    @Test
+    void testRemove() {
+        index.remove(1L);
+        
+        assertEquals(List.of(4L, 3L), index.search("pizza", 10));
+        assertEquals(3, index.size());
+    }
+    
+    @Test
+    void testSearch_RespectsLimit() {
+        assertEquals(List.of(4L), index.search("pizza", 1));
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderNumberGeneratorTest {
+    
+    @Test
+    void testNextId_CarriesIntoNextMillisecond() {
+        AtomicLong now = new AtomicLong(OrderNumberGenerator.EPOCH + 1_000);
+        OrderNumberGenerator generator = new OrderNumberGenerator(5, now::get);
+        
+        long previous = -1;
+        for (int i = 0; i < 5_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        // 4096 ids fit in one millisecond, the rest borrowed the next
+        assertEquals(OrderNumberGenerator.EPOCH + 1_001, OrderNumberGenerator.timestampOf(previous));
+    }
+    
+    @Test
+    void testNextId_ClockStepsBack() {
+        AtomicLong now = new AtomicLong(OrderNumberGenerator.EPOCH + 50_000);
+        OrderNumberGenerator generator = new OrderNumberGenerator(1, now::get);
+        long before = generator.nextId();
+        
+        now.addAndGet(-10_000);
+        long after = generator.nextId();
+        
+        assertTrue(after > before);
+        assertEquals(OrderNumberGenerator.EPOCH + 50_000, OrderNumberGenerator.timestampOf(after));
+    }
+    
+    @Test
+    void testNextId_NodesNeverCollide() {
+        AtomicLong now = new AtomicLong(OrderNumberGenerator.EPOCH + 7);
+        OrderNumberGenerator first = new OrderNumberGenerator(1, now::get);
+        OrderNumberGenerator second = new OrderNumberGenerator(2, now::get);
+        
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(ids.add(first.nextId()));
+            assertTrue(ids.add(second.nextId()));
+        }
+    }
+    
+    @Test
+    void testNextId_UniqueAcrossThreads() throws InterruptedException {
+        OrderNumberGenerator generator = new OrderNumberGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(40_000, ids.size());
+    }
+    
+    @Test
+    void testNext_SortableFixedWidth() {
+        AtomicLong now = new AtomicLong(OrderNumberGenerator.EPOCH + 123_456);
+        OrderNumberGenerator generator = new OrderNumberGenerator(9, now::get);
+        String first = generator.next("FD");
+        now.addAndGet(86_400_000L * 400);
+        String second = generator.next("FD");
+        
+        assertTrue(first.matches("FD-[0-9A-HJKMNP-TV-Z]{13}"));
+        assertEquals(first.length(), second.length());
+        assertTrue(first.compareTo(second) < 0);
+        assertEquals("0000000000001", OrderNumberGenerator.encode(1));
+    }
+    
+    @Test
+    void testConstructor_RejectsNodeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(OrderNumberGenerator.MAX_NODE_ID + 1));
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(-1));
+    }
+}
@@ -0,0 +1,92 @@
+package in.sp.main.util;
+
+import in.sp.main.entity.FoodOrder;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderQueueBoardTest {
+    
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 6, 1, 12, 0);
+    
+    private static OrderQueueBoard.Entry entry(long id, FoodOrder.OrderStatus status, LocalDateTime placedAt) {
+        return new OrderQueueBoard.Entry(id, "FD-" + id, status, placedAt, T0.plusMinutes(id), null);
+    }
+    
+    private static OrderQueueBoard.Entry entry(long id, FoodOrder.OrderStatus status, long version) {
+        return new OrderQueueBoard.Entry(id, "FD-" + id, status, null, T0.plusMinutes(id), version);
+    }
+    
+    @Test
+    void testApply_MovesBetweenBucketsOldestFirst() {
+        OrderQueueBoard board = new OrderQueueBoard();
+        board.load(1L, () -> List.of(
+                entry(10, FoodOrder.OrderStatus.PENDING, T0),
+                entry(11, FoodOrder.OrderStatus.PENDING, T0),
+                entry(12, FoodOrder.OrderStatus.PREPARING, T0)));
+        
+        assertTrue(board.apply(1L, entry(10, FoodOrder.OrderStatus.CONFIRMED, null)));
+        assertTrue(board.apply(1L, entry(11, FoodOrder.OrderStatus.CONFIRMED, null)));
+        assertTrue(board.apply(1L, entry(10, FoodOrder.OrderStatus.PREPARING, null)));
+        
+        assertEquals(List.of(11L), board.orderIds(1L, FoodOrder.OrderStatus.CONFIRMED));
+        assertEquals(List.of(12L, 10L), board.orderIds(1L, FoodOrder.OrderStatus.PREPARING));
+        assertEquals(2, board.count(1L, FoodOrder.OrderStatus.PREPARING));
+        assertEquals(0, board.count(1L, FoodOrder.OrderStatus.PENDING));
+        // placedAt survives a move that did not carry one
+        assertEquals(T0, board.snapshot(1L).get(FoodOrder.OrderStatus.PREPARING).get(1).placedAt());
+    }
+    
+    @Test
+    void testApply_TerminalLeavesBoard() {
+        OrderQueueBoard board = new OrderQueueBoard();
+        board.load(1L, () -> List.of(entry(10, FoodOrder.OrderStatus.READY_FOR_PICKUP, T0)));
+        long revision = board.revision(1L);
+        
+        assertTrue(board.apply(1L, entry(10, FoodOrder.OrderStatus.DELIVERED, null)));
+        assertFalse(board.apply(1L, entry(10, FoodOrder.OrderStatus.DELIVERED, null)));
+        assertFalse(board.apply(1L, entry(99, FoodOrder.OrderStatus.CANCELLED, null)));
+        
+        assertTrue(board.orderIds(1L, null).isEmpty());
+        assertEquals(revision + 1, board.revision(1L));
+        Map<FoodOrder.OrderStatus, List<OrderQueueBoard.Entry>> snapshot = board.snapshot(1L);
+        assertFalse(snapshot.containsKey(FoodOrder.OrderStatus.DELIVERED));
+        assertTrue(snapshot.get(FoodOrder.OrderStatus.PENDING).isEmpty());
+    }
+    
+    @Test
+    void testApply_IgnoredUntilLoaded() {
+        OrderQueueBoard board = new OrderQueueBoard();
+        
+        assertFalse(board.apply(2L, entry(20, FoodOrder.OrderStatus.PENDING, T0)));
+        assertFalse(board.isLoaded(2L));
+        
+        board.load(2L, () -> List.of(entry(21, FoodOrder.OrderStatus.PENDING, T0)));
+        board.load(2L, () -> {
+            throw new AssertionError("loaded twice");
+        });
+        
+        assertTrue(board.isLoaded(2L));
+        assertEquals(List.of(21L), board.orderIds(2L, null));
+    }
+    
+    @Test
+    void testApply_IgnoresStaleAndReplayedEntries() {
+        OrderQueueBoard board = new OrderQueueBoard();
+        board.load(1L, () -> List.of(entry(10, FoodOrder.OrderStatus.CONFIRMED, 3)));
+        
+        assertTrue(board.apply(1L, entry(10, FoodOrder.OrderStatus.PREPARING, 4)));
+        assertFalse(board.apply(1L, entry(10, FoodOrder.OrderStatus.CONFIRMED, 3)));
+        assertFalse(board.apply(1L, entry(10, FoodOrder.OrderStatus.PENDING, 2)));
+        assertEquals(List.of(10L), board.orderIds(1L, FoodOrder.OrderStatus.PREPARING));
+        
+        assertTrue(board.apply(1L, entry(10, FoodOrder.OrderStatus.DELIVERED, 6)));
+        // A late event for an order that has left the board does not bring it back
+        assertFalse(board.apply(1L, entry(10, FoodOrder.OrderStatus.READY_FOR_PICKUP, 5)));
+        assertTrue(board.orderIds(1L, null).isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+    
+    private PrefixTrie trie;
+    
+    @BeforeEach
+    void setUp() {
+        trie = new PrefixTrie(3);
+        trie.add("Bangalore");
+        trie.add("bangalore");
+        trie.add("Bangalore");
+        trie.add("Bhopal");
+        trie.add("Bhubaneswar");
+        trie.add("Bhubaneswar");
+        trie.add("Chennai");
+    }
+    
+    @Test
+    void testComplete_RankedByCountCaseInsensitive() {
+        assertEquals(List.of("Bangalore", "Bhubaneswar", "Bhopal"), trie.complete("b", 10));
+        assertEquals(List.of("Bhubaneswar", "Bhopal"), trie.complete("BH", 10));
+    }
+    
+    @Test
+    void testComplete_LimitAndTopKCap() {
+        assertEquals(List.of("Bangalore"), trie.complete("b", 1));
+        trie.add("Belgaum");
+        assertEquals(3, trie.complete("b", 10).size());
+    }
+    
+    @Test
+    void testRemove_ReRanksAndDropsTerm() {
+        trie.remove("Bangalore");
+        trie.remove("Bangalore");
+        
+        assertEquals(List.of("Bhubaneswar", "Bangalore", "Bhopal"), trie.complete("b", 10));
+        
+        trie.remove("Bangalore");
+        assertEquals(List.of("Bhubaneswar", "Bhopal"), trie.complete("b", 10));
+        assertTrue(trie.complete("ba", 10).isEmpty());
+    }
+    
+    @Test
+    void testRemove_UnknownTermIsIgnored() {
+        trie.remove("Delhi");
+        trie.remove("Ban");
+        
+        assertEquals(List.of("Bangalore"), trie.complete("ban", 10));
+    }
+    
+    @Test
+    void testComplete_NoMatch() {
+        assertTrue(trie.complete("x", 10).isEmpty());
+    }
+}
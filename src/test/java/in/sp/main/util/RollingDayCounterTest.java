@@ -0,0 +1,55 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingDayCounterTest {
+    
+    @Test
+    void testTotal_WithinWindow() {
+        RollingDayCounter counter = new RollingDayCounter(7);
+        counter.add(100, 2);
+        counter.add(103, 1);
+        counter.add(106, 4);
+        
+        assertEquals(7, counter.total(106));
+    }
+    
+    @Test
+    void testTotal_OldDaysDropOut() {
+        RollingDayCounter counter = new RollingDayCounter(7);
+        counter.add(100, 2);
+        counter.add(105, 3);
+        
+        assertEquals(3, counter.total(107));
+        assertEquals(0, counter.total(112));
+    }
+    
+    @Test
+    void testAdd_RecyclesSlot() {
+        RollingDayCounter counter = new RollingDayCounter(7);
+        counter.add(100, 5);
+        counter.add(107, 1);
+        
+        assertEquals(1, counter.total(107));
+        // A late write for a day the slot has already moved past is ignored
+        counter.add(100, 3);
+        assertEquals(1, counter.total(107));
+    }
+    
+    @Test
+    void testSubtract_OnlyFromDaysStillInTheirSlot() {
+        RollingDayCounter counter = new RollingDayCounter(7);
+        counter.add(100, 2);
+        counter.add(107, 1);
+        
+        counter.subtract(107, 1);
+        counter.subtract(100, 5);
+        counter.subtract(105, 1);
+        
+        assertEquals(0, counter.total(107));
+        counter.add(107, 1);
+        assertEquals(1, counter.total(107));
+    }
+}
@@ -0,0 +1,72 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriberRegistryTest {
+    
+    @Test
+    void testAddRemove_DropsEmptyKeys() {
+        SubscriberRegistry<Long, String> registry = new SubscriberRegistry<>();
+        registry.add(1L, "a");
+        registry.add(1L, "b");
+        registry.add(2L, "c");
+        registry.add(1L, "a");
+        
+        assertEquals(3, registry.size());
+        assertEquals(Set.of("a", "b"), registry.get(1L));
+        
+        assertTrue(registry.remove(1L, "a"));
+        assertFalse(registry.remove(1L, "a"));
+        assertTrue(registry.remove(1L, "b"));
+        
+        assertFalse(registry.contains(1L));
+        assertTrue(registry.get(1L).isEmpty());
+        assertEquals(1, registry.size());
+        assertEquals(1, registry.keyCount());
+    }
+    
+    @Test
+    void testRemove_DuringIteration() {
+        SubscriberRegistry<Long, String> registry = new SubscriberRegistry<>();
+        registry.add(7L, "a");
+        registry.add(7L, "b");
+        
+        for (String subscriber : registry.get(7L)) {
+            registry.remove(7L, subscriber);
+        }
+        
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.keyCount());
+    }
+    
+    @Test
+    void testAddRemove_ConcurrentSameKey() throws InterruptedException {
+        SubscriberRegistry<Long, Integer> registry = new SubscriberRegistry<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 10_000;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    registry.add(1L, offset + i);
+                    if (i % 2 == 0) {
+                        registry.remove(1L, offset + i);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(20_000, registry.size());
+        assertEquals(20_000, registry.get(1L).size());
+    }
+}
@@ -0,0 +1,42 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+    
+    private static final Comparator<Integer> DESCENDING = Comparator.reverseOrder();
+    
+    @Test
+    void testSelect_BestFirst() {
+        List<Integer> items = List.of(5, 1, 9, 3, 7, 8, 2);
+        
+        assertEquals(List.of(9, 8, 7), TopK.select(items, i -> true, 3, DESCENDING));
+    }
+    
+    @Test
+    void testSelect_AppliesFilter() {
+        List<Integer> items = List.of(5, 1, 9, 3, 7, 8, 2);
+        
+        assertEquals(List.of(7, 5, 3), TopK.select(items, i -> i % 2 == 1 && i < 9, 3, DESCENDING));
+    }
+    
+    @Test
+    void testSelect_FewerThanK() {
+        assertEquals(List.of(4, 2), TopK.select(List.of(2, 4), i -> true, 10, DESCENDING));
+        assertTrue(TopK.select(List.of(2, 4), i -> true, 0, DESCENDING).isEmpty());
+    }
+    
+    @Test
+    void testSelect_MatchesFullSortPrefix() {
+        List<Integer> items = new Random(42).ints(500, 0, 10_000).boxed().toList();
+        List<Integer> sorted = items.stream().sorted(DESCENDING).toList();
+        
+        assertEquals(sorted.subList(0, 25), TopK.select(items, i -> true, 25, DESCENDING));
+    }
+}
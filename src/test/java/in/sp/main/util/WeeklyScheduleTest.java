@@ -0,0 +1,73 @@
+package in.sp.main.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeeklyScheduleTest {
+    
+    @Test
+    void testParse_RangeMinusWeeklyOff() {
+        WeeklySchedule schedule = WeeklySchedule.parse(LocalTime.of(10, 0), LocalTime.of(22, 0), "Monday to Sunday", "Tuesday");
+        
+        assertTrue(schedule.isOpenAt(DayOfWeek.MONDAY, 10 * 60));
+        assertFalse(schedule.isOpenAt(DayOfWeek.MONDAY, 22 * 60));
+        assertFalse(schedule.isOpenAt(DayOfWeek.TUESDAY, 12 * 60));
+        assertTrue(schedule.isOpenAt(DayOfWeek.SUNDAY, 12 * 60));
+    }
+    
+    @Test
+    void testParseDays_Formats() {
+        assertEquals(0b001_1111, WeeklySchedule.parseDays("Mon-Fri", 0));
+        assertEquals(0b110_0000, WeeklySchedule.parseDays("weekends", 0));
+        assertEquals(0b100_0011, WeeklySchedule.parseDays("Sunday to Tuesday", 0));
+        assertEquals(0b001_0101, WeeklySchedule.parseDays("Monday, Wednesday, Friday", 0));
+        assertEquals(0, WeeklySchedule.parseDays("None", 0b111_1111));
+        assertEquals(0b111_1111, WeeklySchedule.parseDays("Custom", 0b111_1111));
+    }
+    
+    @Test
+    void testIsOpenAt_OvernightWindowBelongsToPreviousDay() {
+        // Open Friday and Saturday nights only
+        WeeklySchedule schedule = WeeklySchedule.parse(LocalTime.of(18, 0), LocalTime.of(2, 0), "Friday, Saturday", null);
+        
+        assertTrue(schedule.isOpenAt(DayOfWeek.SATURDAY, 60));
+        assertTrue(schedule.isOpenAt(DayOfWeek.SUNDAY, 60));
+        assertFalse(schedule.isOpenAt(DayOfWeek.FRIDAY, 60));
+        assertFalse(schedule.isOpenAt(DayOfWeek.SUNDAY, 18 * 60));
+    }
+    
+    @Test
+    void testParse_MissingTimesIsUnknown() {
+        assertNull(WeeklySchedule.parse(null, LocalTime.NOON, "Monday to Sunday", null));
+    }
+    
+    @Test
+    void testForEachTransition_MatchesIsOpenAt() {
+        WeeklySchedule schedule = WeeklySchedule.parse(LocalTime.of(20, 0), LocalTime.of(1, 30), "Monday to Saturday", "Wednesday");
+        List<int[]> transitions = new ArrayList<>();
+        schedule.forEachTransition((minute, open) -> transitions.add(new int[]{minute, open ? 1 : 0}));
+        
+        assertEquals(10, transitions.size());
+        for (int[] transition : transitions) {
+            int before = Math.floorMod(transition[0] - 1, WeeklySchedule.MINUTES_PER_WEEK);
+            assertEquals(transition[1] == 1, schedule.isOpenAt(transition[0]));
+            assertEquals(transition[1] == 0, schedule.isOpenAt(before));
+        }
+    }
+    
+    @Test
+    void testTimingWheel_DueWrapsAroundWeek() {
+        WeeklyTimingWheel wheel = new WeeklyTimingWheel();
+        wheel.put(1L, WeeklySchedule.parse(LocalTime.of(0, 0), LocalTime.of(0, 0), "Monday", null));
+        
+        assertEquals(List.of(1L), new ArrayList<>(wheel.due(WeeklySchedule.MINUTES_PER_WEEK - 5, 0)));
+        assertTrue(wheel.due(0, 0).isEmpty());
+        assertEquals(List.of(1L), new ArrayList<>(wheel.due(0, WeeklySchedule.MINUTES_PER_DAY)));
+    }
+}